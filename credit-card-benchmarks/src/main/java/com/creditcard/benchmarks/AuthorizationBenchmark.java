@@ -0,0 +1,88 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.money.Money;
+import com.creditcard.core.service.AuthorizationResult;
+import com.creditcard.core.service.CreditManagementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CreditManagementService#authorize} throughput, single-threaded and
+ * contended, with either a uniform spread over all members or a handful of
+ * hot cards taking every auth; plus a contended run where every auth is a
+ * fraud decline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationBenchmark {
+
+    @Param({"uniform", "hot"})
+    public String distribution;
+
+    @Param({"100000"})
+    public int members;
+
+    private static final int HOT_MEMBERS = 8;
+    private static final Money AMOUNT = Money.yen(1_280_00L);
+    /** Over the "High amount transaction" rule, so every auth is a fraud decline. */
+    private static final Money FRAUD_AMOUNT = Money.yen(250_000_00L);
+
+    private CreditManagementService creditService;
+    private String[] memberNumbers;
+    private int activeMembers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberNumbers = BenchmarkFixtures.memberNumbers(members);
+        creditService = BenchmarkFixtures.creditService(memberNumbers);
+        activeMembers = "hot".equals(distribution) ? HOT_MEMBERS : members;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthorizationResult authorizeSingleThread() {
+        return authorizeNext();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthorizationResult authorizeContended() {
+        return authorizeNext();
+    }
+
+    /** The decline path alone, as during a card-testing attack. */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthorizationResult declineContended() {
+        return authorizeNext(FRAUD_AMOUNT);
+    }
+
+    private AuthorizationResult authorizeNext() {
+        return authorizeNext(AMOUNT);
+    }
+
+    private AuthorizationResult authorizeNext(Money amount) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String memberNumber = memberNumbers[random.nextInt(activeMembers)];
+        String category = BenchmarkFixtures.MERCHANT_CATEGORIES[random.nextInt(BenchmarkFixtures.MERCHANT_CATEGORIES.length)];
+        return creditService.authorize(memberNumber, amount, "Bench Merchant", category);
+    }
+}
@@ -0,0 +1,62 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.controller.CreditCardController.AuthorizationRequest;
+import com.creditcard.core.controller.CreditCardController.AuthorizationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization cost of the REST authorization DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationJsonBenchmark {
+
+    private static final byte[] REQUEST_JSON = ("{\"memberNumber\":\"M123456789\",\"amount\":10000,"
+        + "\"merchantName\":\"Amazon Japan\",\"merchantCategory\":\"retail\"}").getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private AuthorizationResponse response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        requestReader = mapper.readerFor(AuthorizationRequest.class);
+        responseWriter = mapper.writerFor(AuthorizationResponse.class);
+        response = new AuthorizationResponse();
+        response.setSuccess(true);
+        response.setTransactionId("TX00818043939324224");
+        response.setAuthorizationCode("123456");
+        response.setStatus("APPROVED");
+    }
+
+    @Benchmark
+    public AuthorizationRequest readRequest() throws IOException {
+        return requestReader.readValue(REQUEST_JSON);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,67 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.money.Money;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.wire.AuthMessageCodec;
+import com.creditcard.core.wire.AuthRequestView;
+import com.creditcard.core.wire.ResponseCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary codec cost for the same messages as {@link AuthorizationJsonBenchmark}:
+ * validating and decoding a request into an {@link AuthorizationCommand}, and
+ * encoding an approval.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationWireBenchmark {
+
+    private static final byte[] TRANSACTION_ID = "TX00000000000000001".getBytes(StandardCharsets.US_ASCII);
+
+    private final AuthRequestView view = new AuthRequestView();
+    private final ByteBuffer out = ByteBuffer.allocate(2 + AuthMessageCodec.MAX_BODY);
+    private ByteBuffer request;
+
+    @Setup
+    public void setUp() {
+        request = ByteBuffer.allocate(2 + AuthMessageCodec.MAX_BODY);
+        AuthMessageCodec.encodeRequest(request, "TX00000000000000001", "M123456789", 10_000_00L, "JPY",
+            "MERCHANT0000001", "TERM0001", 1_760_000_000_000L, "Amazon Japan", "retail");
+        request.flip();
+    }
+
+    @Benchmark
+    public AuthorizationCommand readRequest() {
+        view.wrap(request, 2, request.limit() - 2);
+        if (view.validate() != null) {
+            throw new IllegalStateException();
+        }
+        return new AuthorizationCommand(view.memberNumber(), Money.yen(view.amountMinor()),
+            view.merchantName(), view.merchantCategory());
+    }
+
+    @Benchmark
+    public ByteBuffer writeResponse() {
+        out.clear();
+        AuthMessageCodec.encodeResponse(out, TRANSACTION_ID, ResponseCode.APPROVED, "123456",
+            "TX00818043939324224", 1_760_000_000_000L, null);
+        return out;
+    }
+}
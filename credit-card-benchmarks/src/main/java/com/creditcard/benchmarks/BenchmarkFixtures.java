@@ -0,0 +1,151 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.concurrency.AuthorizationConcurrencyLimiter;
+import com.creditcard.core.domain.FraudRule;
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.fraud.FraudRuleEngine;
+import com.creditcard.core.fraud.FraudScoringPipeline;
+import com.creditcard.core.fraud.VelocityTracker;
+import com.creditcard.core.id.RandomAuthorizationCodeGenerator;
+import com.creditcard.core.id.SnowflakeTransactionIdGenerator;
+import com.creditcard.core.idempotency.IdempotencyCache;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.member.MemberProfileCache;
+import com.creditcard.core.metrics.AuthorizationMetrics;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.FraudRuleRepository;
+import com.creditcard.core.repository.MemberRepository;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import com.creditcard.core.service.CreditManagementService;
+import com.creditcard.core.transaction.JdbcTransactionWriter;
+import com.creditcard.core.transaction.TransactionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the authorization path without a Spring context or database: members
+ * come from an in-memory map and persistence is a no-op, so the benchmarks
+ * measure the service logic itself.
+ */
+final class BenchmarkFixtures {
+
+    static final String[] MERCHANT_CATEGORIES = {"retail", "grocery", "travel", "dining", "fuel", "online"};
+
+    private BenchmarkFixtures() {}
+
+    static String memberNumber(int i) {
+        return String.format("M%09d", i);
+    }
+
+    static String[] memberNumbers(int count) {
+        String[] numbers = new String[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = memberNumber(i + 1);
+        }
+        return numbers;
+    }
+
+    static CreditManagementService creditService(String[] memberNumbers) {
+        Map<String, Member> members = new HashMap<>();
+        for (String memberNumber : memberNumbers) {
+            members.put(memberNumber, Member.builder()
+                .memberNumber(memberNumber)
+                .nameKanji("Bench")
+                .email(memberNumber + "@example.com")
+                .status(Member.MemberStatus.ACTIVE)
+                .creditLimit(Money.yen(10_000_000_000_000_00L))
+                .currentBalance(Money.yen(0L))
+                .build());
+        }
+        MemberRepository memberRepository = stub(MemberRepository.class, "findProfileByMemberNumber",
+            args -> Optional.ofNullable(members.get((String) args[0])).map(MemberProfile::of));
+        CreditLedger creditLedger = new CreditLedger();
+        return new CreditManagementService(new MemberProfileCache(memberRepository, 1_000_000, 300), creditLedger, fraudRuleEngine(),
+            disabledFraudScoring(creditLedger),
+            transactionStore(new NoOpTransactionBatchRepository()),
+            new IdempotencyCache(100_000, 600), TransactionOperations.withoutTransaction(), Runnable::run, new SnowflakeTransactionIdGenerator(0),
+            new RandomAuthorizationCodeGenerator(),
+            new AuthorizationMetrics(new SimpleMeterRegistry()));
+    }
+
+    /** Post-approval scoring runs off the auth path; the benchmarks measure the inline tier only. */
+    static FraudScoringPipeline disabledFraudScoring(CreditLedger creditLedger) {
+        return new FraudScoringPipeline(null, null, creditLedger, new SimpleMeterRegistry(), false, 1, 1, 4.0, 8.0);
+    }
+
+    /** A limit no benchmark thread count reaches, pinned so admission never sheds or adapts. */
+    static AuthorizationConcurrencyLimiter fixedAdmissionLimit() {
+        int limit = 1 << 16;
+        return new AuthorizationConcurrencyLimiter(limit, limit, limit, 1.0, 1.5, 0.2, 100);
+    }
+
+    static TransactionStore transactionStore(TransactionBatchRepository repository) {
+        return new TransactionStore(repository, new JdbcTransactionWriter(repository), 100_000);
+    }
+
+    static FraudRuleEngine fraudRuleEngine() {
+        List<FraudRule> rules = fraudRules();
+        FraudRuleRepository repository = stub(FraudRuleRepository.class, "findByEnabledTrueOrderByIdAsc", args -> rules);
+        FraudRuleEngine engine = new FraudRuleEngine(repository, new VelocityTracker(1 << 17, 60, 10, 900, 4));
+        engine.reload();
+        return engine;
+    }
+
+    /** The seeded production rules, with velocity thresholds high enough never to decline. */
+    static List<FraudRule> fraudRules() {
+        return List.of(
+            rule("High amount transaction", FraudRule.RuleType.AMOUNT_THRESHOLD, "100000", null, null),
+            rule("Risky merchant category", FraudRule.RuleType.MERCHANT_CATEGORY, null, "gambling,casino,adult", null),
+            rule("Auth velocity", FraudRule.RuleType.VELOCITY_COUNT, "1000000000", null, 60),
+            rule("Hourly spend velocity", FraudRule.RuleType.VELOCITY_AMOUNT, "10000000000000", null, 3600),
+            rule("Merchant hopping", FraudRule.RuleType.VELOCITY_DISTINCT_MERCHANTS, "1000", null, 600));
+    }
+
+    private static FraudRule rule(String name, FraudRule.RuleType type, String threshold,
+                                  String merchantCategory, Integer windowSeconds) {
+        FraudRule rule = new FraudRule();
+        rule.setRuleName(name);
+        rule.setRiskLevel(FraudRule.RiskLevel.HIGH);
+        rule.setRuleType(type);
+        rule.setThreshold(threshold == null ? null : new BigDecimal(threshold));
+        rule.setMerchantCategory(merchantCategory);
+        rule.setWindowSeconds(windowSeconds);
+        rule.setEnabled(true);
+        return rule;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String method, java.util.function.Function<Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, m, args) -> {
+            if (m.getName().equals(method)) {
+                return answer.apply(args);
+            }
+            throw new UnsupportedOperationException(m.getName());
+        });
+    }
+
+    private static final class NoOpTransactionBatchRepository extends TransactionBatchRepository {
+
+        NoOpTransactionBatchRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insertAll(List<Transaction> transactions) {
+        }
+
+        @Override
+        public Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.fraud.CompiledFraudPlan;
+import com.creditcard.core.fraud.FraudRuleEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fraud evaluation: the compiled static rules alone, and the full
+ * engine including velocity windows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FraudEvaluationBenchmark {
+
+    private static final long AMOUNT_MINOR = 128_000L;
+    private static final long HIGH_AMOUNT_MINOR = 20_000_000L;
+
+    private FraudRuleEngine engine;
+    private CompiledFraudPlan plan;
+    private String[] memberNumbers;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkFixtures.fraudRuleEngine();
+        plan = engine.currentPlan();
+        memberNumbers = BenchmarkFixtures.memberNumbers(100_000);
+    }
+
+    @Benchmark
+    public long staticRulesNoAlert() {
+        return plan.evaluate(AMOUNT_MINOR, "Retail");
+    }
+
+    @Benchmark
+    public long staticRulesAlert() {
+        return plan.evaluate(HIGH_AMOUNT_MINOR, "Casino");
+    }
+
+    @Benchmark
+    public long engineWithVelocity() {
+        String memberNumber = memberNumbers[ThreadLocalRandom.current().nextInt(memberNumbers.length)];
+        long hits = engine.evaluate(plan, memberNumber, AMOUNT_MINOR, "Bench Merchant", "retail");
+        engine.recordApproved(memberNumber, AMOUNT_MINOR, "Bench Merchant");
+        return hits;
+    }
+}
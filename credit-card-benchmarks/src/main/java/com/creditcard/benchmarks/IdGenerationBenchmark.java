@@ -0,0 +1,54 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.id.RandomAuthorizationCodeGenerator;
+import com.creditcard.core.id.SnowflakeTransactionIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction id and authorization code generation under contention, against
+ * the previous {@code UUID}/{@code Math.random} implementation as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private final SnowflakeTransactionIdGenerator transactionIds = new SnowflakeTransactionIdGenerator(0);
+    private final RandomAuthorizationCodeGenerator authorizationCodes = new RandomAuthorizationCodeGenerator();
+
+    @Benchmark
+    public String snowflakeTransactionId() {
+        return transactionIds.nextTransactionId();
+    }
+
+    @Benchmark
+    public String legacyUuidTransactionId() {
+        return "TX" + UUID.randomUUID().toString().substring(0, 9).toUpperCase();
+    }
+
+    @Benchmark
+    public String threadLocalAuthorizationCode() {
+        return authorizationCodes.nextAuthorizationCode();
+    }
+
+    @Benchmark
+    public String legacyMathRandomAuthorizationCode() {
+        return String.valueOf((int) (Math.random() * 900000) + 100000);
+    }
+}
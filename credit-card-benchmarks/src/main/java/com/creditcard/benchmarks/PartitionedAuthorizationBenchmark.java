@@ -0,0 +1,78 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.metrics.AuthorizationMetrics;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.partition.PartitionedAuthorizationEngine;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended authorize throughput through {@link PartitionedAuthorizationEngine},
+ * to compare with {@link AuthorizationBenchmark#authorizeContended} at the same
+ * thread count. Callers block on the future, as a request thread would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartitionedAuthorizationBenchmark {
+
+    @Param({"uniform", "hot"})
+    public String distribution;
+
+    @Param({"100000"})
+    public int members;
+
+    @Param({"0"})
+    public int partitions;
+
+    private static final int HOT_MEMBERS = 8;
+    private static final Money AMOUNT = Money.yen(1_280_00L);
+
+    private PartitionedAuthorizationEngine engine;
+    private String[] memberNumbers;
+    private int activeMembers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberNumbers = BenchmarkFixtures.memberNumbers(members);
+        engine = new PartitionedAuthorizationEngine(BenchmarkFixtures.creditService(memberNumbers),
+            new AuthorizationMetrics(new SimpleMeterRegistry()), BenchmarkFixtures.fixedAdmissionLimit(),
+            partitions, 4096, 256);
+        activeMembers = "hot".equals(distribution) ? HOT_MEMBERS : members;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        engine.close();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthorizationResult authorizeContended() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String memberNumber = memberNumbers[random.nextInt(activeMembers)];
+        String category = BenchmarkFixtures.MERCHANT_CATEGORIES[random.nextInt(BenchmarkFixtures.MERCHANT_CATEGORIES.length)];
+        return engine.submit(new AuthorizationCommand(memberNumber, AMOUNT, "Bench Merchant", category)).join();
+    }
+}
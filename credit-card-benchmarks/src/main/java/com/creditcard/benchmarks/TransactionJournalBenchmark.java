@@ -0,0 +1,85 @@
+package com.creditcard.benchmarks;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.journal.TransactionJournal;
+import com.creditcard.core.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Durable append latency of one approved auth to the transaction journal with
+ * every thread appending at once, which is where group commit pays off: the
+ * fsync count stays near one per force no matter how many threads wait on it.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class TransactionJournalBenchmark {
+
+    private Path directory;
+    private TransactionJournal journal;
+    private List<Transaction> approved;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        journal = TransactionJournal.open(directory, 64 << 20);
+        Transaction tx = new Transaction();
+        tx.setTransactionId("TX00818061123125568");
+        tx.setMemberNumber(BenchmarkFixtures.memberNumber(1));
+        tx.setType(Transaction.TransactionType.AUTH);
+        tx.setStatus(Transaction.TransactionStatus.APPROVED);
+        tx.setAmount(Money.yen(10_000_00L));
+        tx.setAuthorizationCode("123456");
+        tx.setMerchantName("Amazon Japan");
+        tx.setMerchantCategory("retail");
+        tx.setTransactionDatetime(LocalDateTime.now());
+        approved = List.of(tx);
+    }
+
+    @TearDown(Level.Iteration)
+    public void discardDrained() {
+        while (journal.drain(100_000, batch -> { }) > 0) {
+            // deletes the segments written during the iteration
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void appendApprovedAuth() {
+        journal.append(approved);
+    }
+}
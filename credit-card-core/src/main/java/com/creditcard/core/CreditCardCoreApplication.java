@@ -2,8 +2,10 @@ package com.creditcard.core;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CreditCardCoreApplication {
     public static void main(String[] args) {
         SpringApplication.run(CreditCardCoreApplication.class, args);
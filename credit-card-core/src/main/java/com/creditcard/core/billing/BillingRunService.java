@@ -0,0 +1,201 @@
+package com.creditcard.core.billing;
+
+import com.creditcard.core.domain.Billing;
+import com.creditcard.core.domain.BillingCheckpoint;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.BillingBatchRepository;
+import com.creditcard.core.repository.BillingBatchRepository.MemberTotal;
+import com.creditcard.core.repository.BillingCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 月次請求バッチ / Monthly statement run over settled captures.
+ *
+ * Members are split into key-range partitions that run in parallel on a
+ * fork/join pool. Each partition walks its range by keyset in fixed-size
+ * chunks: one query returns the next members' settled totals for the cycle,
+ * and their billings are inserted as one JDBC batch in the same database
+ * transaction that advances the partition's checkpoint. Memory use is one
+ * chunk per worker, and a rerun of the same month resumes where it stopped.
+ *
+ * Every node runs the schedule. Each chunk first claims its partition's
+ * checkpoint row with {@code FOR UPDATE SKIP LOCKED} and reads the cursor
+ * from it, so nodes split the partitions between them instead of billing the
+ * same range twice. A node that finds the row locked leaves that partition to
+ * its holder, and the summary counts this node's chunks only.
+ */
+@Service
+public class BillingRunService {
+
+    private static final Logger log = LoggerFactory.getLogger(BillingRunService.class);
+    private static final Pattern MEMBER_NUMBER = Pattern.compile("M[0-9]{9}");
+
+    private final BillingBatchRepository billingRepository;
+    private final BillingCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int closingDay;
+    private final int dueDay;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BillingRunService(BillingBatchRepository billingRepository,
+                             BillingCheckpointRepository checkpointRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${creditcard.billing.parallelism:0}") int parallelism,
+                             @Value("${creditcard.billing.chunk-size:1000}") int chunkSize,
+                             @Value("${creditcard.billing.closing-day:0}") int closingDay,
+                             @Value("${creditcard.billing.due-day:27}") int dueDay) {
+        this.billingRepository = billingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.closingDay = closingDay;
+        this.dueDay = dueDay;
+    }
+
+    @Scheduled(cron = "${creditcard.billing.cron:0 0 1 1 * *}")
+    public void runPreviousMonth() {
+        BillingRunSummary summary = run(YearMonth.now().minusMonths(1));
+        log.info("Billing run {} issued {} billings for {} over {} partitions", summary.getBillingMonth(),
+            summary.getBillingsIssued(), summary.getAmountBilled(), summary.getPartitions());
+    }
+
+    /**
+     * Bills every member with settled captures in {@code month}'s cycle.
+     * Safe to call again after a failure; finished chunks are not redone.
+     */
+    public BillingRunSummary run(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A billing run is already in progress");
+        }
+        try {
+            String billingMonth = month.toString();
+            List<BillingCheckpoint> partitions = checkpointRepository.findByBillingMonth(billingMonth);
+            if (partitions.isEmpty()) {
+                try {
+                    partitions = transactionTemplate.execute(
+                        status -> checkpointRepository.createPartitions(billingMonth, parallelism * 4));
+                } catch (DuplicateKeyException e) {
+                    // another node split the month first
+                    partitions = checkpointRepository.findByBillingMonth(billingMonth);
+                }
+            }
+
+            Cycle cycle = new Cycle(month, cutoff(month.minusMonths(1)), cutoff(month),
+                month.plusMonths(1).atDay(dueDay).atStartOfDay());
+            LongAdder issued = new LongAdder();
+            LongAdder billedMinor = new LongAdder();
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (BillingCheckpoint partition : partitions) {
+                if (!partition.getCompleted()) {
+                    tasks.add(ForkJoinTask.adapt(() -> runPartition(cycle, partition, issued, billedMinor)));
+                }
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+            } finally {
+                pool.shutdown();
+            }
+            return new BillingRunSummary(billingMonth, partitions.size(), issued.sum(),
+                Money.yen(billedMinor.sum()));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runPartition(Cycle cycle, BillingCheckpoint partition, LongAdder issued, LongAdder billedMinor) {
+        String billingMonth = cycle.month.toString();
+        boolean completed = false;
+        while (!completed) {
+            List<MemberTotal> totals = transactionTemplate.execute(status -> {
+                String cursor = checkpointRepository.claim(billingMonth, partition.getPartitionNo()).orElse(null);
+                if (cursor == null) {
+                    return null;
+                }
+                List<MemberTotal> chunk = billingRepository.settledTotals(
+                    cursor, partition.getUpperMemberNumber(), cycle.from, cycle.to, chunkSize);
+                List<Billing> billings = new ArrayList<>(chunk.size());
+                for (MemberTotal total : chunk) {
+                    billings.add(billing(cycle, total));
+                }
+                billingRepository.insertAll(billings);
+                String last = chunk.isEmpty() ? cursor : chunk.get(chunk.size() - 1).getMemberNumber();
+                checkpointRepository.advance(billingMonth, partition.getPartitionNo(), last, chunk.size() < chunkSize);
+                return chunk;
+            });
+            if (totals == null) {
+                // completed, or another node holds it
+                return;
+            }
+            for (MemberTotal total : totals) {
+                billedMinor.add(total.getTotal().getMinorUnits());
+            }
+            issued.add(totals.size());
+            completed = totals.size() < chunkSize;
+        }
+    }
+
+    private Billing billing(Cycle cycle, MemberTotal total) {
+        Billing billing = new Billing();
+        billing.setBillingId(billingId(cycle.month, total.getMemberNumber()));
+        billing.setMemberNumber(total.getMemberNumber());
+        billing.setBillingMonth(cycle.month.toString());
+        billing.setStatus(Billing.BillingStatus.ISSUED);
+        billing.setAmount(total.getTotal());
+        billing.setDueDate(cycle.dueDate);
+        return billing;
+    }
+
+    /**
+     * BL + yyyyMM + the member number's 9 digits ({@code ^BL[0-9]{15}$}): one
+     * id per member and month, stable across reruns.
+     */
+    static String billingId(YearMonth month, String memberNumber) {
+        if (!MEMBER_NUMBER.matcher(memberNumber).matches()) {
+            throw new IllegalStateException("Cannot bill member " + memberNumber + ": not of the form M + 9 digits");
+        }
+        return String.format("BL%04d%02d%s", month.getYear(), month.getMonthValue(), memberNumber.substring(1));
+    }
+
+    /** End of {@code month}'s cycle (exclusive): the day after the closing day, or the next month's first day. */
+    private LocalDateTime cutoff(YearMonth month) {
+        if (closingDay <= 0 || closingDay >= month.lengthOfMonth()) {
+            return month.plusMonths(1).atDay(1).atStartOfDay();
+        }
+        return month.atDay(closingDay).plusDays(1).atStartOfDay();
+    }
+
+    private static final class Cycle {
+        final YearMonth month;
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final LocalDateTime dueDate;
+
+        Cycle(YearMonth month, LocalDateTime from, LocalDateTime to, LocalDateTime dueDate) {
+            this.month = month;
+            this.from = from;
+            this.to = to;
+            this.dueDate = dueDate;
+        }
+    }
+}
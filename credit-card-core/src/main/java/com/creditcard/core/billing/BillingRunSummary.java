@@ -0,0 +1,27 @@
+package com.creditcard.core.billing;
+
+import com.creditcard.core.money.Money;
+
+/**
+ * Outcome of one {@link BillingRunService#run} call. Counts cover only the
+ * work done by this call, not chunks finished before a restart.
+ */
+public class BillingRunSummary {
+    
+    private final String billingMonth;
+    private final int partitions;
+    private final long billingsIssued;
+    private final Money amountBilled;
+    
+    public BillingRunSummary(String billingMonth, int partitions, long billingsIssued, Money amountBilled) {
+        this.billingMonth = billingMonth;
+        this.partitions = partitions;
+        this.billingsIssued = billingsIssued;
+        this.amountBilled = amountBilled;
+    }
+    
+    public String getBillingMonth() { return billingMonth; }
+    public int getPartitions() { return partitions; }
+    public long getBillingsIssued() { return billingsIssued; }
+    public Money getAmountBilled() { return amountBilled; }
+}
@@ -0,0 +1,173 @@
+package com.creditcard.core.concurrency;
+
+import com.creditcard.core.concurrency.ConcurrencyLimited.Priority;
+import com.creditcard.core.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流入制御 / Adaptive admission control for authorize, capture and void.
+ *
+ * The limit on requests in flight is not configured but learned from latency,
+ * gradient style: every {@code window-ms} the mean latency of the window is
+ * compared with a slow moving baseline. While latency stays within
+ * {@code tolerance} of the baseline the limit grows by about its square root
+ * per window; once requests start queueing (ledger contention, an exhausted
+ * connection pool) latency rises and the limit shrinks in proportion.
+ *
+ * Over the limit a request is rejected at once rather than queued, so an
+ * overloaded node answers "retry" in microseconds instead of timing out.
+ * {@link Priority#LOW} work (capture, void) may only use
+ * {@code low-priority-share} of the limit, so it is shed before authorize.
+ */
+@Component
+public class AuthorizationConcurrencyLimiter implements MeterBinder {
+
+    /** Windows the baseline averages over; a higher value makes it slower to follow drift. */
+    private static final int BASELINE_WINDOWS = 100;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double lowPriorityShare;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final Map<Priority, LongAdder> rejected = new EnumMap<>(Priority.class);
+    private volatile int limit;
+
+    // guarded by this; only touched once per sample
+    private double estimatedLimit;
+    private double baselineNanos;
+    private long windowStart = System.nanoTime();
+    private long windowNanosSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AuthorizationConcurrencyLimiter(
+            @Value("${creditcard.authorization.concurrency.initial-limit:64}") int initialLimit,
+            @Value("${creditcard.authorization.concurrency.min-limit:8}") int minLimit,
+            @Value("${creditcard.authorization.concurrency.max-limit:1024}") int maxLimit,
+            @Value("${creditcard.authorization.concurrency.low-priority-share:0.8}") double lowPriorityShare,
+            @Value("${creditcard.authorization.concurrency.tolerance:1.5}") double tolerance,
+            @Value("${creditcard.authorization.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${creditcard.authorization.concurrency.window-ms:100}") long windowMillis) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.lowPriorityShare = lowPriorityShare;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Admits one request or rejects it without waiting.
+     *
+     * @return the admission time, to hand back to {@link #release}
+     * @throws ConcurrencyLimitExceededException if the request's share of the limit is in use
+     */
+    public long acquire(Priority priority) {
+        int allowed = priority == Priority.LOW ? Math.max(1, (int) (limit * lowPriorityShare)) : limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                throw new ConcurrencyLimitExceededException("Too many requests in flight");
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request.
+     *
+     * @param sample false for calls whose latency says nothing about one auth, e.g. a whole batch
+     */
+    public void release(long admittedAt, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(System.nanoTime() - admittedAt, current);
+        }
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtRelease) {
+        windowNanosSum += latencyNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        double shortNanos = Math.max(1.0, (double) windowNanosSum / windowSamples);
+        int peakInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowNanosSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        updateLimit(shortNanos, peakInFlight);
+    }
+
+    /** One gradient step from a window's mean latency; package-private for tests. */
+    synchronized void updateLimit(double shortNanos, int peakInFlight) {
+        baselineNanos = baselineNanos == 0
+            ? shortNanos
+            : baselineNanos + (shortNanos - baselineNanos) / BASELINE_WINDOWS;
+        if (baselineNanos > 2 * shortNanos) {
+            // latency dropped for good (warm caches, load moved away): let the baseline catch up
+            baselineNanos = Math.max(shortNanos, baselineNanos * 0.9);
+        }
+        if (peakInFlight < estimatedLimit / 2) {
+            // the limit was not what held traffic back, so this window says nothing about it
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / shortNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+            estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("creditcard.concurrency.limit", this, AuthorizationConcurrencyLimiter::limit)
+            .description("Adaptive limit on authorize, capture and void requests in flight")
+            .register(registry);
+        Gauge.builder("creditcard.concurrency.in_flight", inFlight, AtomicInteger::get)
+            .register(registry);
+        for (Map.Entry<Priority, LongAdder> entry : rejected.entrySet()) {
+            FunctionCounter.builder("creditcard.concurrency.rejected", entry.getValue(), LongAdder::sum)
+                .tag("priority", entry.getKey().name().toLowerCase())
+                .description("Requests shed with response code 01 because the limit was reached")
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.creditcard.core.concurrency;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link ConcurrencyLimited}. Ordered ahead of the transaction
+ * interceptor so the sampled latency covers the whole transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitAspect {
+
+    private final AuthorizationConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitAspect(AuthorizationConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Around("@annotation(com.creditcard.core.concurrency.ConcurrencyLimited)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        // read rather than bound: at highest precedence this runs before the join point match is exposed
+        ConcurrencyLimited limited = ((MethodSignature) joinPoint.getSignature()).getMethod()
+            .getAnnotation(ConcurrencyLimited.class);
+        long admittedAt = limiter.acquire(limited.priority());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.release(admittedAt, limited.sampled());
+        }
+    }
+}
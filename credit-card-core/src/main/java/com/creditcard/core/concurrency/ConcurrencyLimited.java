@@ -0,0 +1,28 @@
+package com.creditcard.core.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method admitted through the {@link AuthorizationConcurrencyLimiter}.
+ * Admission happens outside the transaction, so a shed call never takes a
+ * pooled connection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+    
+    Priority priority() default Priority.HIGH;
+    
+    /** Whether the call's latency feeds the adaptive limit; off for calls that do many auths at once. */
+    boolean sampled() default true;
+    
+    enum Priority {
+        /** Authorizations: a cardholder is waiting at the terminal. */
+        HIGH,
+        /** Capture and void: the acquirer retries them later, so they are shed first. */
+        LOW
+    }
+}
@@ -0,0 +1,46 @@
+package com.creditcard.core.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the per-member groups of a batch authorization. Runs on a
+ * fixed platform pool by default, or on virtual threads throttled to the same
+ * parallelism when {@code spring.threads.virtual.enabled} is set (Java 21+).
+ */
+@Configuration
+public class AuthorizationExecutorConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor authorizationExecutor(
+            @Value("${creditcard.authorization.batch.parallelism:0}") int parallelism) {
+        int threads = threads(parallelism);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("auth-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = "authorizationExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualAuthorizationExecutor(
+            @Value("${creditcard.authorization.batch.parallelism:0}") int parallelism) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("auth-batch-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(threads(parallelism));
+        executor.setTaskTerminationTimeout(10_000L);
+        return executor;
+    }
+
+    private static int threads(int parallelism) {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
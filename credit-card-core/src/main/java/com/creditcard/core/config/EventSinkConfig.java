@@ -0,0 +1,30 @@
+package com.creditcard.core.config;
+
+import com.creditcard.core.outbox.EventLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Chooses where outbox events are published: a local segmented log
+ * ({@code log}, the default). Any other {@code creditcard.events.sink} value
+ * expects the application to declare its own
+ * {@link com.creditcard.core.outbox.TransactionEventSink} bean, such as a
+ * broker producer.
+ */
+@Configuration
+public class EventSinkConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "creditcard.events.sink", havingValue = "log", matchIfMissing = true)
+    public EventLog eventLog(
+            @Value("${creditcard.events.log.directory:./data/events}") String directory,
+            @Value("${creditcard.events.log.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${creditcard.events.log.retention-mb:1024}") long retentionMb) throws IOException {
+        return EventLog.open(Path.of(directory), segmentSizeMb << 20, retentionMb << 20);
+    }
+}
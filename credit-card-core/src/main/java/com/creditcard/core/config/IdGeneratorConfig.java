@@ -0,0 +1,29 @@
+package com.creditcard.core.config;
+
+import com.creditcard.core.id.AuthorizationCodeGenerator;
+import com.creditcard.core.id.RandomAuthorizationCodeGenerator;
+import com.creditcard.core.id.SnowflakeTransactionIdGenerator;
+import com.creditcard.core.id.TransactionIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Default id generators; declare a bean of either interface to replace them.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TransactionIdGenerator transactionIdGenerator(@Value("${creditcard.id.node-id:0}") int nodeId) {
+        return new SnowflakeTransactionIdGenerator(nodeId);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthorizationCodeGenerator authorizationCodeGenerator() {
+        return new RandomAuthorizationCodeGenerator();
+    }
+}
@@ -0,0 +1,44 @@
+package com.creditcard.core.config;
+
+import com.creditcard.core.journal.JournalTransactionWriter;
+import com.creditcard.core.journal.TransactionJournal;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import com.creditcard.core.transaction.JdbcTransactionWriter;
+import com.creditcard.core.transaction.TransactionWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Chooses how new transaction rows are made durable: inserted directly
+ * ({@code jdbc}, the default) or journaled locally and loaded behind the
+ * auth path ({@code journal}).
+ */
+@Configuration
+public class TransactionWriterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "creditcard.transactions.writer", havingValue = "jdbc", matchIfMissing = true)
+    public TransactionWriter jdbcTransactionWriter(TransactionBatchRepository repository) {
+        return new JdbcTransactionWriter(repository);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "creditcard.transactions.writer", havingValue = "journal")
+    public JournalTransactionWriter journalTransactionWriter(
+            TransactionBatchRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${creditcard.transactions.journal.directory:./data/journal}") String directory,
+            @Value("${creditcard.transactions.journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${creditcard.transactions.journal.drain-batch-size:5000}") int drainBatchSize) throws IOException {
+        TransactionJournal journal = TransactionJournal.open(Path.of(directory), segmentSizeMb << 20);
+        return new JournalTransactionWriter(journal, repository, new TransactionTemplate(transactionManager),
+            drainBatchSize);
+    }
+}
@@ -0,0 +1,23 @@
+package com.creditcard.core.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails startup when virtual threads are requested on a JVM that cannot run
+ * them, instead of silently falling back to platform threads.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadModeGuard implements InitializingBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            throw new IllegalStateException(
+                "spring.threads.virtual.enabled requires Java 21 or later, running on Java " + feature);
+        }
+    }
+}
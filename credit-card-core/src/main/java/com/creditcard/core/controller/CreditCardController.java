@@ -1,52 +1,290 @@
 package com.creditcard.core.controller;
 
 import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.exception.ConcurrencyLimitExceededException;
+import com.creditcard.core.exception.InvalidCaptureAmountException;
+import com.creditcard.core.exception.InvalidTransactionStateException;
+import com.creditcard.core.exception.TransactionNotFoundException;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.partition.PartitionedAuthorizationEngine;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
 import com.creditcard.core.service.CreditManagementService;
+import com.creditcard.core.wire.ResponseCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Responses carry the switch {@code responseCode} alongside {@code success}.
+ * A business decline is a 400 with its code (51, 05, 12); a request shed by
+ * the concurrency limiter gets 503 with {@code Retry-After} and code 01
+ * (retry) before any work is done; a fault is a 500 with code 01.
+ *
+ * A batch answers each item in request order. Malformed items, and items
+ * carrying an {@code idempotencyKey} (which the batch does not honour; send
+ * those to {@code /authorize}), are declined with code 30 on their own; a
+ * shed or failed batch maps to the same status as a single authorization.
+ */
 @RestController
 @RequestMapping("/api/v1/credit")
 public class CreditCardController {
     
+    private static final Logger log = LoggerFactory.getLogger(CreditCardController.class);
+    
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    private static final String RETRY_AFTER_SECONDS = "1";
+    
     private final CreditManagementService creditService;
+    private final PartitionedAuthorizationEngine partitionedEngine;
+    private final int maxBatchSize;
     
-    public CreditCardController(CreditManagementService creditService) {
+    public CreditCardController(CreditManagementService creditService,
+                                ObjectProvider<PartitionedAuthorizationEngine> partitionedEngine,
+                                @Value("${creditcard.authorization.batch.max-size:5000}") int maxBatchSize) {
         this.creditService = creditService;
+        this.partitionedEngine = partitionedEngine.getIfAvailable();
+        this.maxBatchSize = maxBatchSize;
     }
     
     @PostMapping("/authorize")
-    public ResponseEntity<AuthorizationResponse> authorize(@RequestBody AuthorizationRequest request) {
+    public CompletableFuture<ResponseEntity<AuthorizationResponse>> authorize(@RequestBody AuthorizationRequest request) {
+        String formatError = formatError(request);
+        if (formatError != null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(
+                declinedResponse(formatError, ResponseCode.FORMAT_ERROR)));
+        }
+        if (request.getIdempotencyKey() != null) {
+            return CompletableFuture.completedFuture(authorizeIdempotent(request));
+        }
+        if (partitionedEngine != null) {
+            return partitionedEngine.submit(toCommand(request))
+                .handle((result, error) -> error != null ? errorResponse(error) : toResponse(result));
+        }
+        return CompletableFuture.completedFuture(authorizeDirect(request));
+    }
+    
+    private ResponseEntity<AuthorizationResponse> authorizeDirect(AuthorizationRequest request) {
         try {
-            Transaction tx = creditService.authorize(
+            return toResponse(creditService.authorize(
                 request.getMemberNumber(),
-                request.getAmount(),
+                Money.yen(request.getAmount()),
                 request.getMerchantName(),
                 request.getMerchantCategory()
-            );
-            
-            AuthorizationResponse response = new AuthorizationResponse();
+            ));
+        } catch (RuntimeException e) {
+            return errorResponse(e);
+        }
+    }
+    
+    private ResponseEntity<AuthorizationResponse> authorizeIdempotent(AuthorizationRequest request) {
+        String key = request.getIdempotencyKey();
+        if (key.isBlank() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(declinedResponse(
+                "Idempotency key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters",
+                ResponseCode.FORMAT_ERROR));
+        }
+        try {
+            return toResponse(creditService.authorize(key, toCommand(request)));
+        } catch (RuntimeException e) {
+            return errorResponse(e);
+        }
+    }
+    
+    @PostMapping("/authorize/batch")
+    public ResponseEntity<BatchAuthorizationResponse> authorizeBatch(@RequestBody BatchAuthorizationRequest request) {
+        List<AuthorizationRequest> requests = request.getRequests();
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            BatchAuthorizationResponse response = new BatchAuthorizationResponse();
+            response.setErrorMessage("Batch must contain between 1 and " + maxBatchSize + " requests");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        // malformed items are declined on their own; the rest are authorized together
+        AuthorizationResponse[] malformed = new AuthorizationResponse[requests.size()];
+        List<AuthorizationCommand> commands = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String formatError = formatError(requests.get(i));
+            if (formatError == null && requests.get(i).getIdempotencyKey() != null) {
+                formatError = "idempotencyKey is not supported in a batch; send the request to /authorize";
+            }
+            if (formatError != null) {
+                malformed[i] = declinedResponse(formatError, ResponseCode.FORMAT_ERROR);
+            } else {
+                commands.add(toCommand(requests.get(i)));
+            }
+        }
+        
+        List<AuthorizationResult> results;
+        try {
+            results = commands.isEmpty() ? List.of() : creditService.authorizeBatch(commands);
+        } catch (RuntimeException e) {
+            return batchErrorResponse(e);
+        }
+        
+        List<AuthorizationResponse> responses = new ArrayList<>(requests.size());
+        Iterator<AuthorizationResult> decided = results.iterator();
+        for (AuthorizationResponse formatError : malformed) {
+            if (formatError != null) {
+                responses.add(formatError);
+            } else {
+                AuthorizationResult r = decided.next();
+                responses.add(r.isApproved()
+                    ? approvedResponse(r.getTransaction())
+                    : declinedResponse(r.getDeclineReason(), ResponseCode.of(r)));
+            }
+        }
+        BatchAuthorizationResponse response = new BatchAuthorizationResponse();
+        response.setResults(responses);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/capture")
+    public ResponseEntity<CaptureResponse> capture(@RequestBody CaptureRequest request) {
+        CaptureResponse response = new CaptureResponse();
+        try {
+            Transaction tx = creditService.capture(request.getTransactionId(), Money.yen(request.getAmount()));
             response.setSuccess(true);
+            response.setResponseCode(ResponseCode.APPROVED.code());
             response.setTransactionId(tx.getTransactionId());
-            response.setAuthorizationCode(tx.getAuthorizationCode());
+            response.setOriginalTransactionId(tx.getOriginalTransactionId());
+            response.setAmount(tx.getAmount().toDecimal());
             response.setStatus(tx.getStatus().name());
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            AuthorizationResponse response = new AuthorizationResponse();
-            response.setSuccess(false);
+        } catch (TransactionNotFoundException | InvalidTransactionStateException | InvalidCaptureAmountException e) {
+            response.setTransactionId(request.getTransactionId());
+            response.setResponseCode(ResponseCode.INVALID_TRANSACTION.code());
             response.setErrorMessage(e.getMessage());
             return ResponseEntity.badRequest().body(response);
+        } catch (RuntimeException e) {
+            ResponseEntity<AuthorizationResponse> fault = errorResponse(e);
+            response.setTransactionId(request.getTransactionId());
+            response.setResponseCode(fault.getBody().getResponseCode());
+            response.setErrorMessage(fault.getBody().getErrorMessage());
+            return withStatusOf(fault, response);
         }
     }
     
+    @PostMapping("/void")
+    public ResponseEntity<VoidResponse> voidTransaction(@RequestBody VoidRequest request) {
+        VoidResponse response = new VoidResponse();
+        response.setTransactionId(request.getTransactionId());
+        try {
+            Transaction tx = creditService.voidTransaction(request.getTransactionId());
+            response.setSuccess(true);
+            response.setResponseCode(ResponseCode.APPROVED.code());
+            response.setStatus(tx.getStatus().name());
+            return ResponseEntity.ok(response);
+        } catch (TransactionNotFoundException | InvalidTransactionStateException e) {
+            response.setResponseCode(ResponseCode.INVALID_TRANSACTION.code());
+            response.setErrorMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (RuntimeException e) {
+            ResponseEntity<AuthorizationResponse> fault = errorResponse(e);
+            response.setResponseCode(fault.getBody().getResponseCode());
+            response.setErrorMessage(fault.getBody().getErrorMessage());
+            return withStatusOf(fault, response);
+        }
+    }
+    
+    private static ResponseEntity<AuthorizationResponse> toResponse(AuthorizationResult result) {
+        return result.isApproved()
+            ? ResponseEntity.ok(approvedResponse(result.getTransaction()))
+            : ResponseEntity.badRequest().body(declinedResponse(result.getDeclineReason(), ResponseCode.of(result)));
+    }
+    
+    /**
+     * Declines never get here; this maps faults: shedding, bad input, or a failure to decide or persist.
+     * Capture and void map everything but their own domain rejections (code 12) the same way.
+     */
+    private static ResponseEntity<AuthorizationResponse> errorResponse(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof ConcurrencyLimitExceededException) {
+            return overloaded(declinedResponse(error.getMessage(), ResponseCode.RETRY));
+        }
+        if (error instanceof IllegalArgumentException || error instanceof ArithmeticException) {
+            return ResponseEntity.badRequest().body(declinedResponse(error.getMessage(), ResponseCode.FORMAT_ERROR));
+        }
+        log.error("Credit request failed", error);
+        return ResponseEntity.internalServerError().body(
+            declinedResponse("Authorization service unavailable", ResponseCode.RETRY));
+    }
+    
+    /** A whole batch that could not be decided, mapped as {@link #errorResponse} maps a single request. */
+    private static ResponseEntity<BatchAuthorizationResponse> batchErrorResponse(Throwable error) {
+        ResponseEntity<AuthorizationResponse> single = errorResponse(error);
+        BatchAuthorizationResponse response = new BatchAuthorizationResponse();
+        response.setErrorMessage(single.getBody().getErrorMessage());
+        return withStatusOf(single, response);
+    }
+    
+    private static <T> ResponseEntity<T> withStatusOf(ResponseEntity<?> mapped, T body) {
+        return ResponseEntity.status(mapped.getStatusCode()).headers(mapped.getHeaders()).body(body);
+    }
+    
+    private static <T> ResponseEntity<T> overloaded(T body) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+            .body(body);
+    }
+    
+    /** @return why the request cannot be authorized as sent, or null if it is well formed */
+    private static String formatError(AuthorizationRequest request) {
+        if (request == null || request.getMemberNumber() == null || request.getAmount() == null) {
+            return "memberNumber and amount are required";
+        }
+        try {
+            Money.yen(request.getAmount());
+        } catch (ArithmeticException e) {
+            return "amount must be a yen amount with at most 2 decimals";
+        }
+        return null;
+    }
+    
+    private static AuthorizationCommand toCommand(AuthorizationRequest request) {
+        return new AuthorizationCommand(request.getMemberNumber(), Money.yen(request.getAmount()),
+            request.getMerchantName(), request.getMerchantCategory());
+    }
+    
+    private static AuthorizationResponse approvedResponse(Transaction tx) {
+        AuthorizationResponse response = new AuthorizationResponse();
+        response.setSuccess(true);
+        response.setResponseCode(ResponseCode.APPROVED.code());
+        response.setTransactionId(tx.getTransactionId());
+        response.setAuthorizationCode(tx.getAuthorizationCode());
+        response.setStatus(tx.getStatus().name());
+        return response;
+    }
+    
+    private static AuthorizationResponse declinedResponse(String errorMessage, ResponseCode responseCode) {
+        AuthorizationResponse response = new AuthorizationResponse();
+        response.setSuccess(false);
+        response.setResponseCode(responseCode.code());
+        response.setErrorMessage(errorMessage);
+        return response;
+    }
+    
     // DTOs with getters and setters
     public static class AuthorizationRequest {
         private String memberNumber;
         private BigDecimal amount;
         private String merchantName;
         private String merchantCategory;
+        private String idempotencyKey;
         
         public String getMemberNumber() { return memberNumber; }
         public void setMemberNumber(String v) { memberNumber = v; }
@@ -56,10 +294,13 @@ public class CreditCardController {
         public void setMerchantName(String v) { merchantName = v; }
         public String getMerchantCategory() { return merchantCategory; }
         public void setMerchantCategory(String v) { merchantCategory = v; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+        public void setIdempotencyKey(String v) { idempotencyKey = v; }
     }
     
     public static class AuthorizationResponse {
         private boolean success;
+        private String responseCode;
         private String transactionId;
         private String authorizationCode;
         private String status;
@@ -67,6 +308,8 @@ public class CreditCardController {
         
         public boolean isSuccess() { return success; }
         public void setSuccess(boolean v) { success = v; }
+        public String getResponseCode() { return responseCode; }
+        public void setResponseCode(String v) { responseCode = v; }
         public String getTransactionId() { return transactionId; }
         public void setTransactionId(String v) { transactionId = v; }
         public String getAuthorizationCode() { return authorizationCode; }
@@ -76,4 +319,82 @@ public class CreditCardController {
         public String getErrorMessage() { return errorMessage; }
         public void setErrorMessage(String v) { errorMessage = v; }
     }
+    
+    public static class BatchAuthorizationRequest {
+        private List<AuthorizationRequest> requests;
+        
+        public List<AuthorizationRequest> getRequests() { return requests; }
+        public void setRequests(List<AuthorizationRequest> v) { requests = v; }
+    }
+    
+    public static class BatchAuthorizationResponse {
+        private List<AuthorizationResponse> results;
+        private String errorMessage;
+        
+        public List<AuthorizationResponse> getResults() { return results; }
+        public void setResults(List<AuthorizationResponse> v) { results = v; }
+        public String getErrorMessage() { return errorMessage; }
+        public void setErrorMessage(String v) { errorMessage = v; }
+    }
+    
+    public static class CaptureRequest {
+        private String transactionId;
+        private BigDecimal amount;
+        
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String v) { transactionId = v; }
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal v) { amount = v; }
+    }
+    
+    public static class CaptureResponse {
+        private boolean success;
+        private String responseCode;
+        private String transactionId;
+        private String originalTransactionId;
+        private BigDecimal amount;
+        private String status;
+        private String errorMessage;
+        
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean v) { success = v; }
+        public String getResponseCode() { return responseCode; }
+        public void setResponseCode(String v) { responseCode = v; }
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String v) { transactionId = v; }
+        public String getOriginalTransactionId() { return originalTransactionId; }
+        public void setOriginalTransactionId(String v) { originalTransactionId = v; }
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal v) { amount = v; }
+        public String getStatus() { return status; }
+        public void setStatus(String v) { status = v; }
+        public String getErrorMessage() { return errorMessage; }
+        public void setErrorMessage(String v) { errorMessage = v; }
+    }
+    
+    public static class VoidRequest {
+        private String transactionId;
+        
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String v) { transactionId = v; }
+    }
+    
+    public static class VoidResponse {
+        private boolean success;
+        private String responseCode;
+        private String transactionId;
+        private String status;
+        private String errorMessage;
+        
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean v) { success = v; }
+        public String getResponseCode() { return responseCode; }
+        public void setResponseCode(String v) { responseCode = v; }
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String v) { transactionId = v; }
+        public String getStatus() { return status; }
+        public void setStatus(String v) { status = v; }
+        public String getErrorMessage() { return errorMessage; }
+        public void setErrorMessage(String v) { errorMessage = v; }
+    }
 }
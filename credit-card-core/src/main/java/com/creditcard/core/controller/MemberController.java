@@ -0,0 +1,105 @@
+package com.creditcard.core.controller;
+
+import com.creditcard.core.domain.FraudAlert;
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.member.MemberService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/members")
+public class MemberController {
+    
+    private final MemberService memberService;
+    
+    public MemberController(MemberService memberService) {
+        this.memberService = memberService;
+    }
+    
+    @PutMapping("/{memberNumber}/status")
+    public ResponseEntity<StatusResponse> changeStatus(@PathVariable String memberNumber,
+                                                       @RequestBody StatusRequest request) {
+        StatusResponse response = new StatusResponse();
+        response.setMemberNumber(memberNumber);
+        try {
+            memberService.changeStatus(memberNumber, Member.MemberStatus.valueOf(request.getStatus()));
+            response.setSuccess(true);
+            response.setStatus(request.getStatus());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.setErrorMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    @GetMapping("/{memberNumber}/fraud-alerts")
+    public ResponseEntity<List<FraudAlertResponse>> getFraudAlerts(@PathVariable String memberNumber,
+                                                                   @RequestParam(defaultValue = "50") int limit) {
+        List<FraudAlertResponse> alerts = memberService
+            .recentFraudAlerts(memberNumber, Math.min(Math.max(limit, 1), 500))
+            .stream()
+            .map(MemberController::toResponse)
+            .toList();
+        return ResponseEntity.ok(alerts);
+    }
+    
+    private static FraudAlertResponse toResponse(FraudAlert alert) {
+        FraudAlertResponse response = new FraudAlertResponse();
+        response.setTransactionId(alert.getTransactionId());
+        response.setRiskLevel(alert.getRiskLevel().name());
+        response.setScore(alert.getScore());
+        response.setReason(alert.getReason());
+        response.setMemberFlagged(alert.getMemberFlagged());
+        response.setCreatedAt(alert.getCreatedAt());
+        return response;
+    }
+    
+    // DTOs with getters and setters
+    public static class StatusRequest {
+        private String status;
+        
+        public String getStatus() { return status; }
+        public void setStatus(String v) { status = v; }
+    }
+    
+    public static class StatusResponse {
+        private boolean success;
+        private String memberNumber;
+        private String status;
+        private String errorMessage;
+        
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean v) { success = v; }
+        public String getMemberNumber() { return memberNumber; }
+        public void setMemberNumber(String v) { memberNumber = v; }
+        public String getStatus() { return status; }
+        public void setStatus(String v) { status = v; }
+        public String getErrorMessage() { return errorMessage; }
+        public void setErrorMessage(String v) { errorMessage = v; }
+    }
+    
+    public static class FraudAlertResponse {
+        private String transactionId;
+        private String riskLevel;
+        private Double score;
+        private String reason;
+        private boolean memberFlagged;
+        private LocalDateTime createdAt;
+        
+        public String getTransactionId() { return transactionId; }
+        public void setTransactionId(String v) { transactionId = v; }
+        public String getRiskLevel() { return riskLevel; }
+        public void setRiskLevel(String v) { riskLevel = v; }
+        public Double getScore() { return score; }
+        public void setScore(Double v) { score = v; }
+        public String getReason() { return reason; }
+        public void setReason(String v) { reason = v; }
+        public boolean isMemberFlagged() { return memberFlagged; }
+        public void setMemberFlagged(boolean v) { memberFlagged = v; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime v) { createdAt = v; }
+    }
+}
@@ -0,0 +1,85 @@
+package com.creditcard.core.controller;
+
+import com.creditcard.core.transaction.TransactionHistoryService;
+import com.creditcard.core.transaction.TransactionSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/credit/members/{memberNumber}/transactions")
+public class TransactionHistoryController {
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    private final TransactionHistoryService historyService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    
+    public TransactionHistoryController(TransactionHistoryService historyService, ObjectMapper objectMapper) {
+        this.historyService = historyService;
+        this.objectMapper = objectMapper;
+        // flushing is per chunk, not per row
+        this.rowWriter = objectMapper.writerFor(TransactionSummary.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    /** One page, newest first; pass the returned {@code nextCursor} back to continue. */
+    @GetMapping
+    public ResponseEntity<?> getHistory(@PathVariable String memberNumber,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(historyService.page(memberNumber, cursor, Math.min(Math.max(limit, 1), 500)));
+        } catch (IllegalArgumentException e) {
+            ErrorResponse response = new ErrorResponse();
+            response.setErrorMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /** The whole history as newline-delimited JSON, streamed chunk by chunk. */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String memberNumber) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+                historyService.export(memberNumber, new TransactionHistoryService.RowSink() {
+                    @Override
+                    public void accept(TransactionSummary row) throws IOException {
+                        rowWriter.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                    }
+                    
+                    @Override
+                    public void endOfChunk() throws IOException {
+                        generator.flush();
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(memberNumber + "-transactions.ndjson").build().toString())
+            .body(body);
+    }
+    
+    // DTOs with getters and setters
+    public static class ErrorResponse {
+        private String errorMessage;
+        
+        public String getErrorMessage() { return errorMessage; }
+        public void setErrorMessage(String v) { errorMessage = v; }
+    }
+}
@@ -1,11 +1,13 @@
 package com.creditcard.core.domain;
 
+import com.creditcard.core.money.Money;
+import com.creditcard.core.money.MoneyConverter;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "billings")
+@Table(name = "billings", uniqueConstraints =
+    @UniqueConstraint(name = "uk_billings_member_month", columnNames = {"member_number", "billing_month"}))
 public class Billing {
     
     @Id
@@ -18,12 +20,16 @@ public class Billing {
     @Column(name = "member_number", nullable = false)
     private String memberNumber;
     
+    @Column(name = "billing_month", nullable = false, length = 7)
+    private String billingMonth;
+    
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BillingStatus status;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(precision = 10, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
     
     @Column(name = "due_date")
     private LocalDateTime dueDate;
@@ -44,10 +50,12 @@ public class Billing {
     public void setBillingId(String billingId) { this.billingId = billingId; }
     public String getMemberNumber() { return memberNumber; }
     public void setMemberNumber(String memberNumber) { this.memberNumber = memberNumber; }
+    public String getBillingMonth() { return billingMonth; }
+    public void setBillingMonth(String billingMonth) { this.billingMonth = billingMonth; }
     public BillingStatus getStatus() { return status; }
     public void setStatus(BillingStatus status) { this.status = status; }
-    public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
     public LocalDateTime getDueDate() { return dueDate; }
     public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
     public LocalDateTime getPaidAt() { return paidAt; }
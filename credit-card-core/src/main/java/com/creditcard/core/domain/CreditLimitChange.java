@@ -0,0 +1,40 @@
+package com.creditcard.core.domain;
+
+import com.creditcard.core.money.Money;
+import com.creditcard.core.money.MoneyConverter;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A member's new credit limit, written in the same database transaction as
+ * the {@code members} update so every node can apply it to its ledger. Rows
+ * are deleted once they are older than the feed's retention.
+ */
+@Entity
+@Table(name = "credit_limit_changes", indexes =
+    @Index(name = "idx_credit_limit_changes_changed_at", columnList = "changed_at"))
+public class CreditLimitChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_number", nullable = false)
+    private String memberNumber;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "credit_limit", nullable = false, precision = 10, scale = 2)
+    private Money creditLimit;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getMemberNumber() { return memberNumber; }
+    public void setMemberNumber(String memberNumber) { this.memberNumber = memberNumber; }
+    public Money getCreditLimit() { return creditLimit; }
+    public void setCreditLimit(Money creditLimit) { this.creditLimit = creditLimit; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
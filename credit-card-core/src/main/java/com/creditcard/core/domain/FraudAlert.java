@@ -0,0 +1,58 @@
+package com.creditcard.core.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Post-authorization fraud verdict for an approved auth, written by the
+ * asynchronous scoring pipeline. The auth itself stands; the alert is for
+ * review, and a HIGH verdict also flags the member so later auths decline.
+ */
+@Entity
+@Table(name = "fraud_alerts", indexes =
+    @Index(name = "idx_fraud_alerts_member_created", columnList = "member_number, created_at"))
+public class FraudAlert {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "transaction_id", nullable = false)
+    private String transactionId;
+    
+    @Column(name = "member_number", nullable = false)
+    private String memberNumber;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "risk_level", nullable = false)
+    private FraudRule.RiskLevel riskLevel;
+    
+    /** Profile score; null when only inline LOW/MEDIUM rules fired. */
+    private Double score;
+    
+    @Column(nullable = false, length = 500)
+    private String reason;
+    
+    @Column(name = "member_flagged", nullable = false)
+    private Boolean memberFlagged;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public String getMemberNumber() { return memberNumber; }
+    public void setMemberNumber(String memberNumber) { this.memberNumber = memberNumber; }
+    public FraudRule.RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(FraudRule.RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+    public Boolean getMemberFlagged() { return memberFlagged; }
+    public void setMemberFlagged(Boolean memberFlagged) { this.memberFlagged = memberFlagged; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
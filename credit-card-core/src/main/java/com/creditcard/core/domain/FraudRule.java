@@ -18,9 +18,19 @@ public class FraudRule {
     @Column(name = "risk_level", nullable = false)
     private RiskLevel riskLevel;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false)
+    private RuleType ruleType;
+    
+    @Column(name = "merchant_category")
+    private String merchantCategory;
+    
     @Column(precision = 10, scale = 2)
     private BigDecimal threshold;
     
+    @Column(name = "window_seconds")
+    private Integer windowSeconds;
+    
     @Column(nullable = false)
     private Boolean enabled;
     
@@ -28,14 +38,25 @@ public class FraudRule {
         LOW, MEDIUM, HIGH, CRITICAL
     }
     
+    public enum RuleType {
+        AMOUNT_THRESHOLD, MERCHANT_CATEGORY,
+        VELOCITY_COUNT, VELOCITY_AMOUNT, VELOCITY_DISTINCT_MERCHANTS
+    }
+    
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getRuleName() { return ruleName; }
     public void setRuleName(String ruleName) { this.ruleName = ruleName; }
     public RiskLevel getRiskLevel() { return riskLevel; }
     public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+    public RuleType getRuleType() { return ruleType; }
+    public void setRuleType(RuleType ruleType) { this.ruleType = ruleType; }
+    public String getMerchantCategory() { return merchantCategory; }
+    public void setMerchantCategory(String merchantCategory) { this.merchantCategory = merchantCategory; }
     public BigDecimal getThreshold() { return threshold; }
     public void setThreshold(BigDecimal threshold) { this.threshold = threshold; }
+    public Integer getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(Integer windowSeconds) { this.windowSeconds = windowSeconds; }
     public Boolean getEnabled() { return enabled; }
     public void setEnabled(Boolean enabled) { this.enabled = enabled; }
 }
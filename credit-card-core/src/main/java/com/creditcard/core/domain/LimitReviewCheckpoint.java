@@ -0,0 +1,60 @@
+package com.creditcard.core.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one member-key partition of a monthly credit-limit review.
+ * Bounds are fixed when the review first starts so a restart resumes the
+ * same partitions and no member's limit is reviewed twice in a month.
+ */
+@Entity
+@Table(name = "limit_review_checkpoints", uniqueConstraints =
+    @UniqueConstraint(name = "uk_limit_review_checkpoints_partition", columnNames = {"review_month", "partition_no"}))
+public class LimitReviewCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "review_month", nullable = false, length = 7)
+    private String reviewMonth;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    /** Exclusive lower bound; empty for the first partition. */
+    @Column(name = "lower_member_number", nullable = false)
+    private String lowerMemberNumber;
+
+    /** Inclusive upper bound; null for the last partition. */
+    @Column(name = "upper_member_number")
+    private String upperMemberNumber;
+
+    /** Last member reviewed; the partition resumes after it. */
+    @Column(name = "last_member_number", nullable = false)
+    private String lastMemberNumber;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getReviewMonth() { return reviewMonth; }
+    public void setReviewMonth(String reviewMonth) { this.reviewMonth = reviewMonth; }
+    public Integer getPartitionNo() { return partitionNo; }
+    public void setPartitionNo(Integer partitionNo) { this.partitionNo = partitionNo; }
+    public String getLowerMemberNumber() { return lowerMemberNumber; }
+    public void setLowerMemberNumber(String lowerMemberNumber) { this.lowerMemberNumber = lowerMemberNumber; }
+    public String getUpperMemberNumber() { return upperMemberNumber; }
+    public void setUpperMemberNumber(String upperMemberNumber) { this.upperMemberNumber = upperMemberNumber; }
+    public String getLastMemberNumber() { return lastMemberNumber; }
+    public void setLastMemberNumber(String lastMemberNumber) { this.lastMemberNumber = lastMemberNumber; }
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,7 +1,8 @@
 package com.creditcard.core.domain;
 
+import com.creditcard.core.money.Money;
+import com.creditcard.core.money.MoneyConverter;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -28,11 +29,13 @@ public class Member {
     @Column(nullable = false)
     private MemberStatus status;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "credit_limit", precision = 10, scale = 2)
-    private BigDecimal creditLimit;
+    private Money creditLimit;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "current_balance", precision = 10, scale = 2)
-    private BigDecimal currentBalance;
+    private Money currentBalance;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -47,7 +50,7 @@ public class Member {
     public Member() {}
     
     public Member(String memberNumber, String nameKanji, String email, 
-                  MemberStatus status, BigDecimal creditLimit, BigDecimal currentBalance) {
+                  MemberStatus status, Money creditLimit, Money currentBalance) {
         this.memberNumber = memberNumber;
         this.nameKanji = nameKanji;
         this.email = email;
@@ -68,10 +71,10 @@ public class Member {
     public void setEmail(String email) { this.email = email; }
     public MemberStatus getStatus() { return status; }
     public void setStatus(MemberStatus status) { this.status = status; }
-    public BigDecimal getCreditLimit() { return creditLimit; }
-    public void setCreditLimit(BigDecimal creditLimit) { this.creditLimit = creditLimit; }
-    public BigDecimal getCurrentBalance() { return currentBalance; }
-    public void setCurrentBalance(BigDecimal currentBalance) { this.currentBalance = currentBalance; }
+    public Money getCreditLimit() { return creditLimit; }
+    public void setCreditLimit(Money creditLimit) { this.creditLimit = creditLimit; }
+    public Money getCurrentBalance() { return currentBalance; }
+    public void setCurrentBalance(Money currentBalance) { this.currentBalance = currentBalance; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
@@ -87,16 +90,16 @@ public class Member {
         private String nameKana;
         private String email;
         private MemberStatus status;
-        private BigDecimal creditLimit;
-        private BigDecimal currentBalance;
+        private Money creditLimit;
+        private Money currentBalance;
         
         public Builder memberNumber(String v) { memberNumber = v; return this; }
         public Builder nameKanji(String v) { nameKanji = v; return this; }
         public Builder nameKana(String v) { nameKana = v; return this; }
         public Builder email(String v) { email = v; return this; }
         public Builder status(MemberStatus v) { status = v; return this; }
-        public Builder creditLimit(BigDecimal v) { creditLimit = v; return this; }
-        public Builder currentBalance(BigDecimal v) { currentBalance = v; return this; }
+        public Builder creditLimit(Money v) { creditLimit = v; return this; }
+        public Builder currentBalance(Money v) { currentBalance = v; return this; }
         public Member build() {
             return new Member(memberNumber, nameKanji, email, status, creditLimit, currentBalance);
         }
@@ -0,0 +1,64 @@
+package com.creditcard.core.domain;
+
+import com.creditcard.core.money.Money;
+import com.creditcard.core.money.MoneyConverter;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction event waiting to be published. Rows are written in the same
+ * database transaction as the change they describe and deleted by the relay
+ * once the sink has them, so the table only holds the unpublished backlog.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(name = "transaction_id", nullable = false)
+    private String transactionId;
+
+    @Column(name = "original_transaction_id")
+    private String originalTransactionId;
+
+    @Column(name = "member_number", nullable = false)
+    private String memberNumber;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(nullable = false, precision = 10, scale = 2)
+    private Money amount;
+
+    @Column(name = "merchant_name")
+    private String merchantName;
+
+    @Column(name = "merchant_category")
+    private String merchantCategory;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+    public String getOriginalTransactionId() { return originalTransactionId; }
+    public void setOriginalTransactionId(String originalTransactionId) { this.originalTransactionId = originalTransactionId; }
+    public String getMemberNumber() { return memberNumber; }
+    public void setMemberNumber(String memberNumber) { this.memberNumber = memberNumber; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public String getMerchantName() { return merchantName; }
+    public void setMerchantName(String merchantName) { this.merchantName = merchantName; }
+    public String getMerchantCategory() { return merchantCategory; }
+    public void setMerchantCategory(String merchantCategory) { this.merchantCategory = merchantCategory; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
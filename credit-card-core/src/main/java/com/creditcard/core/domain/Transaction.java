@@ -1,11 +1,16 @@
 package com.creditcard.core.domain;
 
+import com.creditcard.core.money.Money;
+import com.creditcard.core.money.MoneyConverter;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    @Index(name = "idx_transactions_member_history", columnList = "member_number, transaction_datetime, id"),
+    // voids since a ledger snapshot, replayed on restart
+    @Index(name = "idx_transactions_updated_at", columnList = "updated_at")
+})
 public class Transaction {
     
     @Id
@@ -22,8 +27,9 @@ public class Transaction {
     @Column(name = "transaction_type", nullable = false)
     private TransactionType type;
     
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -38,6 +44,12 @@ public class Transaction {
     @Column(name = "merchant_category")
     private String merchantCategory;
     
+    @Column(name = "idempotency_key", unique = true, length = 64)
+    private String idempotencyKey;
+    
+    @Column(name = "original_transaction_id")
+    private String originalTransactionId;
+    
     @Column(name = "transaction_datetime")
     private LocalDateTime transactionDatetime;
     
@@ -47,6 +59,13 @@ public class Transaction {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /** LOW/MEDIUM rules that fired inline; left for the async scoring pipeline, never persisted. */
+    @Transient
+    private FraudRule.RiskLevel fraudWarningLevel;
+    
+    @Transient
+    private String fraudWarning;
+    
     public enum TransactionType {
         AUTH, CAPTURE, REFUND, PAYMENT, CHARGEBACK, INSTALLMENT
     }
@@ -66,8 +85,8 @@ public class Transaction {
     public void setMemberNumber(String memberNumber) { this.memberNumber = memberNumber; }
     public TransactionType getType() { return type; }
     public void setType(TransactionType type) { this.type = type; }
-    public BigDecimal getAmount() { return amount; }
-    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
     public TransactionStatus getStatus() { return status; }
     public void setStatus(TransactionStatus status) { this.status = status; }
     public String getAuthorizationCode() { return authorizationCode; }
@@ -76,10 +95,18 @@ public class Transaction {
     public void setMerchantName(String merchantName) { this.merchantName = merchantName; }
     public String getMerchantCategory() { return merchantCategory; }
     public void setMerchantCategory(String merchantCategory) { this.merchantCategory = merchantCategory; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public String getOriginalTransactionId() { return originalTransactionId; }
+    public void setOriginalTransactionId(String originalTransactionId) { this.originalTransactionId = originalTransactionId; }
     public LocalDateTime getTransactionDatetime() { return transactionDatetime; }
     public void setTransactionDatetime(LocalDateTime transactionDatetime) { this.transactionDatetime = transactionDatetime; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public FraudRule.RiskLevel getFraudWarningLevel() { return fraudWarningLevel; }
+    public void setFraudWarningLevel(FraudRule.RiskLevel fraudWarningLevel) { this.fraudWarningLevel = fraudWarningLevel; }
+    public String getFraudWarning() { return fraudWarning; }
+    public void setFraudWarning(String fraudWarning) { this.fraudWarning = fraudWarning; }
 }
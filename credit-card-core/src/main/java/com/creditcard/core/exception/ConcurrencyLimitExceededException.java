@@ -0,0 +1,5 @@
+package com.creditcard.core.exception;
+/** Thrown when a request is shed; without a stack trace, since shedding is the hot path under overload. */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String message) { super(message, null, false, false); }
+}
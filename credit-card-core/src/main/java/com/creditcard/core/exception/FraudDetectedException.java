@@ -1,4 +0,0 @@
-package com.creditcard.core.exception;
-public class FraudDetectedException extends RuntimeException {
-    public FraudDetectedException(String message) { super(message); }
-}
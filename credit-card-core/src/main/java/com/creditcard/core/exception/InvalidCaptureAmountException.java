@@ -0,0 +1,4 @@
+package com.creditcard.core.exception;
+public class InvalidCaptureAmountException extends RuntimeException {
+    public InvalidCaptureAmountException(String message) { super(message); }
+}
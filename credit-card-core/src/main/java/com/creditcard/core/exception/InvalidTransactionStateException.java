@@ -0,0 +1,4 @@
+package com.creditcard.core.exception;
+public class InvalidTransactionStateException extends RuntimeException {
+    public InvalidTransactionStateException(String message) { super(message); }
+}
@@ -0,0 +1,4 @@
+package com.creditcard.core.exception;
+public class MemberNotFoundException extends RuntimeException {
+    public MemberNotFoundException(String message) { super(message); }
+}
@@ -0,0 +1,225 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.domain.FraudRule;
+import com.creditcard.core.ledger.MinorUnits;
+import com.creditcard.core.metrics.DeclineReason;
+import com.creditcard.core.service.AuthorizationResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 不正検知評価プラン / Immutable evaluation plan compiled from enabled {@link FraudRule} rows.
+ *
+ * Each rule owns one bit of a {@code long} hit mask. Amount thresholds are kept
+ * sorted with cumulative masks, so evaluation is a binary search plus one table
+ * probe and produces no garbage when nothing fires. Velocity rules are kept as
+ * parallel primitive arrays and evaluated by {@link VelocityTracker}.
+ *
+ * Only HIGH and CRITICAL rules decline; LOW and MEDIUM hits are warnings that
+ * the auth carries to {@link FraudScoringPipeline} for a post-approval alert.
+ * Each blocking rule's decline is built once here, so a fraud decline, like
+ * every other business decline, is a shared {@link AuthorizationResult}.
+ */
+public final class CompiledFraudPlan {
+
+    public static final int MAX_RULES = Long.SIZE;
+
+    static final CompiledFraudPlan EMPTY = compile(List.of());
+
+    private final String[] ruleNames;
+    private final FraudRule.RiskLevel[] riskLevels;
+    private final long blockingMask;
+    private final AuthorizationResult[] declines;
+    private final long[] amountThresholds;
+    private final long[] amountMasks;
+    private final MerchantCategoryTable merchantCategories;
+    final FraudRule.RuleType[] velocityTypes;
+    final int[] velocityWindowSeconds;
+    final long[] velocityThresholds;
+    final long[] velocityMasks;
+
+    private CompiledFraudPlan(String[] ruleNames, FraudRule.RiskLevel[] riskLevels,
+                              long[] amountThresholds, long[] amountMasks,
+                              MerchantCategoryTable merchantCategories, List<FraudRule> velocityRules,
+                              long[] velocityMasks) {
+        this.ruleNames = ruleNames;
+        this.riskLevels = riskLevels;
+        long blocking = 0L;
+        for (int bit = 0; bit < riskLevels.length; bit++) {
+            if (riskLevels[bit] == FraudRule.RiskLevel.HIGH || riskLevels[bit] == FraudRule.RiskLevel.CRITICAL) {
+                blocking |= 1L << bit;
+            }
+        }
+        this.blockingMask = blocking;
+        this.declines = new AuthorizationResult[ruleNames.length];
+        for (int bit = 0; bit < ruleNames.length; bit++) {
+            if ((blocking & (1L << bit)) != 0) {
+                declines[bit] = AuthorizationResult.declined(DeclineReason.FRAUD_RULE, "Fraud detected: " + ruleNames[bit]);
+            }
+        }
+        this.amountThresholds = amountThresholds;
+        this.amountMasks = amountMasks;
+        this.merchantCategories = merchantCategories;
+        this.velocityTypes = new FraudRule.RuleType[velocityRules.size()];
+        this.velocityWindowSeconds = new int[velocityRules.size()];
+        this.velocityThresholds = new long[velocityRules.size()];
+        this.velocityMasks = velocityMasks;
+        for (int i = 0; i < velocityRules.size(); i++) {
+            FraudRule rule = velocityRules.get(i);
+            velocityTypes[i] = rule.getRuleType();
+            velocityWindowSeconds[i] = rule.getWindowSeconds();
+            velocityThresholds[i] = rule.getRuleType() == FraudRule.RuleType.VELOCITY_AMOUNT
+                ? MinorUnits.of(rule.getThreshold())
+                : rule.getThreshold().longValueExact();
+        }
+    }
+
+    public static CompiledFraudPlan compile(List<FraudRule> rules) {
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException(
+                "At most " + MAX_RULES + " fraud rules can be enabled, got " + rules.size());
+        }
+        String[] names = new String[rules.size()];
+        FraudRule.RiskLevel[] levels = new FraudRule.RiskLevel[rules.size()];
+        List<long[]> thresholds = new ArrayList<>();
+        Map<String, Long> categories = new HashMap<>();
+        List<FraudRule> velocityRules = new ArrayList<>();
+        List<Long> velocityMasks = new ArrayList<>();
+
+        for (int bit = 0; bit < rules.size(); bit++) {
+            FraudRule rule = rules.get(bit);
+            names[bit] = rule.getRuleName();
+            levels[bit] = rule.getRiskLevel();
+            long hit = 1L << bit;
+            switch (rule.getRuleType()) {
+                case AMOUNT_THRESHOLD -> {
+                    if (rule.getThreshold() == null) {
+                        throw new IllegalArgumentException("Rule " + rule.getRuleName() + " has no threshold");
+                    }
+                    thresholds.add(new long[] {MinorUnits.of(rule.getThreshold()), hit});
+                }
+                case MERCHANT_CATEGORY -> {
+                    if (rule.getMerchantCategory() == null) {
+                        throw new IllegalArgumentException("Rule " + rule.getRuleName() + " has no merchant category");
+                    }
+                    for (String category : rule.getMerchantCategory().split(",")) {
+                        categories.merge(category.trim().toLowerCase(Locale.ROOT), hit, (a, b) -> a | b);
+                    }
+                }
+                case VELOCITY_COUNT, VELOCITY_AMOUNT, VELOCITY_DISTINCT_MERCHANTS -> {
+                    if (rule.getThreshold() == null || rule.getWindowSeconds() == null || rule.getWindowSeconds() <= 0) {
+                        throw new IllegalArgumentException(
+                            "Rule " + rule.getRuleName() + " needs a threshold and a positive window");
+                    }
+                    velocityRules.add(rule);
+                    velocityMasks.add(hit);
+                }
+            }
+        }
+
+        thresholds.sort(Comparator.comparingLong(t -> t[0]));
+        long[] amountThresholds = new long[thresholds.size()];
+        long[] amountMasks = new long[thresholds.size()];
+        long cumulative = 0L;
+        for (int i = 0; i < thresholds.size(); i++) {
+            cumulative |= thresholds.get(i)[1];
+            amountThresholds[i] = thresholds.get(i)[0];
+            amountMasks[i] = cumulative;
+        }
+        return new CompiledFraudPlan(names, levels, amountThresholds, amountMasks,
+            categories.isEmpty() ? MerchantCategoryTable.EMPTY : new MerchantCategoryTable(categories),
+            velocityRules, velocityMasks.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * @return bit mask of the rules that fired; {@code 0} means no alert
+     */
+    public long evaluate(long amountMinor, String merchantCategory) {
+        long hits = 0L;
+        // number of thresholds strictly below the amount
+        int exceeded = Arrays.binarySearch(amountThresholds, amountMinor);
+        exceeded = exceeded >= 0 ? lowerBound(exceeded) : -exceeded - 1;
+        if (exceeded > 0) {
+            hits = amountMasks[exceeded - 1];
+        }
+        if (merchantCategory != null) {
+            hits |= merchantCategories.lookup(merchantCategory);
+        }
+        return hits;
+    }
+
+    private int lowerBound(int index) {
+        long value = amountThresholds[index];
+        while (index > 0 && amountThresholds[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+
+    public boolean hasVelocityRules() {
+        return velocityMasks.length > 0;
+    }
+
+    public int ruleCount() {
+        return ruleNames.length;
+    }
+
+    public String ruleName(int bit) {
+        return ruleNames[bit];
+    }
+
+    public FraudRule.RiskLevel riskLevel(int bit) {
+        return riskLevels[bit];
+    }
+
+    /** @return the hits from HIGH and CRITICAL rules, which decline the auth */
+    public long blocking(long hits) {
+        return hits & blockingMask;
+    }
+
+    /** @return the highest risk level among the fired rules, or null if none fired */
+    public FraudRule.RiskLevel highestRiskLevel(long hits) {
+        FraudRule.RiskLevel highest = null;
+        for (long remaining = hits; remaining != 0; remaining &= remaining - 1) {
+            FraudRule.RiskLevel level = riskLevels[Long.numberOfTrailingZeros(remaining)];
+            if (highest == null || level.compareTo(highest) > 0) {
+                highest = level;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * The decline for blocking hits, naming the most severe rule that fired
+     * (the first in rule order on a tie). The full set of hits is still
+     * available from {@link #describe}.
+     *
+     * @param blockingHits a non-zero result of {@link #blocking}
+     */
+    public AuthorizationResult decline(long blockingHits) {
+        int declining = Long.numberOfTrailingZeros(blockingHits);
+        for (long remaining = blockingHits & (blockingHits - 1); remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            if (riskLevels[bit].compareTo(riskLevels[declining]) > 0) {
+                declining = bit;
+            }
+        }
+        return declines[declining];
+    }
+
+    /** Renders the names of the fired rules; only called when a rule fired. */
+    public String describe(long hits) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (long remaining = hits; remaining != 0; remaining &= remaining - 1) {
+            joiner.add(ruleNames[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return joiner.toString();
+    }
+}
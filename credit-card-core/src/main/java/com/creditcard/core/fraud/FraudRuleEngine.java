@@ -0,0 +1,65 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.repository.FraudRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 不正検知ルールエンジン / Holds the current {@link CompiledFraudPlan}.
+ *
+ * Enabled rules are recompiled on a fixed delay and swapped in with a single
+ * volatile write, so in-flight evaluations always see one consistent plan.
+ */
+@Component
+public class FraudRuleEngine implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudRuleEngine.class);
+
+    private final FraudRuleRepository fraudRuleRepository;
+    private final VelocityTracker velocityTracker;
+    private volatile CompiledFraudPlan plan = CompiledFraudPlan.EMPTY;
+
+    public FraudRuleEngine(FraudRuleRepository fraudRuleRepository, VelocityTracker velocityTracker) {
+        this.fraudRuleRepository = fraudRuleRepository;
+        this.velocityTracker = velocityTracker;
+    }
+
+    public CompiledFraudPlan currentPlan() {
+        return plan;
+    }
+
+    /**
+     * @return hit mask of every rule in {@code plan} that fires for this auth
+     */
+    public long evaluate(CompiledFraudPlan plan, String memberNumber, long amountMinor,
+                         String merchantName, String merchantCategory) {
+        long hits = plan.evaluate(amountMinor, merchantCategory);
+        if (plan.hasVelocityRules()) {
+            hits |= velocityTracker.evaluate(plan, memberNumber, amountMinor, merchantName);
+        }
+        return hits;
+    }
+
+    /** Counts an approved auth towards the member's velocity windows. */
+    public void recordApproved(String memberNumber, long amountMinor, String merchantName) {
+        velocityTracker.record(memberNumber, amountMinor, merchantName);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${creditcard.fraud.reload-interval-ms:30000}",
+               initialDelayString = "${creditcard.fraud.reload-interval-ms:30000}")
+    public void reload() {
+        try {
+            plan = CompiledFraudPlan.compile(fraudRuleRepository.findByEnabledTrueOrderByIdAsc());
+        } catch (RuntimeException e) {
+            log.error("Fraud rule reload failed, keeping the previous plan", e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.domain.FraudAlert;
+import com.creditcard.core.domain.FraudRule;
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.repository.FraudAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 非同期不正スコアリング / Second fraud tier, run after an approved auth commits.
+ *
+ * Only HIGH and CRITICAL rules decline inline. Committed auths are offered to
+ * a bounded queue that one worker drains in batches: each auth is scored by
+ * {@link MemberRiskScorer}, an {@link FraudAlert} is written for inline
+ * LOW/MEDIUM warnings and for scores over the alert threshold, and a score
+ * over the flag threshold flags the member in the {@link CreditLedger} so the
+ * next auth declines. A full queue never blocks an auth; the candidate is
+ * dropped and counted in {@code fraud.scoring.dropped}.
+ */
+@Component
+public class FraudScoringPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudScoringPipeline.class);
+
+    private static final long POLL_MILLIS = 100;
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final MemberRiskScorer scorer;
+    private final FraudAlertRepository alertRepository;
+    private final CreditLedger creditLedger;
+    private final boolean enabled;
+    private final int batchSize;
+    private final double alertScore;
+    private final double flagScore;
+    private final BlockingQueue<Candidate> queue;
+    private final Counter dropped;
+    private final Timer delay;
+    private final Map<FraudRule.RiskLevel, Counter> alerts = new EnumMap<>(FraudRule.RiskLevel.class);
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public FraudScoringPipeline(MemberRiskScorer scorer, FraudAlertRepository alertRepository,
+                                CreditLedger creditLedger, MeterRegistry registry,
+                                @Value("${creditcard.fraud.scoring.enabled:true}") boolean enabled,
+                                @Value("${creditcard.fraud.scoring.queue-capacity:65536}") int queueCapacity,
+                                @Value("${creditcard.fraud.scoring.batch-size:256}") int batchSize,
+                                @Value("${creditcard.fraud.scoring.alert-score:4.0}") double alertScore,
+                                @Value("${creditcard.fraud.scoring.flag-score:8.0}") double flagScore) {
+        this.scorer = scorer;
+        this.alertRepository = alertRepository;
+        this.creditLedger = creditLedger;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.alertScore = alertScore;
+        this.flagScore = flagScore;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("fraud.scoring.queue", queue, BlockingQueue::size)
+            .description("Approved auths waiting for post-approval scoring")
+            .register(registry);
+        this.dropped = Counter.builder("fraud.scoring.dropped")
+            .description("Approved auths not scored because the queue was full")
+            .register(registry);
+        this.delay = Timer.builder("fraud.scoring.delay")
+            .description("Time from commit to post-approval verdict")
+            .publishPercentileHistogram()
+            .register(registry);
+        for (FraudRule.RiskLevel level : FraudRule.RiskLevel.values()) {
+            alerts.put(level, Counter.builder("fraud.alerts").tag("level", level.name()).register(registry));
+        }
+        this.worker = new Thread(this::run, "fraud-scoring");
+        if (enabled) {
+            worker.start();
+        }
+    }
+
+    /** Queues committed auths for scoring; never blocks. */
+    public void submit(List<Transaction> approved) {
+        if (!enabled) {
+            return;
+        }
+        long queuedAt = System.nanoTime();
+        for (Transaction tx : approved) {
+            if (!running || !queue.offer(new Candidate(tx, queuedAt))) {
+                dropped.increment();
+            }
+        }
+    }
+
+    /** Stops taking auths and scores what is already queued before returning. */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        if (enabled) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void run() {
+        List<Candidate> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Candidate first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Candidate> batch) {
+        List<FraudAlert> raised = new ArrayList<>();
+        for (Candidate candidate : batch) {
+            try {
+                FraudAlert alert = assess(candidate.tx);
+                if (alert != null) {
+                    raised.add(alert);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Fraud scoring failed for {}", candidate.tx.getTransactionId(), e);
+            }
+            delay.record(System.nanoTime() - candidate.queuedAt, TimeUnit.NANOSECONDS);
+        }
+        if (!raised.isEmpty()) {
+            try {
+                alertRepository.saveAll(raised);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} fraud alerts", raised.size(), e);
+            }
+        }
+    }
+
+    /** @return the alert for {@code tx}, or null if it is clean; flags the member on a high score */
+    FraudAlert assess(Transaction tx) {
+        MemberRiskScorer.Score score = scorer.score(tx);
+        FraudRule.RiskLevel level = tx.getFraudWarningLevel();
+        StringJoiner reason = new StringJoiner("; ");
+        if (tx.getFraudWarning() != null) {
+            reason.add("rules: " + tx.getFraudWarning());
+        }
+        Double alertedScore = null;
+        if (score.getValue() >= alertScore) {
+            FraudRule.RiskLevel scored = score.getValue() >= flagScore ? FraudRule.RiskLevel.HIGH : FraudRule.RiskLevel.MEDIUM;
+            level = level == null || scored.compareTo(level) > 0 ? scored : level;
+            reason.add(score.getReasons());
+            alertedScore = score.getValue();
+        }
+        if (level == null) {
+            return null;
+        }
+        boolean flagged = score.getValue() >= flagScore && creditLedger.flag(tx.getMemberNumber());
+        if (flagged) {
+            log.warn("Member {} flagged for fraud review after {} (score {})",
+                tx.getMemberNumber(), tx.getTransactionId(), String.format("%.1f", score.getValue()));
+        }
+        alerts.get(level).increment();
+
+        FraudAlert alert = new FraudAlert();
+        alert.setTransactionId(tx.getTransactionId());
+        alert.setMemberNumber(tx.getMemberNumber());
+        alert.setRiskLevel(level);
+        alert.setScore(alertedScore);
+        String text = reason.toString();
+        alert.setReason(text.length() > MAX_REASON_LENGTH ? text.substring(0, MAX_REASON_LENGTH) : text);
+        alert.setMemberFlagged(flagged);
+        alert.setCreatedAt(LocalDateTime.now());
+        return alert;
+    }
+
+    private static final class Candidate {
+        final Transaction tx;
+        final long queuedAt;
+
+        Candidate(Transaction tx, long queuedAt) {
+            this.tx = tx;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 会員・加盟店プロファイル評価 / Profile-based risk score for an approved auth.
+ *
+ * Keeps running amount statistics per member, seeded from the member's recent
+ * AUTH history on first sight, and per merchant, built up from traffic. An auth
+ * scores how many standard deviations its amount sits above the member's or
+ * the merchant's mean, whichever is higher, plus a fixed weight when an
+ * established member uses a merchant category for the first time. The history
+ * query is why this runs in {@link FraudScoringPipeline} and not inline.
+ *
+ * Not thread-safe: only the pipeline's worker thread calls {@link #score}.
+ */
+@Component
+public class MemberRiskScorer {
+
+    static final double NEW_CATEGORY_WEIGHT = 2.0;
+    private static final int MAX_CATEGORIES = 64;
+
+    private final TransactionRepository transactionRepository;
+    private final int historySize;
+    private final int minHistory;
+    private final Cache<String, SpendProfile> memberProfiles;
+    private final Cache<String, SpendProfile> merchantProfiles;
+
+    public MemberRiskScorer(TransactionRepository transactionRepository,
+                            @Value("${creditcard.fraud.scoring.history-size:50}") int historySize,
+                            @Value("${creditcard.fraud.scoring.min-history:5}") int minHistory,
+                            @Value("${creditcard.fraud.scoring.profile-cache-size:100000}") long profileCacheSize) {
+        this.transactionRepository = transactionRepository;
+        this.historySize = historySize;
+        this.minHistory = minHistory;
+        this.memberProfiles = Caffeine.newBuilder().maximumSize(profileCacheSize).build();
+        this.merchantProfiles = Caffeine.newBuilder().maximumSize(profileCacheSize).build();
+    }
+
+    /** Scores {@code tx} against the profiles as they were, then adds it to them. */
+    public Score score(Transaction tx) {
+        SpendProfile member = memberProfiles.get(tx.getMemberNumber(), k -> load(k, tx.getTransactionId()));
+        SpendProfile merchant = tx.getMerchantName() == null ? null
+            : merchantProfiles.get(tx.getMerchantName(), k -> new SpendProfile());
+        String category = tx.getMerchantCategory() == null ? null
+            : tx.getMerchantCategory().toLowerCase(Locale.ROOT);
+        double amount = tx.getAmount().getMinorUnits();
+
+        StringJoiner reasons = new StringJoiner("; ");
+        double memberZ = member.zScore(amount, minHistory);
+        if (memberZ >= 1.0) {
+            reasons.add(String.format(Locale.ROOT, "amount %.1f sd above member mean", memberZ));
+        }
+        double merchantZ = merchant == null ? 0.0 : merchant.zScore(amount, minHistory);
+        if (merchantZ >= 1.0) {
+            reasons.add(String.format(Locale.ROOT, "amount %.1f sd above merchant mean", merchantZ));
+        }
+        double score = Math.max(memberZ, merchantZ);
+        if (category != null && member.count >= minHistory && !member.categories.contains(category)) {
+            score += NEW_CATEGORY_WEIGHT;
+            reasons.add("first use of category " + category);
+        }
+
+        member.add(amount, category);
+        if (merchant != null) {
+            merchant.add(amount, null);
+        }
+        return new Score(score, reasons.toString());
+    }
+
+    private SpendProfile load(String memberNumber, String excludeTransactionId) {
+        SpendProfile profile = new SpendProfile();
+        for (Transaction past : transactionRepository.findByMemberNumberAndTypeOrderByTransactionDatetimeDesc(
+                memberNumber, Transaction.TransactionType.AUTH, PageRequest.of(0, historySize))) {
+            if (!past.getTransactionId().equals(excludeTransactionId)) {
+                profile.add(past.getAmount().getMinorUnits(),
+                    past.getMerchantCategory() == null ? null : past.getMerchantCategory().toLowerCase(Locale.ROOT));
+            }
+        }
+        return profile;
+    }
+
+    public static final class Score {
+        private final double value;
+        private final String reasons;
+
+        Score(double value, String reasons) {
+            this.value = value;
+            this.reasons = reasons;
+        }
+
+        public double getValue() { return value; }
+        public String getReasons() { return reasons; }
+    }
+
+    /** Welford running mean and variance of amounts, plus the categories seen. */
+    private static final class SpendProfile {
+        long count;
+        double mean;
+        double m2;
+        final Set<String> categories = new HashSet<>();
+
+        void add(double amount, String category) {
+            count++;
+            double delta = amount - mean;
+            mean += delta / count;
+            m2 += delta * (amount - mean);
+            if (category != null && categories.size() < MAX_CATEGORIES) {
+                categories.add(category);
+            }
+        }
+
+        /** @return standard deviations above the mean, 0 below it or without enough history */
+        double zScore(double amount, int minHistory) {
+            if (count < minHistory || amount <= mean) {
+                return 0.0;
+            }
+            // a member who always spends the same amount would otherwise have no spread at all
+            double deviation = Math.max(Math.sqrt(m2 / (count - 1)), Math.max(mean * 0.05, 100.0));
+            return (amount - mean) / deviation;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.creditcard.core.fraud;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable open-addressing table from merchant category to a rule hit mask.
+ *
+ * Lookups fold case character by character and compare with
+ * {@link String#regionMatches(boolean, int, String, int, int)}, so probing with
+ * the raw request value allocates nothing.
+ */
+final class MerchantCategoryTable {
+
+    static final MerchantCategoryTable EMPTY = new MerchantCategoryTable(Map.of());
+
+    private final String[] keys;
+    private final long[] masks;
+    private final int mask;
+
+    MerchantCategoryTable(Map<String, Long> categoryMasks) {
+        int capacity = Integer.highestOneBit(Math.max(4, categoryMasks.size() * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.masks = new long[capacity];
+        this.mask = capacity - 1;
+        categoryMasks.forEach((category, hits) -> {
+            String key = category.toLowerCase(Locale.ROOT);
+            int slot = hash(key) & mask;
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            masks[slot] |= hits;
+        });
+    }
+
+    long lookup(String category) {
+        int length = category.length();
+        int slot = hash(category) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.length() == length && key.regionMatches(true, 0, category, 0, length)) {
+                return masks[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0L;
+    }
+
+    private static int hash(String value) {
+        int h = 0;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + Character.toLowerCase(value.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+}
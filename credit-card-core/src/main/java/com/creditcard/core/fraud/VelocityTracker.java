@@ -0,0 +1,305 @@
+package com.creditcard.core.fraud;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 利用頻度カウンタ / Per-member sliding-window velocity counters.
+ *
+ * Every tracked member owns a two-level ring: fine buckets (one minute by
+ * default, covering ten) answer short windows, coarse buckets (fifteen minutes,
+ * covering the hour) answer the rest at coarse granularity. Each bucket is one
+ * packed {@code long}: spend in whole yen rounded up (28 bits), auth count
+ * (12 bits) and a 24-bit distinct-merchant sketch. Spend and count saturate at
+ * about 268 million yen and 4,095 auths a bucket, far past any threshold a
+ * rule can usefully set. A member's buckets
+ * are contiguous and its key is a 32-bit fingerprint, so heap use is fixed at
+ * {@code capacity * (8 + 8 * (buckets + coarse-buckets))} bytes regardless of
+ * how many members are active: 120 bytes a member with the defaults. Members
+ * hash into 16-slot groups (one cache line of keys); when a group is full the
+ * member with the oldest activity is evicted. A check walks each ring once,
+ * newest bucket first, and settles every rule as its window is covered.
+ *
+ * Capacity therefore bounds the members active within the coarse span
+ * ({@code coarse-buckets * coarse-bucket-seconds}), not the card base. Past it
+ * the tracker fails open: an evicted member's windows restart empty, so its
+ * velocity rules under-count. Evictions of windows still in the span are
+ * counted in {@code creditcard.fraud.velocity.evictions}; a rising count means
+ * the capacity is too small for the traffic.
+ */
+@Component
+public class VelocityTracker implements MeterBinder {
+
+    private static final int GROUP_SIZE = 16;
+    private static final int STRIPES = 1024;
+    private static final long MINOR_PER_YEN = 100L;
+    private static final int SKETCH_BITS = 24;
+    private static final int COUNT_SHIFT = SKETCH_BITS;
+    private static final int YEN_SHIFT = COUNT_SHIFT + 12;
+    private static final long SKETCH_MASK = (1L << SKETCH_BITS) - 1;
+    private static final long COUNT_MAX = (1L << (YEN_SHIFT - COUNT_SHIFT)) - 1;
+    private static final long YEN_MAX = (1L << (Long.SIZE - YEN_SHIFT)) - 1;
+
+    private final int bucketSeconds;
+    private final int bucketCount;
+    private final int coarseRatio;
+    private final int coarseCount;
+    private final int stride;
+    private final long span;
+    private final int groupMask;
+    private final Object[] locks = new Object[STRIPES];
+
+    private final int[] keys;
+    private final int[] headEpochs;
+    private final long[] buckets;
+    private final LongAdder evictions = new LongAdder();
+
+    public VelocityTracker(@Value("${creditcard.fraud.velocity.capacity:2097152}") int capacity,
+                           @Value("${creditcard.fraud.velocity.bucket-seconds:60}") int bucketSeconds,
+                           @Value("${creditcard.fraud.velocity.buckets:10}") int bucketCount,
+                           @Value("${creditcard.fraud.velocity.coarse-bucket-seconds:900}") int coarseBucketSeconds,
+                           @Value("${creditcard.fraud.velocity.coarse-buckets:4}") int coarseBucketCount) {
+        if (coarseBucketSeconds < bucketSeconds || coarseBucketSeconds % bucketSeconds != 0) {
+            throw new IllegalArgumentException("coarse-bucket-seconds must be a multiple of bucket-seconds, got "
+                + coarseBucketSeconds + " and " + bucketSeconds);
+        }
+        int slots = Math.max(GROUP_SIZE, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.bucketSeconds = bucketSeconds;
+        this.bucketCount = bucketCount;
+        this.coarseRatio = coarseBucketSeconds / bucketSeconds;
+        this.coarseCount = coarseBucketCount;
+        this.stride = bucketCount + coarseBucketCount;
+        this.span = Math.max(bucketCount, (long) coarseBucketCount * coarseRatio);
+        this.groupMask = slots / GROUP_SIZE - 1;
+        this.keys = new int[slots];
+        this.headEpochs = new int[slots];
+        this.buckets = new long[slots * stride];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public long evaluate(CompiledFraudPlan plan, String memberNumber, long amountMinor, String merchant) {
+        return evaluate(plan, memberNumber, amountMinor, merchant, System.currentTimeMillis());
+    }
+
+    public void record(String memberNumber, long amountMinor, String merchant) {
+        record(memberNumber, amountMinor, merchant, System.currentTimeMillis());
+    }
+
+    /**
+     * @return hit mask of the plan's velocity rules, counting this transaction
+     */
+    long evaluate(CompiledFraudPlan plan, String memberNumber, long amountMinor, String merchant, long nowMillis) {
+        long hash = hash(memberNumber);
+        int key = key(hash);
+        int group = group(hash);
+        long epoch = epoch(nowMillis);
+        long fineRules = 0L;
+        long coarseRules = 0L;
+        for (int i = 0; i < plan.velocityMasks.length; i++) {
+            if (plan.velocityWindowSeconds[i] <= bucketCount * bucketSeconds) {
+                fineRules |= 1L << i;
+            } else {
+                coarseRules |= 1L << i;
+            }
+        }
+
+        long merchantBit = merchantBit(merchant);
+        synchronized (locks[group & (STRIPES - 1)]) {
+            int slot = find(group, key);
+            long head = slot < 0 ? epoch : epoch - ((int) epoch - headEpochs[slot]);
+            return walk(plan, fineRules, slot, 0, bucketCount, bucketSeconds,
+                        head, epoch, amountMinor, merchantBit)
+                | walk(plan, coarseRules, slot, bucketCount, coarseCount, bucketSeconds * coarseRatio,
+                       head / coarseRatio, epoch / coarseRatio, amountMinor, merchantBit);
+        }
+    }
+
+    /**
+     * Settles {@code rules} against one ring, walking it from its newest bucket.
+     *
+     * @param head the epoch of the slot's newest bucket on this ring; ignored without a slot
+     */
+    private long walk(CompiledFraudPlan plan, long rules, int slot, int first, int count, int seconds,
+                      long head, long epoch, long amountMinor, long merchantBit) {
+        long auths = 1L;
+        long amount = amountMinor;
+        long sketch = merchantBit;
+        long pending = rules;
+        long hits = 0L;
+        if (slot >= 0 && pending != 0L) {
+            int base = slot * stride + first;
+            long oldest = head - count + 1;
+            for (long e = Math.min(epoch, head); e >= oldest && pending != 0L; e--) {
+                // settle rules whose window starts after this bucket
+                long age = epoch - e;
+                for (long remaining = pending; remaining != 0L; remaining &= remaining - 1) {
+                    int i = Long.numberOfTrailingZeros(remaining);
+                    if (age >= count || age * seconds >= plan.velocityWindowSeconds[i]) {
+                        pending &= ~(1L << i);
+                        hits |= hit(plan, i, auths, amount, sketch);
+                    }
+                }
+                long bucket = buckets[base + (int) Math.floorMod(e, (long) count)];
+                auths += (bucket >>> COUNT_SHIFT) & COUNT_MAX;
+                amount += (bucket >>> YEN_SHIFT) * MINOR_PER_YEN;
+                sketch |= bucket & SKETCH_MASK;
+            }
+        }
+        for (long remaining = pending; remaining != 0L; remaining &= remaining - 1) {
+            hits |= hit(plan, Long.numberOfTrailingZeros(remaining), auths, amount, sketch);
+        }
+        return hits;
+    }
+
+    private static long hit(CompiledFraudPlan plan, int rule, long count, long amount, long sketch) {
+        long observed = switch (plan.velocityTypes[rule]) {
+            case VELOCITY_COUNT -> count;
+            case VELOCITY_AMOUNT -> amount;
+            case VELOCITY_DISTINCT_MERCHANTS -> distinct(sketch);
+            default -> 0L;
+        };
+        return observed > plan.velocityThresholds[rule] ? plan.velocityMasks[rule] : 0L;
+    }
+
+    void record(String memberNumber, long amountMinor, String merchant, long nowMillis) {
+        long hash = hash(memberNumber);
+        int key = key(hash);
+        int group = group(hash);
+        long merchantBit = merchantBit(merchant);
+        long yen = Math.min(YEN_MAX, Math.max(0L, (amountMinor + MINOR_PER_YEN - 1) / MINOR_PER_YEN));
+        long epoch = epoch(nowMillis);
+        synchronized (locks[group & (STRIPES - 1)]) {
+            int slot = find(group, key);
+            if (slot < 0) {
+                slot = claim(group, key, epoch);
+            }
+            advance(slot, epoch);
+            int base = slot * stride;
+            add(base + (int) Math.floorMod(epoch, (long) bucketCount), yen, merchantBit);
+            add(base + bucketCount + (int) Math.floorMod(epoch / coarseRatio, (long) coarseCount), yen, merchantBit);
+        }
+    }
+
+    private void add(int index, long yen, long merchantBit) {
+        long bucket = buckets[index];
+        long total = Math.min(YEN_MAX, (bucket >>> YEN_SHIFT) + yen);
+        long count = Math.min(COUNT_MAX, ((bucket >>> COUNT_SHIFT) & COUNT_MAX) + 1);
+        buckets[index] = total << YEN_SHIFT | count << COUNT_SHIFT | (bucket & SKETCH_MASK) | merchantBit;
+    }
+
+    private int find(int group, int key) {
+        int base = group * GROUP_SIZE;
+        for (int i = base; i < base + GROUP_SIZE; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int claim(int group, int key, long epoch) {
+        int base = group * GROUP_SIZE;
+        int victim = base;
+        for (int i = base; i < base + GROUP_SIZE; i++) {
+            if (keys[i] == 0) {
+                victim = i;
+                break;
+            }
+            if ((int) epoch - headEpochs[i] > (int) epoch - headEpochs[victim]) {
+                victim = i;
+            }
+        }
+        if (keys[victim] != 0 && (int) epoch - headEpochs[victim] < span) {
+            evictions.increment();
+        }
+        keys[victim] = key;
+        headEpochs[victim] = (int) epoch;
+        int from = victim * stride;
+        Arrays.fill(buckets, from, from + stride, 0L);
+        return victim;
+    }
+
+    /** Moves the slot's head to {@code epoch}, zeroing buckets that rotated out of either ring. */
+    private void advance(int slot, long epoch) {
+        int elapsed = (int) epoch - headEpochs[slot];
+        if (elapsed <= 0) {
+            return;
+        }
+        long head = epoch - elapsed;
+        int base = slot * stride;
+        for (long e = Math.max(head + 1, epoch - bucketCount + 1); e <= epoch; e++) {
+            buckets[base + (int) Math.floorMod(e, (long) bucketCount)] = 0L;
+        }
+        long coarseEpoch = epoch / coarseRatio;
+        for (long e = Math.max(head / coarseRatio + 1, coarseEpoch - coarseCount + 1); e <= coarseEpoch; e++) {
+            buckets[base + bucketCount + (int) Math.floorMod(e, (long) coarseCount)] = 0L;
+        }
+        headEpochs[slot] = (int) epoch;
+    }
+
+    private long epoch(long nowMillis) {
+        return nowMillis / 1000L / bucketSeconds;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("creditcard.fraud.velocity.evictions", evictions, LongAdder::sum)
+            .description("Members evicted while their velocity windows still held activity")
+            .register(registry);
+    }
+
+    /** Linear-counting estimate of distinct merchants from the bucket sketch. */
+    private static long distinct(long sketch) {
+        int ones = Long.bitCount(sketch);
+        if (ones >= SKETCH_BITS) {
+            return SKETCH_BITS * 4L;
+        }
+        return Math.round(-SKETCH_BITS * Math.log(1.0 - (double) ones / SKETCH_BITS));
+    }
+
+    private static long merchantBit(String merchant) {
+        if (merchant == null) {
+            return 0L;
+        }
+        return 1L << ((mix(merchant.hashCode()) >>> 1) % SKETCH_BITS);
+    }
+
+    /** The slot key: the low half of the hash, never 0, which marks an empty slot. */
+    private static int key(long hash) {
+        int key = (int) hash;
+        return key == 0 ? 1 : key;
+    }
+
+    /** The group comes from the high half, so members sharing a group still differ in all 32 key bits. */
+    private int group(long hash) {
+        return (int) (hash >>> 32) & groupMask;
+    }
+
+    /** 64-bit FNV-1a over the member number, finalized so both halves are well mixed. */
+    private static long hash(String memberNumber) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < memberNumber.length(); i++) {
+            h ^= memberNumber.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
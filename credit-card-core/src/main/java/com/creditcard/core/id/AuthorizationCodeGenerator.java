@@ -0,0 +1,9 @@
+package com.creditcard.core.id;
+
+/**
+ * Issues the 6-digit authorization code of AUTH_RESPONSE.
+ */
+public interface AuthorizationCodeGenerator {
+
+    String nextAuthorizationCode();
+}
@@ -0,0 +1,16 @@
+package com.creditcard.core.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws codes from the calling thread's {@link ThreadLocalRandom}, so there is
+ * no shared seed to contend on. Codes are not unique: the transaction id is
+ * the unique key, and the 6-digit space could not be at auth volumes anyway.
+ */
+public class RandomAuthorizationCodeGenerator implements AuthorizationCodeGenerator {
+
+    @Override
+    public String nextAuthorizationCode() {
+        return Integer.toString(ThreadLocalRandom.current().nextInt(100_000, 1_000_000));
+    }
+}
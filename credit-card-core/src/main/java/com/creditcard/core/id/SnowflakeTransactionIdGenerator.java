@@ -0,0 +1,85 @@
+package com.creditcard.core.id;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Snowflake-style transaction ids packed into 56 bits so they render as 17
+ * decimal digits:
+ *
+ * <pre>
+ *  41 bits  milliseconds since 2026-01-01T00:00Z (~69 years)
+ *   5 bits  node id
+ *   4 bits  lane, picked by the calling thread
+ *   6 bits  sequence within the lane and millisecond
+ * </pre>
+ *
+ * Each lane is an independent, cache-line padded counter advanced with a single
+ * CAS, so threads on different lanes never contend. When a lane exhausts its
+ * 64 ids in a millisecond it borrows the next millisecond rather than waiting,
+ * which keeps ids unique and monotonic per lane.
+ */
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int SEQUENCE_BITS = 6;
+    private static final int LANE_BITS = 4;
+    private static final int NODE_BITS = 5;
+    private static final int TIMESTAMP_BITS = 41;
+    private static final int LANES = 1 << LANE_BITS;
+    private static final int PADDING = 8;
+    private static final int DIGITS = 17;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final AtomicLongArray lanes = new AtomicLongArray(LANES * PADDING);
+
+    public SnowflakeTransactionIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << (LANE_BITS + SEQUENCE_BITS);
+    }
+
+    @Override
+    public String nextTransactionId() {
+        return render(nextId());
+    }
+
+    long nextId() {
+        @SuppressWarnings("deprecation")
+        int lane = (int) Thread.currentThread().getId() & (LANES - 1);
+        int index = lane * PADDING;
+        long floor = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long next;
+        for (;;) {
+            long last = lanes.get(index);
+            next = Math.max(last + 1, floor);
+            if (lanes.compareAndSet(index, last, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp >>> TIMESTAMP_BITS != 0) {
+            throw new IllegalStateException("Transaction id timestamp space exhausted");
+        }
+        return (timestamp << (NODE_BITS + LANE_BITS + SEQUENCE_BITS))
+            | nodeBits
+            | ((long) lane << SEQUENCE_BITS)
+            | (next & ((1L << SEQUENCE_BITS) - 1));
+    }
+
+    static String render(long id) {
+        byte[] chars = new byte[2 + DIGITS];
+        chars[0] = 'T';
+        chars[1] = 'X';
+        for (int i = chars.length - 1; i >= 2; i--) {
+            chars[i] = (byte) ('0' + id % 10);
+            id /= 10;
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,9 @@
+package com.creditcard.core.id;
+
+/**
+ * Issues transaction ids in the {@code ^TX[0-9]{17}$} format of AUTH_REQUEST.
+ */
+public interface TransactionIdGenerator {
+
+    String nextTransactionId();
+}
@@ -0,0 +1,143 @@
+package com.creditcard.core.idempotency;
+
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 冪等キャッシュ / Bounded in-memory dedupe of authorizations by idempotency key.
+ *
+ * The first request for a key installs a pending result; concurrent and later
+ * retries wait on it and get the same outcome instead of authorizing again.
+ * Entries live for a fixed TTL, so insertion order is also expiry order and
+ * the oldest entry is the one evicted once the cache is over capacity. A key
+ * whose authorization threw is forgotten so the client can retry it.
+ *
+ * Inside a transaction the outcome is published only once it commits: a
+ * retry waits until then, and if the transaction rolls back the key is
+ * forgotten, so an approval whose row was never written is not replayed.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final String KEY_REUSED = "Idempotency key reused with a different request";
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public IdempotencyCache(@Value("${creditcard.idempotency.capacity:100000}") int capacity,
+                            @Value("${creditcard.idempotency.ttl-seconds:600}") long ttlSeconds) {
+        this(capacity, ttlSeconds, System::nanoTime);
+    }
+
+    IdempotencyCache(int capacity, long ttlSeconds, LongSupplier clock) {
+        this.capacity = capacity;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code authorization} once per live key; a replay of the same
+     * command gets the first outcome, a different command under the same key
+     * is declined.
+     */
+    public AuthorizationResult execute(String key, AuthorizationCommand command,
+                                       Supplier<AuthorizationResult> authorization) {
+        long now = clock.getAsLong();
+        Entry created = new Entry(key, command, now + ttlNanos);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, created)) != null) {
+            if (existing.expiresAt - now > 0) {
+                return replay(existing, command);
+            }
+            entries.remove(key, existing);
+        }
+        insertionOrder.add(created);
+        evict(now);
+
+        AuthorizationResult result;
+        try {
+            result = authorization.get();
+        } catch (RuntimeException e) {
+            forget(created, e);
+            throw e;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            created.result.complete(result);
+            return result;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    created.result.complete(result);
+                } else {
+                    forget(created, new IllegalStateException(
+                        "Authorization for idempotency key " + key + " did not commit; retry"));
+                }
+            }
+        });
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static AuthorizationResult replay(Entry entry, AuthorizationCommand command) {
+        if (!entry.command.isSameRequest(command)) {
+            return AuthorizationResult.KEY_REUSED;
+        }
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /** Drops the key so the client can retry it; requests already waiting on it fail with {@code cause}. */
+    private void forget(Entry entry, RuntimeException cause) {
+        entries.remove(entry.key, entry);
+        entry.result.completeExceptionally(cause);
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null
+               && (entries.size() > capacity || oldest.expiresAt - now <= 0)) {
+            oldest = insertionOrder.poll();
+            if (oldest != null) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final AuthorizationCommand command;
+        final long expiresAt;
+        final CompletableFuture<AuthorizationResult> result = new CompletableFuture<>();
+
+        Entry(String key, AuthorizationCommand command, long expiresAt) {
+            this.key = key;
+            this.command = command;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.creditcard.core.journal;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary form of a {@link Transaction} in the journal. Strings are a signed
+ * short length (-1 for null) plus UTF-8 bytes; the amount is in minor units
+ * and the timestamp is UTC epoch seconds plus nanos.
+ */
+final class JournalCodec {
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(Transaction tx) {
+        byte[][] strings = {
+            utf8(tx.getTransactionId()), utf8(tx.getMemberNumber()), utf8(tx.getType().name()),
+            utf8(tx.getStatus().name()), utf8(tx.getAuthorizationCode()), utf8(tx.getMerchantName()),
+            utf8(tx.getMerchantCategory()), utf8(tx.getIdempotencyKey()), utf8(tx.getOriginalTransactionId())
+        };
+        int size = Long.BYTES * 2 + Integer.BYTES;
+        for (byte[] s : strings) {
+            size += Short.BYTES + (s == null ? 0 : s.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] s : strings) {
+            if (s == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) s.length).put(s);
+            }
+        }
+        buffer.putLong(tx.getAmount().getMinorUnits());
+        LocalDateTime datetime = tx.getTransactionDatetime();
+        buffer.putLong(datetime == null ? NO_TIMESTAMP : datetime.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(datetime == null ? 0 : datetime.getNano());
+        return buffer.array();
+    }
+
+    static Transaction decode(ByteBuffer buffer) {
+        Transaction tx = new Transaction();
+        tx.setTransactionId(string(buffer));
+        tx.setMemberNumber(string(buffer));
+        tx.setType(Transaction.TransactionType.valueOf(string(buffer)));
+        tx.setStatus(Transaction.TransactionStatus.valueOf(string(buffer)));
+        tx.setAuthorizationCode(string(buffer));
+        tx.setMerchantName(string(buffer));
+        tx.setMerchantCategory(string(buffer));
+        tx.setIdempotencyKey(string(buffer));
+        tx.setOriginalTransactionId(string(buffer));
+        tx.setAmount(Money.yen(buffer.getLong()));
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        tx.setTransactionDatetime(seconds == NO_TIMESTAMP ? null
+            : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        return tx;
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Field too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,138 @@
+package com.creditcard.core.journal;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import com.creditcard.core.transaction.TransactionWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Write-behind {@link TransactionWriter}. Authorizations return once their rows
+ * are group-committed to the local {@link TransactionJournal}; a background
+ * drainer bulk-loads the journal into {@code transactions}. Any tail left by a
+ * crash or shutdown is replayed at startup before traffic is taken.
+ *
+ * A replay may repeat rows the database already committed, so a conflicting
+ * batch is retried row by row and rows that already exist are skipped. Each
+ * load is one database transaction, so rows and their outbox events land
+ * together.
+ *
+ * Only unkeyed rows are journaled: the store writes rows with an idempotency
+ * key straight to the table, so their unique index is checked before the
+ * client is answered rather than here. A row that still conflicts with a
+ * different existing row (a transaction id reused by a misconfigured node) is
+ * never dropped: the drain stops in front of it and keeps it in the journal,
+ * failing every retry loudly until the conflict is resolved.
+ */
+public class JournalTransactionWriter implements TransactionWriter, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalTransactionWriter.class);
+
+    private final TransactionJournal journal;
+    private final TransactionBatchRepository repository;
+    private final TransactionOperations transactionOperations;
+    private final int drainBatchSize;
+    private final Object drainLock = new Object();
+
+    public JournalTransactionWriter(TransactionJournal journal, TransactionBatchRepository repository,
+                                    TransactionOperations transactionOperations, int drainBatchSize) {
+        this.journal = journal;
+        this.repository = repository;
+        this.transactionOperations = transactionOperations;
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        journal.append(transactions);
+    }
+
+    @Override
+    public void awaitQueryable() {
+        long target = journal.durablePosition();
+        synchronized (drainLock) {
+            while (journal.drainedPosition() < target && journal.drain(drainBatchSize, this::load) > 0) {
+                // keep draining up to what was durable on entry
+            }
+        }
+    }
+
+    @Override
+    public boolean hasPending() {
+        return journal.hasUndrained();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (journal.hasUndrained()) {
+            long replayed = drainAll();
+            log.info("Replayed {} journaled transactions into the transactions table", replayed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${creditcard.transactions.journal.drain-interval-ms:20}")
+    public void drain() {
+        try {
+            drainAll();
+        } catch (RuntimeException e) {
+            log.warn("Journal drain failed, will retry", e);
+        }
+    }
+
+    public void close() throws IOException {
+        try {
+            drainAll();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private long drainAll() {
+        long total = 0;
+        synchronized (drainLock) {
+            int drained;
+            while ((drained = journal.drain(drainBatchSize, this::load)) > 0) {
+                total += drained;
+            }
+        }
+        return total;
+    }
+
+    private void load(List<Transaction> batch) {
+        try {
+            insert(batch);
+        } catch (DuplicateKeyException e) {
+            for (Transaction tx : batch) {
+                try {
+                    insert(List.of(tx));
+                } catch (DuplicateKeyException duplicate) {
+                    Transaction existing = repository.findByTransactionId(tx.getTransactionId()).orElse(null);
+                    if (existing == null || !isSameRow(existing, tx)) {
+                        throw new IllegalStateException("Journaled transaction " + tx.getTransactionId()
+                            + " conflicts with a different row; draining stops here until it is resolved", duplicate);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Whether {@code existing} is {@code journaled} loaded by an earlier drain rather than another row. */
+    private static boolean isSameRow(Transaction existing, Transaction journaled) {
+        return existing.getType() == journaled.getType()
+            && Objects.equals(existing.getMemberNumber(), journaled.getMemberNumber())
+            && Objects.equals(existing.getAmount(), journaled.getAmount())
+            && Objects.equals(existing.getAuthorizationCode(), journaled.getAuthorizationCode());
+    }
+
+    private void insert(List<Transaction> rows) {
+        transactionOperations.executeWithoutResult(status -> repository.insertAll(rows));
+    }
+}
@@ -0,0 +1,304 @@
+package com.creditcard.core.journal;
+
+import com.creditcard.core.domain.Transaction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 取引ジャーナル / Append-only, memory-mapped log of new transaction rows.
+ *
+ * Records are {@code [length][crc32][payload]} in fixed-size mapped segment
+ * files named by their starting position in one continuous logical log.
+ * An appender that finds a force already running waits for the next one, so a
+ * single fsync makes a whole group of appends durable (leader/follower group
+ * commit). {@link #drain} hands durable records to a sink in order, then
+ * records how far it got in a checkpoint file and deletes segments behind it.
+ * On open, anything after the last intact record of the newest segment is
+ * zeroed, so a torn write is never replayed.
+ */
+public class TransactionJournal implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "drained.checkpoint";
+    private static final int RECORD_HEADER = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FileChannel checkpointChannel;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition forced = lock.newCondition();
+
+    private volatile Segment active;
+    private long written;
+    private boolean forcing;
+    private volatile long durable;
+    private volatile long drained;
+
+    private TransactionJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer checkpoint = ByteBuffer.allocate(Long.BYTES);
+        long drainedTo = checkpointChannel.read(checkpoint, 0) == Long.BYTES ? checkpoint.flip().getLong() : 0L;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, Segment.map(file, base, (int) Math.max(segmentSize, Files.size(file))));
+            }
+        }
+        if (segments.isEmpty()) {
+            active = createSegment(drainedTo);
+        } else {
+            active = segments.lastEntry().getValue();
+            active.position = active.recover();
+        }
+        written = active.base + active.position;
+        durable = written;
+        drained = Math.min(written, Math.max(drainedTo, segments.firstKey()));
+        deleteDrainedSegments();
+    }
+
+    public static TransactionJournal open(Path directory, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        return new TransactionJournal(directory, segmentSize);
+    }
+
+    /** Appends {@code transactions} and returns once they are on disk. */
+    public void append(List<Transaction> transactions) {
+        byte[][] payloads = new byte[transactions.size()][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = JournalCodec.encode(transactions.get(i));
+        }
+        lock.lock();
+        try {
+            for (byte[] payload : payloads) {
+                write(payload);
+            }
+            awaitDurable(written);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Passes up to {@code maxRecords} durable, undrained records to
+     * {@code sink} and advances the checkpoint once it returns. If the sink
+     * throws, nothing is marked drained. Call from one thread at a time.
+     *
+     * @return number of records drained
+     */
+    public int drain(int maxRecords, Consumer<List<Transaction>> sink) {
+        long cursor = drained;
+        long limit = durable;
+        List<Transaction> batch = new ArrayList<>();
+        while (cursor < limit && batch.size() < maxRecords) {
+            Segment segment = segments.floorEntry(cursor).getValue();
+            int offset = (int) (cursor - segment.base);
+            int length = segment.buffer.getInt(offset);
+            batch.add(JournalCodec.decode(segment.buffer.slice(offset + RECORD_HEADER, length)));
+            cursor += RECORD_HEADER + length;
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        sink.accept(batch);
+        commitDrained(cursor);
+        return batch.size();
+    }
+
+    /** Whether acknowledged records are still waiting to be drained. */
+    public boolean hasUndrained() {
+        return drained < durable;
+    }
+
+    public long durablePosition() {
+        return durable;
+    }
+
+    public long drainedPosition() {
+        return drained;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            active.force(0, active.position);
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+            checkpointChannel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(byte[] payload) {
+        int size = RECORD_HEADER + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + size + " bytes exceeds the segment size");
+        }
+        if (active.position + size > active.capacity) {
+            roll();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.position;
+        buffer.put(position + RECORD_HEADER, payload);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        active.position += size;
+        written = active.base + active.position;
+    }
+
+    /** Group commit: the first waiter forces everything written so far, the rest wait for it. */
+    private void awaitDurable(long end) {
+        while (durable < end) {
+            if (forcing) {
+                forced.awaitUninterruptibly();
+                continue;
+            }
+            forcing = true;
+            long target = written;
+            Segment segment = active;
+            int from = (int) Math.max(0L, durable - segment.base);
+            int to = (int) (target - segment.base);
+            boolean done = false;
+            lock.unlock();
+            try {
+                segment.force(from, to - from);
+                done = true;
+            } finally {
+                lock.lock();
+                forcing = false;
+                if (done && target > durable) {
+                    durable = target;
+                }
+                forced.signalAll();
+            }
+        }
+    }
+
+    /** Seals the full segment (forcing it first) and continues in a new one at the same logical position. */
+    private void roll() {
+        Segment sealed = active;
+        int from = (int) Math.max(0L, durable - sealed.base);
+        sealed.force(from, sealed.position - from);
+        try {
+            active = createSegment(written);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment", e);
+        }
+    }
+
+    private Segment createSegment(long base) throws IOException {
+        Segment segment = Segment.map(directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX)),
+            base, segmentSize);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    private void commitDrained(long position) {
+        try {
+            checkpointChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, position), 0);
+            checkpointChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write journal checkpoint", e);
+        }
+        drained = position;
+        deleteDrainedSegments();
+    }
+
+    private void deleteDrainedSegments() {
+        Map.Entry<Long, Segment> first;
+        Map.Entry<Long, Segment> next;
+        while ((first = segments.firstEntry()) != null && first.getValue() != active
+               && (next = segments.higherEntry(first.getKey())) != null && next.getKey() <= drained) {
+            segments.remove(first.getKey());
+            try {
+                first.getValue().channel.close();
+                Files.deleteIfExists(first.getValue().path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete drained journal segment " + first.getValue().path, e);
+            }
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long base;
+        final int capacity;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int position;
+
+        private Segment(Path path, long base, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.capacity = buffer.capacity();
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path path, long base, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, base, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        /** @return end of the last intact record; everything after it is zeroed */
+        int recover() {
+            int end = 0;
+            CRC32 crc = new CRC32();
+            while (end + RECORD_HEADER <= capacity) {
+                int length = buffer.getInt(end);
+                if (length <= 0 || end + RECORD_HEADER + length > capacity) {
+                    break;
+                }
+                crc.reset();
+                crc.update(buffer.slice(end + RECORD_HEADER, length));
+                if ((int) crc.getValue() != buffer.getInt(end + Integer.BYTES)) {
+                    break;
+                }
+                end += RECORD_HEADER + length;
+            }
+            int dirty = -1;
+            for (int i = end; i < capacity; i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                    dirty = i;
+                }
+            }
+            force(end, dirty + 1 - end);
+            return end;
+        }
+
+        void force(int from, int length) {
+            if (length > 0) {
+                buffer.force(from, length);
+            }
+        }
+    }
+}
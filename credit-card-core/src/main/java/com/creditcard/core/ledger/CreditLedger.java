@@ -0,0 +1,202 @@
+package com.creditcard.core.ledger;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.member.MemberStatusChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 与信台帳 / In-memory credit ledger keyed by member number.
+ *
+ * Accounts are seeded on first use and are the source of truth afterwards:
+ * from the restored {@link LedgerSnapshot} plus the balance changes made
+ * since it was taken when the member is in it, otherwise from the
+ * {@code members} row. Changed accounts are queued once for the write-behind
+ * flush in {@link LedgerWriteBehind}.
+ */
+@Component
+public class CreditLedger {
+
+    private final ConcurrentHashMap<String, LedgerAccount> accounts = new ConcurrentHashMap<>();
+    private final Queue<LedgerAccount> dirtyAccounts = new ConcurrentLinkedQueue<>();
+    private volatile Seed seed = new Seed(null, Map.of());
+
+    public LedgerAccount account(Member member) {
+        return account(MemberProfile.of(member));
+    }
+
+    public LedgerAccount account(MemberProfile member) {
+        LedgerAccount account = accounts.get(member.getMemberNumber());
+        if (account != null) {
+            return account;
+        }
+        return accounts.computeIfAbsent(member.getMemberNumber(), memberNumber -> {
+            Seed seed = this.seed;
+            int index = seed.snapshot == null ? -1 : seed.snapshot.indexOf(memberNumber);
+            if (index < 0) {
+                return new LedgerAccount(memberNumber, member.getCreditLimit(), member.getCurrentBalance());
+            }
+            LedgerAccount restored = seed.restore(memberNumber, index, member.getCreditLimit());
+            if (restored.getBalance() != member.getCurrentBalance()) {
+                // the row missed the write-behind before the restart
+                markDirty(restored);
+            }
+            return restored;
+        });
+    }
+
+    public LedgerAccount find(String memberNumber) {
+        return accounts.get(memberNumber);
+    }
+
+    public boolean reserve(LedgerAccount account, long amount) {
+        if (!account.reserve(amount)) {
+            return false;
+        }
+        markDirty(account);
+        return true;
+    }
+
+    public void release(LedgerAccount account, long amount) {
+        account.release(amount);
+        markDirty(account);
+    }
+
+    /**
+     * Releases against the account, restoring it from the snapshot first if it
+     * has not been used since. A member in neither is skipped, so callers that
+     * may release after a restart seed the account from its profile first.
+     */
+    public void release(String memberNumber, long amount) {
+        LedgerAccount account = accounts.get(memberNumber);
+        if (account == null) {
+            Seed seed = this.seed;
+            int index = seed.snapshot == null ? -1 : seed.snapshot.indexOf(memberNumber);
+            if (index >= 0) {
+                account = accounts.computeIfAbsent(memberNumber,
+                    key -> seed.restore(key, index, seed.snapshot.creditLimit(index)));
+            }
+        }
+        if (account != null) {
+            release(account, amount);
+        }
+    }
+
+    /**
+     * Applies a limit changed in the {@code members} table. Members not in
+     * memory need nothing unless the snapshot holds them, since its limit
+     * would otherwise win when a release restores them before an auth.
+     */
+    public void updateCreditLimit(String memberNumber, long creditLimit) {
+        LedgerAccount account = accounts.get(memberNumber);
+        if (account == null) {
+            Seed seed = this.seed;
+            int index = seed.snapshot == null ? -1 : seed.snapshot.indexOf(memberNumber);
+            if (index < 0) {
+                return;
+            }
+            account = accounts.computeIfAbsent(memberNumber, key -> seed.restore(key, index, creditLimit));
+            // the row may have missed the write-behind before the restart
+            markDirty(account);
+        }
+        account.updateCreditLimit(creditLimit);
+    }
+
+    /**
+     * Holds the member's further auths for fraud review. The flag lives only in
+     * memory; the alert that raised it is the durable record.
+     *
+     * @return {@code false} if the member has no account on this node
+     */
+    public boolean flag(String memberNumber) {
+        LedgerAccount account = accounts.get(memberNumber);
+        if (account == null) {
+            return false;
+        }
+        account.setFlagged(true);
+        return true;
+    }
+
+    /** Reactivating a member is the review outcome that clears a fraud flag. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(MemberStatusChangedEvent event) {
+        if (event.getStatus() == Member.MemberStatus.ACTIVE) {
+            LedgerAccount account = accounts.get(event.getMemberNumber());
+            if (account != null) {
+                account.setFlagged(false);
+            }
+        }
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    /**
+     * Seeds accounts not yet in memory from {@code snapshot}, adding each
+     * member's net balance change since it was taken from {@code tail}.
+     */
+    void restore(LedgerSnapshot snapshot, Map<String, Long> tail) {
+        seed = new Seed(snapshot, tail);
+    }
+
+    /**
+     * Writes every account to {@code file}, carrying over restored members not
+     * used since, and seeds from the new snapshot from then on.
+     */
+    LedgerSnapshot writeSnapshot(Path file, long startedAt, long transactionWatermark) throws IOException {
+        Seed current = seed;
+        LedgerSnapshot written = LedgerSnapshot.write(file, new ArrayList<>(accounts.values()),
+            current.snapshot, current.tail, startedAt, transactionWatermark);
+        seed = new Seed(written, Map.of());
+        return written;
+    }
+
+    /**
+     * Removes up to {@code max} dirty accounts from the flush queue, clearing
+     * their dirty flag so any change made during the flush queues them again.
+     */
+    List<LedgerAccount> drainDirty(int max) {
+        List<LedgerAccount> drained = new ArrayList<>(Math.min(max, 1024));
+        LedgerAccount account;
+        while (drained.size() < max && (account = dirtyAccounts.poll()) != null) {
+            account.clearDirty();
+            drained.add(account);
+        }
+        return drained;
+    }
+
+    void markDirty(LedgerAccount account) {
+        if (account.markDirty()) {
+            dirtyAccounts.offer(account);
+        }
+    }
+
+    /** The snapshot and tail swap together, so a seed never pairs one with the other's successor. */
+    private static final class Seed {
+        final LedgerSnapshot snapshot;
+        final Map<String, Long> tail;
+
+        Seed(LedgerSnapshot snapshot, Map<String, Long> tail) {
+            this.snapshot = snapshot;
+            this.tail = tail;
+        }
+
+        LedgerAccount restore(String memberNumber, int index, long creditLimit) {
+            LedgerAccount account = new LedgerAccount(memberNumber, creditLimit,
+                snapshot.balance(index) + tail.getOrDefault(memberNumber, 0L));
+            account.setFlagged(snapshot.flagged(index));
+            return account;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.creditcard.core.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 与信台帳スナップショット / Compact binary image of the credit ledger, read
+ * in place through a memory map.
+ *
+ * A header ({@code [magic][version][count][unused][started-at][completed-at]
+ * [transaction watermark]}, times in epoch nanos) is followed by fixed-width
+ * records sorted by member number: the number as zero-padded UTF-8, a flags
+ * byte, then the credit limit and balance in minor units. Opening maps the
+ * file and reads only the header; {@link #indexOf} binary-searches the mapped
+ * bytes, so a record is paged in when its member is first asked for. A new
+ * snapshot is written to a temporary file, forced and renamed over the old
+ * one, so the file on disk is always whole.
+ */
+public final class LedgerSnapshot {
+
+    static final int KEY_BYTES = 24;
+
+    private static final int MAGIC = 0x43434c53; // "CCLS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int FLAGS_OFFSET = KEY_BYTES;
+    private static final int LIMIT_OFFSET = KEY_BYTES + 8;
+    private static final int BALANCE_OFFSET = KEY_BYTES + 16;
+    private static final int RECORD_BYTES = KEY_BYTES + 24;
+    private static final byte FLAGGED = 1;
+    private static final byte[] PADDING = new byte[7];
+    private static final Comparator<byte[]> KEY_ORDER = Arrays::compareUnsigned;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final long startedAt;
+    private final long completedAt;
+    private final long transactionWatermark;
+
+    private LedgerSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.startedAt = buffer.getLong(16);
+        this.completedAt = buffer.getLong(24);
+        this.transactionWatermark = buffer.getLong(32);
+    }
+
+    /**
+     * @return the snapshot at {@code file}, or null if there is none
+     * @throws IOException if the file is not a whole snapshot of this version
+     */
+    public static LedgerSnapshot open(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Ledger snapshot " + file + " is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || size != HEADER_BYTES + (long) buffer.getInt(8) * RECORD_BYTES) {
+                throw new IOException("Ledger snapshot " + file + " is not a version " + VERSION + " snapshot");
+            }
+            return new LedgerSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Writes a snapshot of {@code live} to {@code file}. Members of
+     * {@code previous} that have no live account yet are carried over with
+     * their {@code previousTail} change applied, so accounts not touched since
+     * the last restore are not lost. Members whose number does not fit a record
+     * are left out and seed from their row as they would without a snapshot.
+     *
+     * @param startedAt epoch nanos taken before any balance was read
+     * @param transactionWatermark highest transaction id committed before {@code startedAt}
+     * @return the snapshot just written, mapped
+     */
+    public static LedgerSnapshot write(Path file, List<LedgerAccount> live, LedgerSnapshot previous,
+                                       Map<String, Long> previousTail, long startedAt,
+                                       long transactionWatermark) throws IOException {
+        List<Row> rows = new ArrayList<>(live.size());
+        for (LedgerAccount account : live) {
+            byte[] key = key(account.getMemberNumber());
+            if (key != null) {
+                // read once, so the record is one consistent view of the account
+                rows.add(new Row(key, account.isFlagged(), account.getCreditLimit(), account.getBalance()));
+            }
+        }
+        long completedAt = now();
+        rows.sort((a, b) -> KEY_ORDER.compare(a.key, b.key));
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer out = ByteBuffer.allocateDirect(RECORD_BYTES * 8192);
+            out.position(HEADER_BYTES);
+            int next = 0;
+            int old = 0;
+            int oldCount = previous == null ? 0 : previous.count;
+            byte[] oldKey = new byte[KEY_BYTES];
+            while (next < rows.size() || old < oldCount) {
+                if (old < oldCount) {
+                    previous.key(old, oldKey);
+                }
+                int order = next == rows.size() ? -1 : old == oldCount ? 1 : KEY_ORDER.compare(oldKey, rows.get(next).key);
+                if (order < 0) {
+                    long tail = previousTail.getOrDefault(memberNumber(oldKey), 0L);
+                    put(out, oldKey, previous.flagged(old), previous.creditLimit(old), previous.balance(old) + tail);
+                    old++;
+                } else {
+                    Row row = rows.get(next++);
+                    put(out, row.key, row.flagged, row.creditLimit, row.balance);
+                    if (order == 0) {
+                        old++;
+                    }
+                }
+                count++;
+                if (out.remaining() < RECORD_BYTES) {
+                    drain(channel, out);
+                }
+            }
+            drain(channel, out);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0)
+                .putLong(startedAt).putLong(completedAt)
+                .putLong(transactionWatermark).putLong(0L)
+                .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    /** @return the record index of {@code memberNumber}, or -1 if it is not in the snapshot */
+    public int indexOf(String memberNumber) {
+        byte[] key = key(memberNumber);
+        if (key == null) {
+            return -1;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = compareKey(mid, key);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public long creditLimit(int index) {
+        return buffer.getLong(offset(index) + LIMIT_OFFSET);
+    }
+
+    public long balance(int index) {
+        return buffer.getLong(offset(index) + BALANCE_OFFSET);
+    }
+
+    public boolean flagged(int index) {
+        return buffer.get(offset(index) + FLAGS_OFFSET) == FLAGGED;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Epoch nanos before the first balance was read; changes after it may be missing. */
+    public long startedAt() {
+        return startedAt;
+    }
+
+    /** Epoch nanos after the last balance was read; changes after it are missing. */
+    public long completedAt() {
+        return completedAt;
+    }
+
+    /** Highest transaction id committed before {@link #startedAt}. */
+    public long transactionWatermark() {
+        return transactionWatermark;
+    }
+
+    /** The current time in epoch nanos, the unit of the snapshot's timestamps. */
+    static long now() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    private static int offset(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    private int compareKey(int index, byte[] key) {
+        int base = offset(index);
+        for (int i = 0; i < KEY_BYTES; i++) {
+            int order = Integer.compare(buffer.get(base + i) & 0xff, key[i] & 0xff);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return 0;
+    }
+
+    private void key(int index, byte[] into) {
+        buffer.get(offset(index), into);
+    }
+
+    private static byte[] key(String memberNumber) {
+        byte[] bytes = memberNumber.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > KEY_BYTES ? null : Arrays.copyOf(bytes, KEY_BYTES);
+    }
+
+    private static String memberNumber(byte[] key) {
+        int length = 0;
+        while (length < KEY_BYTES && key[length] != 0) {
+            length++;
+        }
+        return new String(key, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void put(ByteBuffer out, byte[] key, boolean flagged, long creditLimit, long balance) {
+        out.put(key).put(flagged ? FLAGGED : 0).put(PADDING).putLong(creditLimit).putLong(balance);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static final class Row {
+        final byte[] key;
+        final boolean flagged;
+        final long creditLimit;
+        final long balance;
+
+        Row(byte[] key, boolean flagged, long creditLimit, long balance) {
+            this.key = key;
+            this.flagged = flagged;
+            this.creditLimit = creditLimit;
+            this.balance = balance;
+        }
+    }
+}
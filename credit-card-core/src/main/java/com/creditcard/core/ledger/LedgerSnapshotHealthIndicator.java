@@ -0,0 +1,43 @@
+package com.creditcard.core.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Readiness of the ledger ({@code ledgerSnapshot} in the readiness group):
+ * out of service until the boot-time restore has finished, then down whenever
+ * the newest snapshot is older than {@code max-age-seconds}, because a node
+ * that restarted from it would replay a long tail before it could authorize.
+ */
+@Component
+public class LedgerSnapshotHealthIndicator implements HealthIndicator {
+
+    private final LedgerSnapshotter snapshotter;
+    private final Duration maxAge;
+
+    public LedgerSnapshotHealthIndicator(LedgerSnapshotter snapshotter,
+                                         @Value("${creditcard.ledger.snapshot.max-age-seconds:600}") long maxAgeSeconds) {
+        this.snapshotter = snapshotter;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    @Override
+    public Health health() {
+        if (!snapshotter.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        if (!snapshotter.isRestored()) {
+            return Health.outOfService().withDetail("restoring", true).build();
+        }
+        Duration age = snapshotter.snapshotAge();
+        Health.Builder health = age.compareTo(maxAge) > 0 ? Health.down() : Health.up();
+        return health
+            .withDetail("ageSeconds", age.toSeconds())
+            .withDetail("maxAgeSeconds", maxAge.toSeconds())
+            .build();
+    }
+}
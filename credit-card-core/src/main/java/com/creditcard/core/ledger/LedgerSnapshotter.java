@@ -0,0 +1,143 @@
+package com.creditcard.core.ledger;
+
+import com.creditcard.core.repository.LedgerReplayRepository;
+import com.creditcard.core.transaction.TransactionWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * 台帳スナップショット / Periodic ledger snapshots and the warm start from them.
+ *
+ * The ledger is written to a {@link LedgerSnapshot} on an interval and once
+ * more on shutdown. On boot, before traffic, the newest snapshot is mapped
+ * and the transactions written after it are summed per member; accounts then
+ * seed lazily from the two, so a restart costs one query over the tail
+ * instead of a rebuild from the tables.
+ *
+ * A snapshot is fuzzy, read account by account while auths continue. Auths
+ * are replayed from its start and releases only from its end, so one racing
+ * the copy can leave a member with a little extra credit reserved but never
+ * with credit that was already spent.
+ */
+@Component
+public class LedgerSnapshotter implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerSnapshotter.class);
+
+    private final CreditLedger ledger;
+    private final LedgerReplayRepository replayRepository;
+    private final TransactionWriter transactionWriter;
+    private final Path file;
+    private final boolean enabled;
+
+    private volatile boolean restored;
+    private volatile long snapshotAt;
+
+    public LedgerSnapshotter(CreditLedger ledger, LedgerReplayRepository replayRepository,
+                             TransactionWriter transactionWriter,
+                             @Value("${creditcard.ledger.snapshot.file:./data/ledger.snapshot}") String file,
+                             @Value("${creditcard.ledger.snapshot.enabled:true}") boolean enabled) {
+        this.ledger = ledger;
+        this.replayRepository = replayRepository;
+        this.transactionWriter = transactionWriter;
+        this.file = Path.of(file);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            restore();
+        }
+        restored = true;
+    }
+
+    private void restore() {
+        long bootedAt = LedgerSnapshot.now();
+        snapshotAt = bootedAt;
+        try {
+            LedgerSnapshot snapshot = LedgerSnapshot.open(file);
+            if (snapshot == null) {
+                log.info("No ledger snapshot at {}, accounts seed from the members table", file);
+                return;
+            }
+            // a write-behind transaction writer must have loaded the tail before it is read
+            transactionWriter.awaitQueryable();
+            if (replayRepository.maxTransactionId() < snapshot.transactionWatermark()) {
+                log.warn("Ignoring ledger snapshot {}: it is ahead of the transactions table", file);
+                return;
+            }
+            long start = System.nanoTime();
+            Map<String, Long> tail = replayRepository.balanceChangesSince(snapshot.transactionWatermark(),
+                localDateTime(snapshot.startedAt()), localDateTime(snapshot.completedAt()));
+            ledger.restore(snapshot, tail);
+            snapshotAt = snapshot.startedAt();
+            log.info("Restored ledger snapshot of {} accounts taken {} s ago; replayed changes to {} members in {} ms",
+                snapshot.size(), Duration.ofNanos(bootedAt - snapshot.startedAt()).toSeconds(), tail.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot restore ledger snapshot {}, accounts seed from the members table", file, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${creditcard.ledger.snapshot.interval-ms:60000}")
+    public synchronized void snapshot() {
+        if (!enabled || !restored) {
+            return;
+        }
+        try {
+            // start time, then watermark, then balances: every row at or below the
+            // watermark reserved its credit before the first balance is read
+            long startedAt = LedgerSnapshot.now();
+            long watermark = replayRepository.maxTransactionId();
+            long start = System.nanoTime();
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            LedgerSnapshot written = ledger.writeSnapshot(file, startedAt, watermark);
+            snapshotAt = startedAt;
+            log.debug("Wrote ledger snapshot of {} accounts in {} ms", written.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ledger snapshot to {} failed, will retry", file, e);
+        }
+    }
+
+    /** A fresh snapshot on the way down keeps the next start's replay short. */
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Whether the boot-time restore has finished, successfully or not. */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /** Time since the newest snapshot was started, or since boot if there has been none. */
+    public Duration snapshotAge() {
+        return Duration.ofNanos(LedgerSnapshot.now() - snapshotAt);
+    }
+
+    private static LocalDateTime localDateTime(long epochNanos) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(0L, epochNanos), ZoneId.systemDefault());
+    }
+}
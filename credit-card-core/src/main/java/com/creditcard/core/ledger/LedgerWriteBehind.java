@@ -0,0 +1,70 @@
+package com.creditcard.core.ledger;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Write-behind persistence of ledger balances to the {@code members} table.
+ *
+ * Each flush writes only accounts changed since the previous one, as a single
+ * JDBC batch, so authorizations never wait on a member row lock.
+ */
+@Component
+public class LedgerWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerWriteBehind.class);
+
+    private static final String UPDATE_BALANCE_SQL =
+        "UPDATE members SET current_balance = ?, updated_at = ? WHERE member_number = ?";
+
+    private final CreditLedger ledger;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public LedgerWriteBehind(CreditLedger ledger, JdbcTemplate jdbcTemplate,
+                             @Value("${creditcard.ledger.flush-batch-size:1000}") int batchSize) {
+        this.ledger = ledger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${creditcard.ledger.flush-interval-ms:200}")
+    public void flush() {
+        List<LedgerAccount> batch;
+        while (!(batch = ledger.drainDirty(batchSize)).isEmpty()) {
+            if (!write(batch)) {
+                return;
+            }
+        }
+    }
+
+    private boolean write(List<LedgerAccount> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, batch, batch.size(), (ps, account) -> {
+                ps.setBigDecimal(1, MinorUnits.toDecimal(account.getBalance()));
+                ps.setTimestamp(2, now);
+                ps.setString(3, account.getMemberNumber());
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Ledger write-behind failed for {} accounts, will retry", batch.size(), e);
+            batch.forEach(ledger::markDirty);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
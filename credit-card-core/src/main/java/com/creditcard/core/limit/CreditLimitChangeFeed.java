@@ -0,0 +1,91 @@
+package com.creditcard.core.limit;
+
+import com.creditcard.core.domain.CreditLimitChange;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.member.MemberProfileCache;
+import com.creditcard.core.repository.CreditLimitChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 与信枠変更の全ノード反映 / Applies credit limits changed on any node to this
+ * node's member cache and ledger.
+ *
+ * The review writes one {@link CreditLimitChange} row per changed member in
+ * the chunk's own transaction, so a change is published exactly when it
+ * commits. Every node reads the table from its own position in id order and
+ * applies each row as the changing node already did; applying a limit again
+ * changes nothing, so that node seeing its own rows is harmless.
+ *
+ * Ids are assigned at insert, not commit, so a lower id may still be in
+ * flight when a higher one is visible. A row is read only once it is
+ * {@code settle-seconds} old, well past the commit of the chunk that wrote
+ * it. A node starts from the oldest retained row, which also corrects
+ * accounts its ledger snapshot restores with a limit changed while it was
+ * down.
+ */
+@Component
+public class CreditLimitChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditLimitChangeFeed.class);
+
+    private final CreditLimitChangeRepository changeRepository;
+    private final CreditLedger ledger;
+    private final MemberProfileCache memberProfileCache;
+    private final Duration settle;
+    private final Duration retention;
+    private final int batchSize;
+    private long position;
+
+    public CreditLimitChangeFeed(CreditLimitChangeRepository changeRepository, CreditLedger ledger,
+                                 MemberProfileCache memberProfileCache,
+                                 @Value("${creditcard.limit-review.changes.settle-seconds:10}") long settleSeconds,
+                                 @Value("${creditcard.limit-review.changes.retention-hours:24}") long retentionHours,
+                                 @Value("${creditcard.limit-review.changes.batch-size:1000}") int batchSize) {
+        this.changeRepository = changeRepository;
+        this.ledger = ledger;
+        this.memberProfileCache = memberProfileCache;
+        this.settle = Duration.ofSeconds(settleSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${creditcard.limit-review.changes.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            while (pollBatch(now.minus(settle)) == batchSize) {
+                // a full batch means more may be waiting
+            }
+            changeRepository.deleteBefore(now.minus(retention));
+        } catch (RuntimeException e) {
+            log.warn("Credit limit change feed failed, will retry", e);
+        }
+    }
+
+    /** @return number of changes applied */
+    int pollBatch(LocalDateTime settledBy) {
+        List<CreditLimitChange> changes = changeRepository.findAfter(position, settledBy, batchSize);
+        for (CreditLimitChange change : changes) {
+            apply(change.getMemberNumber(), change.getCreditLimit().getMinorUnits());
+            position = change.getId();
+        }
+        return changes.size();
+    }
+
+    /**
+     * Drops the cached profile first, so accounts seeded from now on read the
+     * new limit, then updates the ones already seeded.
+     */
+    public void apply(String memberNumber, long creditLimit) {
+        memberProfileCache.invalidate(memberNumber);
+        ledger.updateCreditLimit(memberNumber, creditLimit);
+    }
+}
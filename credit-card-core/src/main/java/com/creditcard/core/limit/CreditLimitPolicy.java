@@ -0,0 +1,16 @@
+package com.creditcard.core.limit;
+
+/**
+ * 与信枠見直しポリシー / Decides a member's credit limit in a monthly review.
+ *
+ * Called concurrently from every partition of a {@link CreditLimitReviewService}
+ * run, once per member, so implementations must be thread-safe and should not
+ * do I/O. {@link UtilizationCreditLimitPolicy} is used unless
+ * {@code creditcard.limit-review.policy} names another, in which case the
+ * application declares its own bean of this type.
+ */
+public interface CreditLimitPolicy {
+
+    /** @return the new limit in minor units; the current one leaves the member untouched */
+    long review(LimitReviewCandidate member);
+}
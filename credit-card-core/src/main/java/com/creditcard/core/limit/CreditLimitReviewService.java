@@ -0,0 +1,197 @@
+package com.creditcard.core.limit;
+
+import com.creditcard.core.domain.LimitReviewCheckpoint;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.ledger.LedgerAccount;
+import com.creditcard.core.repository.CreditLimitChangeRepository;
+import com.creditcard.core.repository.CreditLimitReviewRepository;
+import com.creditcard.core.repository.LimitReviewCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 与信枠一括見直し / Monthly credit-limit review over every member.
+ *
+ * Runs like the billing run: key-range partitions in parallel on a fork/join
+ * pool, each walking its range by keyset in fixed-size chunks. A chunk reads
+ * the next members with their statement counts, asks the
+ * {@link CreditLimitPolicy} for each limit, and writes the changed ones as one
+ * JDBC batch in the same database transaction that advances the partition's
+ * checkpoint. Row locks are held for one chunk only, and auths never lock
+ * member rows, so the review does not hold up live traffic; a rerun of the
+ * same month resumes where it stopped instead of reviewing anyone twice.
+ *
+ * Every node runs the schedule. As in the billing run, each chunk claims its
+ * partition's checkpoint row with {@code FOR UPDATE SKIP LOCKED} and reads
+ * the cursor from it, so nodes split the partitions and nobody is reviewed
+ * twice; the summary counts this node's chunks only.
+ *
+ * Utilization uses this node's ledger balance where the member has one, as
+ * the table's balance trails it by a write-behind flush. Each chunk also
+ * records its changes in {@code credit_limit_changes} in the same
+ * transaction. Once it commits, this node drops its members' cached profiles
+ * and updates their ledger limits in place; every other node applies the
+ * same rows through its {@link CreditLimitChangeFeed} within seconds, so a
+ * cut, such as one for an overdue statement, stops authorizations against
+ * the old limit cluster-wide.
+ */
+@Service
+public class CreditLimitReviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditLimitReviewService.class);
+
+    private final CreditLimitReviewRepository reviewRepository;
+    private final LimitReviewCheckpointRepository checkpointRepository;
+    private final CreditLimitChangeRepository changeRepository;
+    private final CreditLimitPolicy policy;
+    private final CreditLedger ledger;
+    private final CreditLimitChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int lookbackMonths;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CreditLimitReviewService(CreditLimitReviewRepository reviewRepository,
+                                    LimitReviewCheckpointRepository checkpointRepository,
+                                    CreditLimitChangeRepository changeRepository,
+                                    CreditLimitPolicy policy, CreditLedger ledger,
+                                    CreditLimitChangeFeed changeFeed,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${creditcard.limit-review.parallelism:0}") int parallelism,
+                                    @Value("${creditcard.limit-review.chunk-size:1000}") int chunkSize,
+                                    @Value("${creditcard.limit-review.lookback-months:12}") int lookbackMonths) {
+        this.reviewRepository = reviewRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.changeRepository = changeRepository;
+        this.policy = policy;
+        this.ledger = ledger;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.lookbackMonths = lookbackMonths;
+    }
+
+    @Scheduled(cron = "${creditcard.limit-review.cron:0 0 3 2 * *}")
+    public void runCurrentMonth() {
+        CreditLimitReviewSummary summary = run(YearMonth.now());
+        log.info("Credit limit review {} raised {} and lowered {} of {} members over {} partitions",
+            summary.getReviewMonth(), summary.getLimitsRaised(), summary.getLimitsLowered(),
+            summary.getMembersReviewed(), summary.getPartitions());
+    }
+
+    /**
+     * Reviews every member's limit for {@code month} against the statements
+     * of the {@code lookback-months} before it. Safe to call again after a
+     * failure; finished chunks are not redone.
+     */
+    public CreditLimitReviewSummary run(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A credit limit review is already in progress");
+        }
+        try {
+            String reviewMonth = month.toString();
+            List<LimitReviewCheckpoint> partitions = checkpointRepository.findByReviewMonth(reviewMonth);
+            if (partitions.isEmpty()) {
+                try {
+                    partitions = transactionTemplate.execute(
+                        status -> checkpointRepository.createPartitions(reviewMonth, parallelism * 4));
+                } catch (DuplicateKeyException e) {
+                    // another node split the month first
+                    partitions = checkpointRepository.findByReviewMonth(reviewMonth);
+                }
+            }
+
+            String fromMonth = month.minusMonths(lookbackMonths).toString();
+            LongAdder reviewed = new LongAdder();
+            LongAdder raised = new LongAdder();
+            LongAdder lowered = new LongAdder();
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (LimitReviewCheckpoint partition : partitions) {
+                if (!partition.getCompleted()) {
+                    tasks.add(ForkJoinTask.adapt(
+                        () -> runPartition(reviewMonth, fromMonth, partition, reviewed, raised, lowered)));
+                }
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+            } finally {
+                pool.shutdown();
+            }
+            return new CreditLimitReviewSummary(reviewMonth, partitions.size(), reviewed.sum(),
+                raised.sum(), lowered.sum());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runPartition(String reviewMonth, String fromMonth, LimitReviewCheckpoint partition,
+                              LongAdder reviewed, LongAdder raised, LongAdder lowered) {
+        boolean completed = false;
+        while (!completed) {
+            Chunk chunk = transactionTemplate.execute(status -> {
+                String cursor = checkpointRepository.claim(reviewMonth, partition.getPartitionNo()).orElse(null);
+                if (cursor == null) {
+                    return null;
+                }
+                List<LimitReviewCandidate> members = reviewRepository.candidates(
+                    cursor, partition.getUpperMemberNumber(), fromMonth, chunkSize);
+                Chunk reviewedChunk = new Chunk(members.size());
+                for (LimitReviewCandidate member : members) {
+                    LedgerAccount account = ledger.find(member.getMemberNumber());
+                    LimitReviewCandidate current = account == null ? member : member.withBalance(account.getBalance());
+                    long creditLimit = policy.review(current);
+                    if (creditLimit != current.getCreditLimit()) {
+                        reviewedChunk.changes.put(current.getMemberNumber(), creditLimit);
+                        if (creditLimit > current.getCreditLimit()) {
+                            reviewedChunk.raised++;
+                        }
+                    }
+                }
+                reviewRepository.updateCreditLimits(reviewedChunk.changes);
+                changeRepository.insertAll(reviewedChunk.changes);
+                String last = members.isEmpty() ? cursor : members.get(members.size() - 1).getMemberNumber();
+                checkpointRepository.advance(reviewMonth, partition.getPartitionNo(), last, members.size() < chunkSize);
+                return reviewedChunk;
+            });
+            if (chunk == null) {
+                // completed, or another node holds it
+                return;
+            }
+            // after commit; other nodes apply the same changes from the table
+            chunk.changes.forEach(changeFeed::apply);
+            reviewed.add(chunk.size);
+            raised.add(chunk.raised);
+            lowered.add(chunk.changes.size() - chunk.raised);
+            completed = chunk.size < chunkSize;
+        }
+    }
+
+    private static final class Chunk {
+        final int size;
+        final Map<String, Long> changes = new LinkedHashMap<>();
+        int raised;
+
+        Chunk(int size) {
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.creditcard.core.limit;
+
+/**
+ * Outcome of one {@link CreditLimitReviewService#run} call. Counts cover only
+ * the work done by this call, not chunks finished before a restart.
+ */
+public class CreditLimitReviewSummary {
+
+    private final String reviewMonth;
+    private final int partitions;
+    private final long membersReviewed;
+    private final long limitsRaised;
+    private final long limitsLowered;
+
+    public CreditLimitReviewSummary(String reviewMonth, int partitions, long membersReviewed,
+                                    long limitsRaised, long limitsLowered) {
+        this.reviewMonth = reviewMonth;
+        this.partitions = partitions;
+        this.membersReviewed = membersReviewed;
+        this.limitsRaised = limitsRaised;
+        this.limitsLowered = limitsLowered;
+    }
+
+    public String getReviewMonth() { return reviewMonth; }
+    public int getPartitions() { return partitions; }
+    public long getMembersReviewed() { return membersReviewed; }
+    public long getLimitsRaised() { return limitsRaised; }
+    public long getLimitsLowered() { return limitsLowered; }
+}
@@ -0,0 +1,52 @@
+package com.creditcard.core.limit;
+
+import com.creditcard.core.domain.Member;
+
+/**
+ * One member as a {@link CreditLimitPolicy} sees it: limit and balance in
+ * minor units, and how the member's statements within the review's lookback
+ * were paid.
+ */
+public class LimitReviewCandidate {
+
+    private final String memberNumber;
+    private final Member.MemberStatus status;
+    private final long creditLimit;
+    private final long balance;
+    private final int billings;
+    private final int overdueBillings;
+    private final int partiallyPaidBillings;
+
+    public LimitReviewCandidate(String memberNumber, Member.MemberStatus status, long creditLimit, long balance,
+                                int billings, int overdueBillings, int partiallyPaidBillings) {
+        this.memberNumber = memberNumber;
+        this.status = status;
+        this.creditLimit = creditLimit;
+        this.balance = balance;
+        this.billings = billings;
+        this.overdueBillings = overdueBillings;
+        this.partiallyPaidBillings = partiallyPaidBillings;
+    }
+
+    /** The same member with {@code balance} in place of the one read from the table. */
+    public LimitReviewCandidate withBalance(long balance) {
+        return new LimitReviewCandidate(memberNumber, status, creditLimit, balance,
+            billings, overdueBillings, partiallyPaidBillings);
+    }
+
+    /** Share of the limit in use; 1.0 or more for a member at or over a zero limit with a balance. */
+    public double utilization() {
+        if (creditLimit <= 0) {
+            return balance > 0 ? 1.0 : 0.0;
+        }
+        return (double) balance / creditLimit;
+    }
+
+    public String getMemberNumber() { return memberNumber; }
+    public Member.MemberStatus getStatus() { return status; }
+    public long getCreditLimit() { return creditLimit; }
+    public long getBalance() { return balance; }
+    public int getBillings() { return billings; }
+    public int getOverdueBillings() { return overdueBillings; }
+    public int getPartiallyPaidBillings() { return partiallyPaidBillings; }
+}
@@ -0,0 +1,72 @@
+package com.creditcard.core.limit;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.ledger.MinorUnits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Default limit policy from utilization and payment history.
+ *
+ * Each overdue statement in the lookback cuts the limit by {@code cut-rate}
+ * down to {@code min-limit}. A member with no late or partial payments over
+ * at least {@code min-history} statements who uses {@code raise-utilization}
+ * or more of the limit is raised by {@code raise-rate} up to
+ * {@code max-limit}. Everyone else, and every member who is not active, keeps
+ * the current limit. New limits are rounded down to {@code step}.
+ */
+@Component
+@ConditionalOnProperty(name = "creditcard.limit-review.policy", havingValue = "utilization", matchIfMissing = true)
+public class UtilizationCreditLimitPolicy implements CreditLimitPolicy {
+
+    private final double raiseUtilization;
+    private final double raiseRate;
+    private final double cutRate;
+    private final int minHistory;
+    private final long minLimit;
+    private final long maxLimit;
+    private final long step;
+
+    public UtilizationCreditLimitPolicy(
+            @Value("${creditcard.limit-review.utilization.raise-utilization:0.7}") double raiseUtilization,
+            @Value("${creditcard.limit-review.utilization.raise-rate:0.2}") double raiseRate,
+            @Value("${creditcard.limit-review.utilization.cut-rate:0.25}") double cutRate,
+            @Value("${creditcard.limit-review.utilization.min-history:3}") int minHistory,
+            @Value("${creditcard.limit-review.utilization.min-limit:100000}") BigDecimal minLimit,
+            @Value("${creditcard.limit-review.utilization.max-limit:5000000}") BigDecimal maxLimit,
+            @Value("${creditcard.limit-review.utilization.step:10000}") BigDecimal step) {
+        this.raiseUtilization = raiseUtilization;
+        this.raiseRate = raiseRate;
+        this.cutRate = cutRate;
+        this.minHistory = minHistory;
+        this.minLimit = MinorUnits.of(minLimit);
+        this.maxLimit = MinorUnits.of(maxLimit);
+        this.step = MinorUnits.of(step);
+    }
+
+    @Override
+    public long review(LimitReviewCandidate member) {
+        long limit = member.getCreditLimit();
+        if (member.getStatus() != Member.MemberStatus.ACTIVE) {
+            return limit;
+        }
+        if (member.getOverdueBillings() > 0) {
+            double factor = Math.max(0.0, 1.0 - cutRate * member.getOverdueBillings());
+            long cut = Math.max(minLimit, roundDown((long) (limit * factor)));
+            return Math.min(limit, cut);
+        }
+        if (member.getPartiallyPaidBillings() == 0 && member.getBillings() >= minHistory
+            && member.utilization() >= raiseUtilization) {
+            long raised = Math.min(maxLimit, roundDown((long) (limit * (1.0 + raiseRate))));
+            return Math.max(limit, raised);
+        }
+        return limit;
+    }
+
+    private long roundDown(long minorUnits) {
+        return step <= 0 ? minorUnits : minorUnits - minorUnits % step;
+    }
+}
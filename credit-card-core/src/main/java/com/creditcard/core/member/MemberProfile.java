@@ -0,0 +1,36 @@
+package com.creditcard.core.member;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.money.Money;
+
+/**
+ * The few member fields an authorization needs, in minor units. Loaded by a
+ * projection query so names and contact details never leave the database
+ * on the auth path.
+ */
+public class MemberProfile {
+    
+    private final String memberNumber;
+    private final Member.MemberStatus status;
+    private final long creditLimit;
+    private final long currentBalance;
+    
+    public MemberProfile(String memberNumber, Member.MemberStatus status,
+                         Money creditLimit, Money currentBalance) {
+        this.memberNumber = memberNumber;
+        this.status = status;
+        this.creditLimit = creditLimit == null ? 0L : creditLimit.getMinorUnits();
+        this.currentBalance = currentBalance == null ? 0L : currentBalance.getMinorUnits();
+    }
+    
+    public static MemberProfile of(Member member) {
+        return new MemberProfile(member.getMemberNumber(), member.getStatus(),
+            member.getCreditLimit(), member.getCurrentBalance());
+    }
+    
+    public boolean isActive() { return status == Member.MemberStatus.ACTIVE; }
+    public String getMemberNumber() { return memberNumber; }
+    public Member.MemberStatus getStatus() { return status; }
+    public long getCreditLimit() { return creditLimit; }
+    public long getCurrentBalance() { return currentBalance; }
+}
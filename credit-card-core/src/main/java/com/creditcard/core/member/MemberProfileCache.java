@@ -0,0 +1,61 @@
+package com.creditcard.core.member;
+
+import com.creditcard.core.repository.MemberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * 会員キャッシュ / Read-through cache of {@link MemberProfile}s.
+ *
+ * Bounded by entry count with Caffeine's W-TinyLFU policy, so a burst of
+ * one-off lookups cannot push out the cards that authorize every day. Misses
+ * are loaded once per key (concurrent callers wait for the same load) and
+ * unknown members are not cached. A status change invalidates the entry when
+ * it is written and again after it commits, so a load that raced the update
+ * cannot leave the old status behind; the TTL bounds staleness from changes
+ * made outside this node.
+ */
+@Component
+public class MemberProfileCache implements MeterBinder {
+
+    private final MemberRepository memberRepository;
+    private final Cache<String, MemberProfile> profiles;
+
+    public MemberProfileCache(MemberRepository memberRepository,
+                              @Value("${creditcard.members.cache.max-size:1000000}") long maxSize,
+                              @Value("${creditcard.members.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.memberRepository = memberRepository;
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    /** @return the member's profile, or null if there is no such member */
+    public MemberProfile find(String memberNumber) {
+        return profiles.get(memberNumber, key -> memberRepository.findProfileByMemberNumber(key).orElse(null));
+    }
+
+    public void invalidate(String memberNumber) {
+        profiles.invalidate(memberNumber);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(MemberStatusChangedEvent event) {
+        invalidate(event.getMemberNumber());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profiles, "members");
+    }
+}
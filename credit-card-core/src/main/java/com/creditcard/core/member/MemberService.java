@@ -0,0 +1,50 @@
+package com.creditcard.core.member;
+
+import com.creditcard.core.domain.FraudAlert;
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.exception.MemberNotFoundException;
+import com.creditcard.core.repository.FraudAlertRepository;
+import com.creditcard.core.repository.MemberRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class MemberService {
+    
+    private final MemberRepository memberRepository;
+    private final MemberProfileCache memberProfileCache;
+    private final FraudAlertRepository fraudAlertRepository;
+    private final ApplicationEventPublisher events;
+    
+    public MemberService(MemberRepository memberRepository, MemberProfileCache memberProfileCache,
+                         FraudAlertRepository fraudAlertRepository, ApplicationEventPublisher events) {
+        this.memberRepository = memberRepository;
+        this.memberProfileCache = memberProfileCache;
+        this.fraudAlertRepository = fraudAlertRepository;
+        this.events = events;
+    }
+    
+    /**
+     * Updates only the status column (the balance belongs to the ledger's
+     * write-behind) and drops the cached profile so the next auth sees it.
+     */
+    @Transactional
+    public void changeStatus(String memberNumber, Member.MemberStatus status) {
+        if (memberRepository.updateStatus(memberNumber, status, LocalDateTime.now()) == 0) {
+            throw new MemberNotFoundException("Member not found: " + memberNumber);
+        }
+        memberProfileCache.invalidate(memberNumber);
+        events.publishEvent(new MemberStatusChangedEvent(memberNumber, status));
+    }
+    
+    /** Post-approval fraud alerts for the member, newest first. */
+    @Transactional(readOnly = true)
+    public List<FraudAlert> recentFraudAlerts(String memberNumber, int limit) {
+        return fraudAlertRepository.findByMemberNumberOrderByCreatedAtDesc(memberNumber, PageRequest.of(0, limit));
+    }
+}
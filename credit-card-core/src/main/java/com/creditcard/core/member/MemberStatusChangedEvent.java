@@ -0,0 +1,18 @@
+package com.creditcard.core.member;
+
+import com.creditcard.core.domain.Member;
+
+/** Published by {@link MemberService} inside the transaction that changes a member's status. */
+public class MemberStatusChangedEvent {
+    
+    private final String memberNumber;
+    private final Member.MemberStatus status;
+    
+    public MemberStatusChangedEvent(String memberNumber, Member.MemberStatus status) {
+        this.memberNumber = memberNumber;
+        this.status = status;
+    }
+    
+    public String getMemberNumber() { return memberNumber; }
+    public Member.MemberStatus getStatus() { return status; }
+}
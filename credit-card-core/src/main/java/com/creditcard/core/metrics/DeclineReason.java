@@ -0,0 +1,5 @@
+package com.creditcard.core.metrics;
+
+public enum DeclineReason {
+    INVALID_AMOUNT, MEMBER_NOT_FOUND, MEMBER_NOT_ACTIVE, CREDIT_LIMIT, FRAUD_RULE, KEY_REUSED
+}
@@ -0,0 +1,9 @@
+package com.creditcard.core.money;
+
+/**
+ * Currencies accepted by the message templates. Accounts, the ledger and every
+ * amount column are held in {@link #JPY}.
+ */
+public enum CurrencyCode {
+    JPY, USD, EUR
+}
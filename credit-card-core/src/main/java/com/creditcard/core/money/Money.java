@@ -0,0 +1,108 @@
+package com.creditcard.core.money;
+
+import com.creditcard.core.ledger.MinorUnits;
+
+import java.math.BigDecimal;
+
+/**
+ * 金額 / Immutable amount in hundredths of a currency unit.
+ *
+ * Backed by a {@code long} at {@link MinorUnits#SCALE}, the scale of every
+ * amount column, so comparisons are long compares and arithmetic allocates
+ * one small object instead of a {@link BigDecimal} and its {@code BigInteger}.
+ * Arithmetic is overflow-checked and refuses to mix currencies. Zero in each
+ * currency is shared.
+ */
+public final class Money implements Comparable<Money> {
+
+    private static final Money[] ZEROS = new Money[CurrencyCode.values().length];
+
+    static {
+        for (CurrencyCode currency : CurrencyCode.values()) {
+            ZEROS[currency.ordinal()] = new Money(0L, currency);
+        }
+    }
+
+    private final long minorUnits;
+    private final CurrencyCode currency;
+
+    private Money(long minorUnits, CurrencyCode currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money of(long minorUnits, CurrencyCode currency) {
+        return minorUnits == 0L ? zero(currency) : new Money(minorUnits, currency);
+    }
+
+    /** Account-currency amount from minor units. */
+    public static Money yen(long minorUnits) {
+        return of(minorUnits, CurrencyCode.JPY);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than two decimals or does not fit in a long
+     */
+    public static Money of(BigDecimal amount, CurrencyCode currency) {
+        return of(MinorUnits.of(amount), currency);
+    }
+
+    /** @return the account-currency amount, or null for a null decimal */
+    public static Money yen(BigDecimal amount) {
+        return amount == null ? null : of(amount, CurrencyCode.JPY);
+    }
+
+    public static Money zero(CurrencyCode currency) {
+        return ZEROS[currency.ordinal()];
+    }
+
+    public long getMinorUnits() { return minorUnits; }
+    public CurrencyCode getCurrency() { return currency; }
+
+    public BigDecimal toDecimal() {
+        return MinorUnits.toDecimal(minorUnits);
+    }
+
+    public Money plus(Money other) {
+        return of(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        return of(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0L;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    private Money sameCurrency(Money other) {
+        if (other.currency != currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+        return other;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minorUnits == minorUnits && other.currency == currency;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency + " " + toDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.creditcard.core.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} to the {@code DECIMAL(p, 2)} amount columns, which hold
+ * the account currency. Storing any other currency is refused rather than
+ * silently relabelled.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        if (money.getCurrency() != CurrencyCode.JPY) {
+            throw new IllegalArgumentException("Amount columns hold JPY, got " + money);
+        }
+        return money.toDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return Money.yen(amount);
+    }
+}
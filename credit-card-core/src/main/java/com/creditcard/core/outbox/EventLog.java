@@ -0,0 +1,307 @@
+package com.creditcard.core.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * イベントログ / Local append-only log of transaction events, the default
+ * {@link TransactionEventSink}, so events flow without a broker.
+ *
+ * Records are {@code [length][crc32][payload]} in segment files named by
+ * their starting position in one continuous logical log, as in the
+ * transaction journal. Appends come only from the outbox relay, so they go
+ * through the file channel and are forced once per published batch rather
+ * than mapped and group-committed. Each consumer group tails the log from
+ * its own committed offset, kept in {@code offsets/<group>.offset}, and
+ * resumes there after a restart; a new group starts at the oldest retained
+ * record. Once the log outgrows its retention size the oldest segments are
+ * deleted whether or not every group has read them, and a group left behind
+ * skips ahead to what remains. On open, anything after the last intact
+ * record of the newest segment is truncated.
+ */
+public class EventLog implements TransactionEventSink, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLog.class);
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSETS_DIRECTORY = "offsets";
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final int RECORD_HEADER = Integer.BYTES * 2;
+    private static final Pattern GROUP_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long retentionBytes;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // consumers read under the read lock, so retention never closes a segment mid-read
+    private final ReentrantReadWriteLock retentionLock = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+
+    private volatile Segment active;
+    private volatile long end;
+
+    private EventLog(Path directory, int segmentSize, long retentionBytes) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retentionBytes = retentionBytes;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, Segment.open(file, base));
+            }
+        }
+        if (segments.isEmpty()) {
+            active = createSegment(0L);
+        } else {
+            active = segments.lastEntry().getValue();
+            active.recover();
+        }
+        end = active.base + active.length;
+    }
+
+    public static EventLog open(Path directory, int segmentSize, long retentionBytes) throws IOException {
+        Files.createDirectories(directory.resolve(OFFSETS_DIRECTORY));
+        return new EventLog(directory, segmentSize, retentionBytes);
+    }
+
+    @Override
+    public void publish(List<TransactionEvent> events) {
+        synchronized (appendLock) {
+            try {
+                for (TransactionEvent event : events) {
+                    write(EventLogCodec.encode(event));
+                }
+                active.channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to the event log", e);
+            }
+            end = active.base + active.length;
+        }
+        deleteExpiredSegments();
+    }
+
+    /**
+     * Opens {@code group}'s view of the log at its committed offset. One
+     * consumer per group at a time; the group name is also its file name.
+     */
+    public Consumer consumer(String group) throws IOException {
+        if (!GROUP_NAME.matcher(group).matches()) {
+            throw new IllegalArgumentException("Invalid consumer group: " + group);
+        }
+        return new Consumer(group, FileChannel.open(directory.resolve(OFFSETS_DIRECTORY).resolve(group + OFFSET_SUFFIX),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    /** Logical position just past the last published record. */
+    public long endPosition() {
+        return end;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            active.channel.force(false);
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        }
+    }
+
+    private void write(byte[] payload) throws IOException {
+        int size = RECORD_HEADER + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Event of " + size + " bytes exceeds the segment size");
+        }
+        if (active.length > 0 && active.length + size > segmentSize) {
+            roll();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(size).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        record.flip();
+        long position = active.length;
+        while (record.hasRemaining()) {
+            position += active.channel.write(record, position);
+        }
+        active.length += size;
+    }
+
+    /** Seals the full segment (forcing it first) and continues in a new one at the same logical position. */
+    private void roll() throws IOException {
+        Segment sealed = active;
+        sealed.channel.force(false);
+        active = createSegment(sealed.base + sealed.length);
+    }
+
+    private Segment createSegment(long base) throws IOException {
+        Segment segment = Segment.open(directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX)), base);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    private void deleteExpiredSegments() {
+        Map.Entry<Long, Segment> first;
+        while ((first = segments.firstEntry()) != null && first.getValue() != active
+               && end - segments.higherKey(first.getKey()) >= retentionBytes) {
+            retentionLock.writeLock().lock();
+            try {
+                segments.remove(first.getKey());
+                first.getValue().channel.close();
+                Files.deleteIfExists(first.getValue().path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete expired event log segment " + first.getValue().path, e);
+            } finally {
+                retentionLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** A consumer group's read position; not thread-safe. */
+    public final class Consumer implements Closeable {
+
+        private final String group;
+        private final FileChannel offsetChannel;
+        private long position;
+
+        private Consumer(String group, FileChannel offsetChannel) throws IOException {
+            this.group = group;
+            this.offsetChannel = offsetChannel;
+            ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+            this.position = offsetChannel.read(offset, 0) == Long.BYTES ? offset.flip().getLong() : segments.firstKey();
+        }
+
+        /**
+         * Reads up to {@code maxEvents} published events after the current
+         * position and moves past them. The move is kept across restarts only
+         * once {@link #commit} is called, so events handled but not committed
+         * are read again.
+         */
+        public List<TransactionEvent> poll(int maxEvents) {
+            List<TransactionEvent> events = new ArrayList<>();
+            long limit = end;
+            retentionLock.readLock().lock();
+            try {
+                long oldest = segments.firstKey();
+                if (position < oldest) {
+                    log.warn("Consumer group {} fell behind event log retention, skipping {} bytes to the oldest record",
+                        group, oldest - position);
+                    position = oldest;
+                }
+                ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+                while (position < limit && events.size() < maxEvents) {
+                    Segment segment = segments.floorEntry(position).getValue();
+                    long offset = position - segment.base;
+                    segment.read(header.clear(), offset);
+                    ByteBuffer payload = ByteBuffer.allocate(header.getInt(0));
+                    segment.read(payload, offset + RECORD_HEADER);
+                    events.add(EventLogCodec.decode(payload.flip()));
+                    position += RECORD_HEADER + payload.capacity();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read the event log", e);
+            } finally {
+                retentionLock.readLock().unlock();
+            }
+            return events;
+        }
+
+        /** Durably records the current position as where this group resumes. */
+        public void commit() {
+            try {
+                offsetChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, position), 0);
+                offsetChannel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot commit offset for consumer group " + group, e);
+            }
+        }
+
+        public long position() {
+            return position;
+        }
+
+        /** Bytes published but not yet read by this group. */
+        public long lag() {
+            return Math.max(0L, end - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            offsetChannel.close();
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long base;
+        final FileChannel channel;
+        volatile int length;
+
+        private Segment(Path path, long base, FileChannel channel, int length) {
+            this.path = path;
+            this.base = base;
+            this.channel = channel;
+            this.length = length;
+        }
+
+        static Segment open(Path path, long base) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, base, channel, (int) channel.size());
+        }
+
+        void read(ByteBuffer destination, long offset) throws IOException {
+            while (destination.hasRemaining()) {
+                if (channel.read(destination, offset + destination.position()) < 0) {
+                    throw new EOFException("Event log segment " + path + " ends mid-record");
+                }
+            }
+        }
+
+        /** Truncates everything after the last intact record. */
+        void recover() throws IOException {
+            int intact = 0;
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+            CRC32 crc = new CRC32();
+            while (intact + RECORD_HEADER <= length) {
+                read(header.clear(), intact);
+                int size = header.getInt(0);
+                if (size <= 0 || intact + RECORD_HEADER + size > length) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(size);
+                read(payload, intact + RECORD_HEADER);
+                crc.reset();
+                crc.update(payload.flip());
+                if ((int) crc.getValue() != header.getInt(Integer.BYTES)) {
+                    break;
+                }
+                intact += RECORD_HEADER + size;
+            }
+            if (intact < length) {
+                channel.truncate(intact);
+                channel.force(false);
+                length = intact;
+            }
+        }
+    }
+}
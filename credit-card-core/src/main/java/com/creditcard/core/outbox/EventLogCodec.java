@@ -0,0 +1,82 @@
+package com.creditcard.core.outbox;
+
+import com.creditcard.core.money.CurrencyCode;
+import com.creditcard.core.money.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary form of a {@link TransactionEvent} in the event log, laid out like
+ * the journal's: event id first, then strings as a signed short length (-1
+ * for null) plus UTF-8 bytes, the amount in minor units and the timestamp as
+ * UTC epoch seconds plus nanos.
+ */
+final class EventLogCodec {
+
+    private EventLogCodec() {
+    }
+
+    static byte[] encode(TransactionEvent event) {
+        byte[][] strings = {
+            utf8(event.getType().name()), utf8(event.getTransactionId()), utf8(event.getOriginalTransactionId()),
+            utf8(event.getMemberNumber()), utf8(event.getAmount().getCurrency().name()),
+            utf8(event.getMerchantName()), utf8(event.getMerchantCategory())
+        };
+        int size = Long.BYTES * 3 + Integer.BYTES;
+        for (byte[] s : strings) {
+            size += Short.BYTES + (s == null ? 0 : s.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(event.getEventId());
+        for (byte[] s : strings) {
+            if (s == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) s.length).put(s);
+            }
+        }
+        buffer.putLong(event.getAmount().getMinorUnits());
+        buffer.putLong(event.getOccurredAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(event.getOccurredAt().getNano());
+        return buffer.array();
+    }
+
+    static TransactionEvent decode(ByteBuffer buffer) {
+        long eventId = buffer.getLong();
+        TransactionEvent.Type type = TransactionEvent.Type.valueOf(string(buffer));
+        String transactionId = string(buffer);
+        String originalTransactionId = string(buffer);
+        String memberNumber = string(buffer);
+        CurrencyCode currency = CurrencyCode.valueOf(string(buffer));
+        String merchantName = string(buffer);
+        String merchantCategory = string(buffer);
+        Money amount = Money.of(buffer.getLong(), currency);
+        LocalDateTime occurredAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        return new TransactionEvent(eventId, type, transactionId, originalTransactionId, memberNumber, amount,
+            merchantName, merchantCategory, occurredAt);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Field too long for the event log: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.creditcard.core.outbox;
+
+import com.creditcard.core.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves committed outbox events to the {@link TransactionEventSink} in
+ * batches, oldest first, deleting each batch once the sink has it. A failure
+ * leaves the batch in the table for the next run, so delivery is at least
+ * once: a crash between publish and delete repeats the batch, with the same
+ * event ids.
+ *
+ * Events are relayed in id order per run. Concurrent auth transactions can
+ * commit out of id order, so an event may follow one with a higher id, but
+ * an event is never published before one its transaction waited on, such as
+ * a void after its auth.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionEventSink sink;
+    private final int batchSize;
+    private final Counter published;
+
+    public OutboxRelay(OutboxRepository outboxRepository, TransactionEventSink sink, MeterRegistry registry,
+                       @Value("${creditcard.events.relay.batch-size:1000}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.published = Counter.builder("creditcard.events.published")
+            .description("Transaction events relayed from the outbox to the sink")
+            .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${creditcard.events.relay.interval-ms:50}")
+    public void relay() {
+        try {
+            while (relayBatch() == batchSize) {
+                // a full batch means more may be waiting
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, will retry", e);
+        }
+    }
+
+    /** @return number of events published */
+    int relayBatch() {
+        List<TransactionEvent> events = outboxRepository.findOldest(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        sink.publish(events);
+        outboxRepository.deleteAll(events);
+        published.increment(events.size());
+        return events.size();
+    }
+
+    @PreDestroy
+    public void relayOnShutdown() {
+        relay();
+    }
+}
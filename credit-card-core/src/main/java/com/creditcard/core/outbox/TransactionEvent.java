@@ -0,0 +1,72 @@
+package com.creditcard.core.outbox;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * 取引イベント / One auth, capture or void, as published from the outbox.
+ *
+ * {@code eventId} is the outbox row id. It is stable across redeliveries, so
+ * a consumer that may see an event twice (the relay publishes at least once)
+ * can drop repeats by it.
+ */
+public class TransactionEvent {
+
+    public enum Type {
+        AUTHORIZED, CAPTURED, VOIDED;
+
+        /** @return the event a newly written row starts, or null if it starts none */
+        public static Type forInsert(Transaction.TransactionType type) {
+            return switch (type) {
+                case AUTH -> AUTHORIZED;
+                case CAPTURE -> CAPTURED;
+                default -> null;
+            };
+        }
+
+        /**
+         * @return the event an auth moving to {@code to} starts, or null; settling
+         *         is left to the CAPTURED event of the capture row written with it
+         */
+        public static Type forTransition(Transaction.TransactionStatus to) {
+            return to == Transaction.TransactionStatus.CANCELLED ? VOIDED : null;
+        }
+    }
+
+    private final long eventId;
+    private final Type type;
+    private final String transactionId;
+    private final String originalTransactionId;
+    private final String memberNumber;
+    private final Money amount;
+    private final String merchantName;
+    private final String merchantCategory;
+    private final LocalDateTime occurredAt;
+
+    public TransactionEvent(long eventId, Type type, String transactionId, String originalTransactionId,
+                            String memberNumber, Money amount, String merchantName, String merchantCategory,
+                            LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.type = type;
+        this.transactionId = transactionId;
+        this.originalTransactionId = originalTransactionId;
+        this.memberNumber = memberNumber;
+        this.amount = amount;
+        this.merchantName = merchantName;
+        this.merchantCategory = merchantCategory;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getEventId() { return eventId; }
+    public Type getType() { return type; }
+    public String getTransactionId() { return transactionId; }
+    /** The auth a CAPTURED event settles; null for other types. */
+    public String getOriginalTransactionId() { return originalTransactionId; }
+    public String getMemberNumber() { return memberNumber; }
+    public Money getAmount() { return amount; }
+    public String getMerchantName() { return merchantName; }
+    public String getMerchantCategory() { return merchantCategory; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
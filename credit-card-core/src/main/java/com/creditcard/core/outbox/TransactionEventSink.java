@@ -0,0 +1,17 @@
+package com.creditcard.core.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for events relayed from the outbox, selected by
+ * {@code creditcard.events.sink}.
+ */
+public interface TransactionEventSink {
+
+    /**
+     * Returns once {@code events} are durably published, in order; throws if
+     * they might not be, and the relay retries the batch. A retry may repeat
+     * events that did get through.
+     */
+    void publish(List<TransactionEvent> events);
+}
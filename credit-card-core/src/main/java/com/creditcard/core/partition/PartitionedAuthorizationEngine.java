@@ -0,0 +1,208 @@
+package com.creditcard.core.partition;
+
+import com.creditcard.core.concurrency.AuthorizationConcurrencyLimiter;
+import com.creditcard.core.concurrency.ConcurrencyLimited.Priority;
+import com.creditcard.core.exception.ConcurrencyLimitExceededException;
+import com.creditcard.core.metrics.AuthorizationMetrics;
+import com.creditcard.core.metrics.AuthorizationMetrics.Operation;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import com.creditcard.core.service.CreditManagementService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 会員分割オーソリ / Member-sharded authorization with single-writer partitions.
+ *
+ * Each member hashes to one of N partitions. A partition is one platform
+ * thread fed by a {@link RingBuffer}; it drains whatever has been published,
+ * decides those auths in arrival order and writes the approved ones as one
+ * batch. Only that thread reserves credit for its members, so the ledger's
+ * CAS never retries and there is no cross-thread contention on a balance.
+ * Auths are admitted through the same adaptive
+ * {@link AuthorizationConcurrencyLimiter} as the request-thread path, timed
+ * from submit to decision so queueing on a partition counts; a full ring
+ * declines with the limiter's error.
+ *
+ * Enabled with {@code creditcard.authorization.mode=partitioned}. Idempotent
+ * and batch auths, capture and void keep the request-thread path; the
+ * ledger's CAS keeps them correct alongside the partition threads.
+ */
+@Component
+@ConditionalOnProperty(name = "creditcard.authorization.mode", havingValue = "partitioned")
+public class PartitionedAuthorizationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedAuthorizationEngine.class);
+
+    private static final int SPINS = 100;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final CreditManagementService creditService;
+    private final AuthorizationMetrics metrics;
+    private final AuthorizationConcurrencyLimiter limiter;
+    private final Partition[] partitions;
+    private final int batchSize;
+    private volatile boolean running = true;
+
+    public PartitionedAuthorizationEngine(CreditManagementService creditService, AuthorizationMetrics metrics,
+                                          AuthorizationConcurrencyLimiter limiter,
+                                          @Value("${creditcard.authorization.partitions.count:0}") int count,
+                                          @Value("${creditcard.authorization.partitions.ring-size:4096}") int ringSize,
+                                          @Value("${creditcard.authorization.partitions.batch-size:256}") int batchSize) {
+        this.creditService = creditService;
+        this.metrics = metrics;
+        this.limiter = limiter;
+        this.batchSize = batchSize;
+        this.partitions = new Partition[count > 0 ? count : Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, ringSize);
+        }
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+        log.info("Started {} authorization partitions, ring size {}", partitions.length,
+            partitions[0].ring.capacity());
+    }
+
+    /**
+     * Queues an auth on its member's partition. The future completes on the
+     * partition thread with the decision, or exceptionally if the limiter
+     * sheds it, the ring is full or the batch could not be written.
+     */
+    public CompletableFuture<AuthorizationResult> submit(AuthorizationCommand command) {
+        long admittedAt;
+        try {
+            admittedAt = limiter.acquire(Priority.HIGH);
+        } catch (ConcurrencyLimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Pending pending = new Pending(command, admittedAt, metrics.begin(Operation.AUTHORIZE));
+        Partition partition = partitions[partitionOf(command.getMemberNumber(), partitions.length)];
+        if (!running || !partition.ring.offer(pending)) {
+            metrics.end(Operation.AUTHORIZE, pending.start);
+            limiter.release(admittedAt, false);
+            pending.future.completeExceptionally(
+                new ConcurrencyLimitExceededException("Too many authorizations in flight"));
+            return pending.future;
+        }
+        if (partition.sleeping) {
+            LockSupport.unpark(partition.thread);
+        }
+        return pending.future;
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    static int partitionOf(String memberNumber, int partitionCount) {
+        int h = memberNumber.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, partitionCount);
+    }
+
+    /** Stops taking auths, lets every partition finish what it has queued, then joins the threads. */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.thread);
+        }
+        for (Partition partition : partitions) {
+            partition.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private static final class Pending {
+        final AuthorizationCommand command;
+        final long admittedAt;
+        final long start;
+        final CompletableFuture<AuthorizationResult> future = new CompletableFuture<>();
+
+        Pending(AuthorizationCommand command, long admittedAt, long start) {
+            this.command = command;
+            this.admittedAt = admittedAt;
+            this.start = start;
+        }
+    }
+
+    private final class Partition implements Runnable {
+        final RingBuffer<Pending> ring;
+        final Thread thread;
+        final List<Pending> batch = new ArrayList<>();
+        final List<AuthorizationCommand> commands = new ArrayList<>();
+        volatile boolean sleeping;
+
+        Partition(int index, int ringSize) {
+            this.ring = new RingBuffer<>(ringSize);
+            this.thread = new Thread(this, "auth-partition-" + index);
+        }
+
+        @Override
+        public void run() {
+            while (running || !ring.isEmpty()) {
+                if (ring.drainTo(batch, batchSize) == 0) {
+                    idle();
+                    continue;
+                }
+                process();
+                batch.clear();
+                commands.clear();
+            }
+        }
+
+        private void process() {
+            for (Pending pending : batch) {
+                commands.add(pending.command);
+            }
+            try {
+                List<AuthorizationResult> results = creditService.authorizeInOrder(commands);
+                for (int i = 0; i < batch.size(); i++) {
+                    complete(batch.get(i), results.get(i), null);
+                }
+            } catch (RuntimeException e) {
+                log.error("Authorization partition {} failed a batch of {}", thread.getName(), batch.size(), e);
+                for (Pending pending : batch) {
+                    complete(pending, null, e);
+                }
+            }
+        }
+
+        private void complete(Pending pending, AuthorizationResult result, Throwable error) {
+            metrics.end(Operation.AUTHORIZE, pending.start);
+            limiter.release(pending.admittedAt, true);
+            if (error != null) {
+                pending.future.completeExceptionally(error);
+            } else {
+                pending.future.complete(result);
+            }
+        }
+
+        /** Spins briefly for the next auth, then parks until a producer unparks it. */
+        private void idle() {
+            for (int i = 0; i < SPINS; i++) {
+                if (!ring.isEmpty()) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            sleeping = true;
+            if (running && ring.isEmpty()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            sleeping = false;
+        }
+    }
+}
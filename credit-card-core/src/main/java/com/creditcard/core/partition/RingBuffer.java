@@ -0,0 +1,102 @@
+package com.creditcard.core.partition;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+/**
+ * Bounded multi-producer, single-consumer ring in the style of the LMAX
+ * Disruptor. Producers claim a sequence with one CAS and publish the slot by
+ * writing its lap number; the consumer reads slots in sequence order until it
+ * reaches one that is not yet published, so a slow producer never lets a later
+ * entry overtake it. No locks and no per-entry allocation besides the entry.
+ */
+final class RingBuffer<E> {
+
+    private static final VarHandle CLAIMED;
+    private static final VarHandle CONSUMED;
+    private static final VarHandle LAPS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CLAIMED = lookup.findVarHandle(RingBuffer.class, "claimed", long.class);
+            CONSUMED = lookup.findVarHandle(RingBuffer.class, "consumed", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] entries;
+    private final int[] laps;
+    private final int mask;
+    private final int shift;
+
+    private volatile long claimed;
+    private volatile long consumed;
+
+    RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.entries = new Object[size];
+        this.laps = new int[size];
+        this.mask = size - 1;
+        this.shift = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            laps[i] = -1;
+        }
+    }
+
+    /** @return {@code false} if the ring is full; the entry was not added */
+    boolean offer(E entry) {
+        long sequence;
+        do {
+            sequence = claimed;
+            if (sequence - (long) CONSUMED.getAcquire(this) >= entries.length) {
+                return false;
+            }
+        } while (!CLAIMED.compareAndSet(this, sequence, sequence + 1));
+        int index = (int) sequence & mask;
+        entries[index] = entry;
+        LAPS.setVolatile(laps, index, (int) (sequence >>> shift));
+        return true;
+    }
+
+    /**
+     * Moves up to {@code max} published entries, in sequence order, into
+     * {@code sink}. Only the consumer thread may call this.
+     *
+     * @return the number of entries moved
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<E> sink, int max) {
+        long next = consumed;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) next & mask;
+            if ((int) LAPS.getVolatile(laps, index) != (int) (next >>> shift)) {
+                break;
+            }
+            sink.add((E) entries[index]);
+            entries[index] = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            CONSUMED.setRelease(this, next);
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        long next = consumed;
+        return (int) LAPS.getVolatile(laps, (int) next & mask) != (int) (next >>> shift);
+    }
+
+    int size() {
+        return (int) (claimed - consumed);
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+}
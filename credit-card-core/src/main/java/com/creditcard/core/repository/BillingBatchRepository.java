@@ -0,0 +1,76 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.Billing;
+import com.creditcard.core.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access for the monthly billing run: keyset-paged settlement
+ * totals per member and batch inserts of {@link Billing} rows.
+ */
+@Repository
+public class BillingBatchRepository {
+
+    private static final String SETTLED_TOTALS_SQL =
+        "SELECT member_number, SUM(amount) AS total FROM transactions "
+            + "WHERE transaction_type = 'CAPTURE' AND status = 'SETTLED' "
+            + "AND member_number > ? AND (? IS NULL OR member_number <= ?) "
+            + "AND transaction_datetime >= ? AND transaction_datetime < ? "
+            + "GROUP BY member_number ORDER BY member_number LIMIT ?";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO billings (billing_id, member_number, billing_month, status, amount, due_date, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BillingBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static class MemberTotal {
+        private final String memberNumber;
+        private final Money total;
+
+        public MemberTotal(String memberNumber, Money total) {
+            this.memberNumber = memberNumber;
+            this.total = total;
+        }
+
+        public String getMemberNumber() { return memberNumber; }
+        public Money getTotal() { return total; }
+    }
+
+    /**
+     * Settled capture totals for the next {@code limit} members after
+     * {@code afterMember}, up to {@code upperMember} (inclusive, null for no
+     * bound), for transactions in {@code [from, to)}.
+     */
+    public List<MemberTotal> settledTotals(String afterMember, String upperMember,
+                                           LocalDateTime from, LocalDateTime to, int limit) {
+        return jdbcTemplate.query(SETTLED_TOTALS_SQL,
+            (rs, rowNum) -> new MemberTotal(rs.getString("member_number"), Money.yen(rs.getBigDecimal("total"))),
+            afterMember, upperMember, upperMember, Timestamp.valueOf(from), Timestamp.valueOf(to), limit);
+    }
+
+    public void insertAll(List<Billing> billings) {
+        if (billings.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, billings, billings.size(), (ps, billing) -> {
+            ps.setString(1, billing.getBillingId());
+            ps.setString(2, billing.getMemberNumber());
+            ps.setString(3, billing.getBillingMonth());
+            ps.setString(4, billing.getStatus().name());
+            ps.setBigDecimal(5, billing.getAmount().toDecimal());
+            ps.setTimestamp(6, Timestamp.valueOf(billing.getDueDate()));
+            ps.setTimestamp(7, now);
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.BillingCheckpoint;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to {@link BillingCheckpoint} rows, written in the same
+ * database transaction as each chunk of billings.
+ */
+@Repository
+public class BillingCheckpointRepository {
+
+    private static final String SELECT_SQL =
+        "SELECT billing_month, partition_no, lower_member_number, upper_member_number, last_member_number, completed "
+            + "FROM billing_checkpoints WHERE billing_month = ? ORDER BY partition_no";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO billing_checkpoints (billing_month, partition_no, lower_member_number, upper_member_number, "
+            + "last_member_number, completed, updated_at) VALUES (?, ?, ?, ?, ?, FALSE, ?)";
+
+    private static final String CLAIM_SQL =
+        "SELECT last_member_number FROM billing_checkpoints "
+            + "WHERE billing_month = ? AND partition_no = ? AND completed = FALSE FOR UPDATE SKIP LOCKED";
+
+    private static final String ADVANCE_SQL =
+        "UPDATE billing_checkpoints SET last_member_number = ?, completed = ?, updated_at = ? "
+            + "WHERE billing_month = ? AND partition_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BillingCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<BillingCheckpoint> findByBillingMonth(String billingMonth) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            BillingCheckpoint checkpoint = new BillingCheckpoint();
+            checkpoint.setBillingMonth(rs.getString("billing_month"));
+            checkpoint.setPartitionNo(rs.getInt("partition_no"));
+            checkpoint.setLowerMemberNumber(rs.getString("lower_member_number"));
+            checkpoint.setUpperMemberNumber(rs.getString("upper_member_number"));
+            checkpoint.setLastMemberNumber(rs.getString("last_member_number"));
+            checkpoint.setCompleted(rs.getBoolean("completed"));
+            return checkpoint;
+        }, billingMonth);
+    }
+
+    /**
+     * Splits the member key space into at most {@code partitions} ranges of
+     * roughly equal member count, using the member number at each quantile.
+     */
+    public List<BillingCheckpoint> createPartitions(String billingMonth, int partitions) {
+        List<BillingCheckpoint> checkpoints = new ArrayList<>();
+        String lower = "";
+        for (String upper : MemberKeyRanges.upperBounds(jdbcTemplate, partitions)) {
+            BillingCheckpoint checkpoint = new BillingCheckpoint();
+            checkpoint.setBillingMonth(billingMonth);
+            checkpoint.setPartitionNo(checkpoints.size());
+            checkpoint.setLowerMemberNumber(lower);
+            checkpoint.setUpperMemberNumber(upper);
+            checkpoint.setLastMemberNumber(lower);
+            checkpoint.setCompleted(false);
+            checkpoints.add(checkpoint);
+            lower = upper;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, checkpoints, checkpoints.size(), (ps, checkpoint) -> {
+            ps.setString(1, checkpoint.getBillingMonth());
+            ps.setInt(2, checkpoint.getPartitionNo());
+            ps.setString(3, checkpoint.getLowerMemberNumber());
+            ps.setString(4, checkpoint.getUpperMemberNumber());
+            ps.setString(5, checkpoint.getLastMemberNumber());
+            ps.setTimestamp(6, now);
+        });
+        return checkpoints;
+    }
+
+    /**
+     * Locks an unfinished partition's checkpoint row until the surrounding
+     * transaction ends, so one node at a time works each chunk.
+     *
+     * @return the partition's cursor, or empty if it is completed or another
+     *         node holds it
+     */
+    public Optional<String> claim(String billingMonth, int partitionNo) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, String.class, billingMonth, partitionNo).stream().findFirst();
+    }
+
+    public void advance(String billingMonth, int partitionNo, String lastMemberNumber, boolean completed) {
+        jdbcTemplate.update(ADVANCE_SQL, lastMemberNumber, completed, Timestamp.valueOf(LocalDateTime.now()),
+            billingMonth, partitionNo);
+    }
+}
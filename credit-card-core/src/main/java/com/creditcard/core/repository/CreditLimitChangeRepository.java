@@ -0,0 +1,70 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.CreditLimitChange;
+import com.creditcard.core.ledger.MinorUnits;
+import com.creditcard.core.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC writes and reads of {@link CreditLimitChange} rows: written with
+ * each chunk of limit changes, read by every node's
+ * {@link com.creditcard.core.limit.CreditLimitChangeFeed}.
+ */
+@Repository
+public class CreditLimitChangeRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO credit_limit_changes (member_number, credit_limit, changed_at) VALUES (?, ?, ?)";
+
+    private static final String SELECT_AFTER_SQL =
+        "SELECT id, member_number, credit_limit, changed_at FROM credit_limit_changes "
+            + "WHERE id > ? AND changed_at <= ? ORDER BY id LIMIT ?";
+
+    private static final String DELETE_BEFORE_SQL = "DELETE FROM credit_limit_changes WHERE changed_at < ?";
+
+    private static final RowMapper<CreditLimitChange> ROW_MAPPER = (rs, rowNum) -> {
+        CreditLimitChange change = new CreditLimitChange();
+        change.setId(rs.getLong("id"));
+        change.setMemberNumber(rs.getString("member_number"));
+        change.setCreditLimit(Money.yen(rs.getBigDecimal("credit_limit")));
+        change.setChangedAt(rs.getTimestamp("changed_at").toLocalDateTime());
+        return change;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreditLimitChangeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Records each member's new limit, in minor units, as one JDBC batch. */
+    public void insertAll(Map<String, Long> creditLimits) {
+        if (creditLimits.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new ArrayList<>(creditLimits.entrySet()), creditLimits.size(),
+            (ps, change) -> {
+                ps.setString(1, change.getKey());
+                ps.setBigDecimal(2, MinorUnits.toDecimal(change.getValue()));
+                ps.setTimestamp(3, now);
+            });
+    }
+
+    /** Up to {@code limit} changes after {@code afterId} made no later than {@code changedBy}, oldest first. */
+    public List<CreditLimitChange> findAfter(long afterId, LocalDateTime changedBy, int limit) {
+        return jdbcTemplate.query(SELECT_AFTER_SQL, ROW_MAPPER, afterId, Timestamp.valueOf(changedBy), limit);
+    }
+
+    public int deleteBefore(LocalDateTime changedAt) {
+        return jdbcTemplate.update(DELETE_BEFORE_SQL, Timestamp.valueOf(changedAt));
+    }
+}
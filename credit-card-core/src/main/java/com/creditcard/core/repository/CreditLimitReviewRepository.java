@@ -0,0 +1,93 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.ledger.MinorUnits;
+import com.creditcard.core.limit.LimitReviewCandidate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access for the monthly credit-limit review: keyset-paged members
+ * with their statement history, and batch updates of the limit column alone
+ * so the ledger's write-behind of balances is never overwritten.
+ */
+@Repository
+public class CreditLimitReviewRepository {
+
+    private static final String MEMBERS_SQL =
+        "SELECT member_number, status, credit_limit, current_balance FROM members "
+            + "WHERE member_number > ? AND (? IS NULL OR member_number <= ?) "
+            + "ORDER BY member_number LIMIT ?";
+
+    private static final String BILLING_COUNTS_SQL =
+        "SELECT member_number, COUNT(*) AS billings, "
+            + "SUM(CASE WHEN status = 'OVERDUE' THEN 1 ELSE 0 END) AS overdue, "
+            + "SUM(CASE WHEN status = 'PARTIAL_PAID' THEN 1 ELSE 0 END) AS partially_paid "
+            + "FROM billings WHERE member_number > ? AND member_number <= ? AND billing_month >= ? "
+            + "AND status <> 'CANCELLED' GROUP BY member_number";
+
+    private static final String UPDATE_LIMIT_SQL =
+        "UPDATE members SET credit_limit = ?, updated_at = ? WHERE member_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreditLimitReviewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The next {@code limit} members after {@code afterMember}, up to
+     * {@code upperMember} (inclusive, null for no bound), with counts of
+     * their statements for {@code fromMonth} (yyyy-MM) onwards. Statement
+     * counts come from one range query over the chunk's keys.
+     */
+    public List<LimitReviewCandidate> candidates(String afterMember, String upperMember, String fromMonth, int limit) {
+        List<LimitReviewCandidate> members = jdbcTemplate.query(MEMBERS_SQL, (rs, rowNum) -> new LimitReviewCandidate(
+            rs.getString("member_number"), Member.MemberStatus.valueOf(rs.getString("status")),
+            minorUnits(rs.getBigDecimal("credit_limit")), minorUnits(rs.getBigDecimal("current_balance")), 0, 0, 0),
+            afterMember, upperMember, upperMember, limit);
+        if (members.isEmpty()) {
+            return members;
+        }
+
+        Map<String, int[]> history = new HashMap<>();
+        jdbcTemplate.query(BILLING_COUNTS_SQL, rs -> {
+            history.put(rs.getString("member_number"),
+                new int[] {rs.getInt("billings"), rs.getInt("overdue"), rs.getInt("partially_paid")});
+        }, afterMember, members.get(members.size() - 1).getMemberNumber(), fromMonth);
+
+        List<LimitReviewCandidate> candidates = new ArrayList<>(members.size());
+        for (LimitReviewCandidate member : members) {
+            int[] counts = history.get(member.getMemberNumber());
+            candidates.add(counts == null ? member : new LimitReviewCandidate(member.getMemberNumber(),
+                member.getStatus(), member.getCreditLimit(), member.getBalance(), counts[0], counts[1], counts[2]));
+        }
+        return candidates;
+    }
+
+    /** Sets each member's limit, in minor units, as one JDBC batch. */
+    public void updateCreditLimits(Map<String, Long> creditLimits) {
+        if (creditLimits.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_LIMIT_SQL, new ArrayList<>(creditLimits.entrySet()), creditLimits.size(),
+            (ps, change) -> {
+                ps.setBigDecimal(1, MinorUnits.toDecimal(change.getValue()));
+                ps.setTimestamp(2, now);
+                ps.setString(3, change.getKey());
+            });
+    }
+
+    private static long minorUnits(BigDecimal amount) {
+        return amount == null ? 0L : MinorUnits.of(amount);
+    }
+}
@@ -0,0 +1,14 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.FraudAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FraudAlertRepository extends JpaRepository<FraudAlert, Long> {
+
+    List<FraudAlert> findByMemberNumberOrderByCreatedAtDesc(String memberNumber, Pageable page);
+}
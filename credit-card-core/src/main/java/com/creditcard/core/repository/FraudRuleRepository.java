@@ -0,0 +1,13 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.FraudRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FraudRuleRepository extends JpaRepository<FraudRule, Long> {
+
+    List<FraudRule> findByEnabledTrueOrderByIdAsc();
+}
@@ -0,0 +1,70 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.ledger.MinorUnits;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain JDBC reads of the transactions written after a ledger snapshot, summed
+ * into each member's net balance change. New auths and captures are found by
+ * id above the snapshot's watermark, a primary key range; voids change old
+ * rows, so they are found through the {@code updated_at} index.
+ */
+@Repository
+public class LedgerReplayRepository {
+
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM transactions";
+
+    private static final String RESERVED_SQL =
+        "SELECT member_number, SUM(amount) FROM transactions "
+            + "WHERE id > ? AND transaction_type = 'AUTH' AND transaction_datetime > ? GROUP BY member_number";
+
+    private static final String CAPTURE_RELEASED_SQL =
+        "SELECT c.member_number, SUM(a.amount - c.amount) FROM transactions c "
+            + "JOIN transactions a ON a.transaction_id = c.original_transaction_id "
+            + "WHERE c.id > ? AND c.transaction_type = 'CAPTURE' AND c.transaction_datetime > ? "
+            + "GROUP BY c.member_number";
+
+    private static final String VOID_RELEASED_SQL =
+        "SELECT member_number, SUM(amount) FROM transactions "
+            + "WHERE updated_at > ? AND transaction_type = 'AUTH' AND status = 'CANCELLED' GROUP BY member_number";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LedgerReplayRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Highest committed transaction id; a snapshot's replay starts above it. */
+    public long maxTransactionId() {
+        Long max = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        return max == null ? 0L : max;
+    }
+
+    /**
+     * Net balance change per member in minor units: auths made after
+     * {@code reservedAfter} add their amount; partial captures and voids made
+     * after {@code releasedAfter} take back what they released.
+     *
+     * @param watermark highest transaction id already reflected in the snapshot
+     */
+    public Map<String, Long> balanceChangesSince(long watermark, LocalDateTime reservedAfter,
+                                                 LocalDateTime releasedAfter) {
+        Map<String, Long> changes = new HashMap<>();
+        sum(changes, 1, RESERVED_SQL, watermark, Timestamp.valueOf(reservedAfter));
+        sum(changes, -1, CAPTURE_RELEASED_SQL, watermark, Timestamp.valueOf(releasedAfter));
+        sum(changes, -1, VOID_RELEASED_SQL, Timestamp.valueOf(releasedAfter));
+        return changes;
+    }
+
+    private void sum(Map<String, Long> changes, int sign, String sql, Object... args) {
+        jdbcTemplate.query(sql, rs -> {
+            changes.merge(rs.getString(1), sign * MinorUnits.of(rs.getBigDecimal(2)), Long::sum);
+        }, args);
+    }
+}
@@ -0,0 +1,97 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.LimitReviewCheckpoint;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to {@link LimitReviewCheckpoint} rows, written in the
+ * same database transaction as each chunk of limit changes.
+ */
+@Repository
+public class LimitReviewCheckpointRepository {
+
+    private static final String SELECT_SQL =
+        "SELECT review_month, partition_no, lower_member_number, upper_member_number, last_member_number, completed "
+            + "FROM limit_review_checkpoints WHERE review_month = ? ORDER BY partition_no";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO limit_review_checkpoints (review_month, partition_no, lower_member_number, upper_member_number, "
+            + "last_member_number, completed, updated_at) VALUES (?, ?, ?, ?, ?, FALSE, ?)";
+
+    private static final String CLAIM_SQL =
+        "SELECT last_member_number FROM limit_review_checkpoints "
+            + "WHERE review_month = ? AND partition_no = ? AND completed = FALSE FOR UPDATE SKIP LOCKED";
+
+    private static final String ADVANCE_SQL =
+        "UPDATE limit_review_checkpoints SET last_member_number = ?, completed = ?, updated_at = ? "
+            + "WHERE review_month = ? AND partition_no = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LimitReviewCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<LimitReviewCheckpoint> findByReviewMonth(String reviewMonth) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            LimitReviewCheckpoint checkpoint = new LimitReviewCheckpoint();
+            checkpoint.setReviewMonth(rs.getString("review_month"));
+            checkpoint.setPartitionNo(rs.getInt("partition_no"));
+            checkpoint.setLowerMemberNumber(rs.getString("lower_member_number"));
+            checkpoint.setUpperMemberNumber(rs.getString("upper_member_number"));
+            checkpoint.setLastMemberNumber(rs.getString("last_member_number"));
+            checkpoint.setCompleted(rs.getBoolean("completed"));
+            return checkpoint;
+        }, reviewMonth);
+    }
+
+    /** Splits the members into at most {@code partitions} key ranges of roughly equal size. */
+    public List<LimitReviewCheckpoint> createPartitions(String reviewMonth, int partitions) {
+        List<LimitReviewCheckpoint> checkpoints = new ArrayList<>();
+        String lower = "";
+        for (String upper : MemberKeyRanges.upperBounds(jdbcTemplate, partitions)) {
+            LimitReviewCheckpoint checkpoint = new LimitReviewCheckpoint();
+            checkpoint.setReviewMonth(reviewMonth);
+            checkpoint.setPartitionNo(checkpoints.size());
+            checkpoint.setLowerMemberNumber(lower);
+            checkpoint.setUpperMemberNumber(upper);
+            checkpoint.setLastMemberNumber(lower);
+            checkpoint.setCompleted(false);
+            checkpoints.add(checkpoint);
+            lower = upper;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, checkpoints, checkpoints.size(), (ps, checkpoint) -> {
+            ps.setString(1, checkpoint.getReviewMonth());
+            ps.setInt(2, checkpoint.getPartitionNo());
+            ps.setString(3, checkpoint.getLowerMemberNumber());
+            ps.setString(4, checkpoint.getUpperMemberNumber());
+            ps.setString(5, checkpoint.getLastMemberNumber());
+            ps.setTimestamp(6, now);
+        });
+        return checkpoints;
+    }
+
+    /**
+     * Locks an unfinished partition's checkpoint row until the surrounding
+     * transaction ends, so one node at a time works each chunk.
+     *
+     * @return the partition's cursor, or empty if it is completed or another
+     *         node holds it
+     */
+    public Optional<String> claim(String reviewMonth, int partitionNo) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, String.class, reviewMonth, partitionNo).stream().findFirst();
+    }
+
+    public void advance(String reviewMonth, int partitionNo, String lastMemberNumber, boolean completed) {
+        jdbcTemplate.update(ADVANCE_SQL, lastMemberNumber, completed, Timestamp.valueOf(LocalDateTime.now()),
+            reviewMonth, partitionNo);
+    }
+}
@@ -0,0 +1,40 @@
+package com.creditcard.core.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Member-key partitioning shared by the batch jobs' checkpoint tables.
+ */
+final class MemberKeyRanges {
+
+    private static final String MEMBER_COUNT_SQL = "SELECT COUNT(*) FROM members";
+
+    private static final String MEMBER_AT_SQL =
+        "SELECT member_number FROM members ORDER BY member_number LIMIT 1 OFFSET ?";
+
+    private MemberKeyRanges() {
+    }
+
+    /**
+     * Splits the member key space into at most {@code partitions} ranges of
+     * roughly equal member count, using the member number at each quantile.
+     *
+     * @return each range's inclusive upper bound in order, the last one null
+     */
+    static List<String> upperBounds(JdbcTemplate jdbcTemplate, int partitions) {
+        long members = jdbcTemplate.queryForObject(MEMBER_COUNT_SQL, Long.class);
+        List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < partitions && members > 0; i++) {
+            long offset = members * i / partitions - 1;
+            String bound = offset < 0 ? null : jdbcTemplate.queryForObject(MEMBER_AT_SQL, String.class, offset);
+            if (bound != null && (bounds.isEmpty() || bound.compareTo(bounds.get(bounds.size() - 1)) > 0)) {
+                bounds.add(bound);
+            }
+        }
+        bounds.add(null);
+        return bounds;
+    }
+}
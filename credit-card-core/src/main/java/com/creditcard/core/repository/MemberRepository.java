@@ -0,0 +1,27 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.member.MemberProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface MemberRepository extends JpaRepository<Member, Long> {
+
+    Optional<Member> findByMemberNumber(String memberNumber);
+
+    @Query("SELECT new com.creditcard.core.member.MemberProfile(m.memberNumber, m.status, m.creditLimit, m.currentBalance) "
+        + "FROM Member m WHERE m.memberNumber = :memberNumber")
+    Optional<MemberProfile> findProfileByMemberNumber(@Param("memberNumber") String memberNumber);
+
+    @Modifying
+    @Query("UPDATE Member m SET m.status = :status, m.updatedAt = :updatedAt WHERE m.memberNumber = :memberNumber")
+    int updateStatus(@Param("memberNumber") String memberNumber, @Param("status") Member.MemberStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,60 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.OutboxEvent;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.outbox.TransactionEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Plain JDBC reads and deletes of unpublished {@link OutboxEvent} rows for the
+ * relay. The rows themselves are written by {@link TransactionBatchRepository},
+ * alongside the transaction rows they describe.
+ */
+@Repository
+public class OutboxRepository {
+
+    private static final String SELECT_OLDEST_SQL =
+        "SELECT id, event_type, transaction_id, original_transaction_id, member_number, amount, "
+            + "merchant_name, merchant_category, occurred_at FROM outbox_events ORDER BY id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ?";
+
+    private static final RowMapper<TransactionEvent> ROW_MAPPER = (rs, rowNum) -> new TransactionEvent(
+        rs.getLong("id"),
+        TransactionEvent.Type.valueOf(rs.getString("event_type")),
+        rs.getString("transaction_id"),
+        rs.getString("original_transaction_id"),
+        rs.getString("member_number"),
+        Money.yen(rs.getBigDecimal("amount")),
+        rs.getString("merchant_name"),
+        rs.getString("merchant_category"),
+        rs.getTimestamp("occurred_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Up to {@code limit} committed events, oldest first. */
+    public List<TransactionEvent> findOldest(int limit) {
+        return jdbcTemplate.query(SELECT_OLDEST_SQL, ROW_MAPPER, limit);
+    }
+
+    /**
+     * Deletes exactly these rows. Deleting by id rather than up to the highest
+     * one matters: identity ids are assigned at insert, not commit, so a lower
+     * id may still be in flight and must stay for the next batch.
+     */
+    public void deleteAll(List<TransactionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, events, events.size(),
+            (ps, event) -> ps.setLong(1, event.getEventId()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.outbox.TransactionEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to {@link Transaction} rows. The entity uses
+ * {@code IDENTITY} ids, which stops Hibernate from batching inserts, so the
+ * authorization, capture and void paths bypass the entity manager here.
+ * Rows read back are detached and never flushed implicitly.
+ *
+ * Every insert or status change that starts a {@link TransactionEvent} also
+ * writes its {@code outbox_events} row here, in the same database transaction,
+ * so no path can change a transaction without its event or the reverse.
+ */
+@Repository
+public class TransactionBatchRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO transactions (transaction_id, member_number, transaction_type, amount, status, "
+            + "authorization_code, merchant_name, merchant_category, idempotency_key, transaction_datetime, "
+            + "original_transaction_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_BY_ID_SQL =
+        "SELECT transaction_id, member_number, transaction_type, amount, status, authorization_code, "
+            + "merchant_name, merchant_category, idempotency_key, transaction_datetime, original_transaction_id "
+            + "FROM transactions WHERE transaction_id = ?";
+
+    private static final String SELECT_BY_IDEMPOTENCY_KEY_SQL =
+        "SELECT transaction_id, member_number, transaction_type, amount, status, authorization_code, "
+            + "merchant_name, merchant_category, idempotency_key, transaction_datetime, original_transaction_id "
+            + "FROM transactions WHERE idempotency_key = ?";
+
+    private static final String UPDATE_STATUS_SQL =
+        "UPDATE transactions SET status = ?, updated_at = ? WHERE transaction_id = ? AND status = ?";
+
+    private static final String INSERT_EVENT_SQL =
+        "INSERT INTO outbox_events (event_type, transaction_id, original_transaction_id, member_number, amount, "
+            + "merchant_name, merchant_category, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TRANSITION_EVENT_SQL =
+        "INSERT INTO outbox_events (event_type, transaction_id, original_transaction_id, member_number, amount, "
+            + "merchant_name, merchant_category, occurred_at) SELECT ?, transaction_id, original_transaction_id, "
+            + "member_number, amount, merchant_name, merchant_category, ? FROM transactions WHERE transaction_id = ?";
+
+    private static final RowMapper<Transaction> ROW_MAPPER = (rs, rowNum) -> {
+        Transaction tx = new Transaction();
+        tx.setTransactionId(rs.getString("transaction_id"));
+        tx.setMemberNumber(rs.getString("member_number"));
+        tx.setType(Transaction.TransactionType.valueOf(rs.getString("transaction_type")));
+        tx.setAmount(Money.yen(rs.getBigDecimal("amount")));
+        tx.setStatus(Transaction.TransactionStatus.valueOf(rs.getString("status")));
+        tx.setAuthorizationCode(rs.getString("authorization_code"));
+        tx.setMerchantName(rs.getString("merchant_name"));
+        tx.setMerchantCategory(rs.getString("merchant_category"));
+        tx.setIdempotencyKey(rs.getString("idempotency_key"));
+        Timestamp datetime = rs.getTimestamp("transaction_datetime");
+        tx.setTransactionDatetime(datetime == null ? null : datetime.toLocalDateTime());
+        tx.setOriginalTransactionId(rs.getString("original_transaction_id"));
+        return tx;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), (ps, tx) -> {
+            ps.setString(1, tx.getTransactionId());
+            ps.setString(2, tx.getMemberNumber());
+            ps.setString(3, tx.getType().name());
+            ps.setBigDecimal(4, tx.getAmount().toDecimal());
+            ps.setString(5, tx.getStatus().name());
+            ps.setString(6, tx.getAuthorizationCode());
+            ps.setString(7, tx.getMerchantName());
+            ps.setString(8, tx.getMerchantCategory());
+            ps.setString(9, tx.getIdempotencyKey());
+            ps.setTimestamp(10, tx.getTransactionDatetime() == null ? null : Timestamp.valueOf(tx.getTransactionDatetime()));
+            ps.setString(11, tx.getOriginalTransactionId());
+            ps.setTimestamp(12, now);
+            ps.setTimestamp(13, now);
+        });
+        insertEvents(transactions, now);
+    }
+
+    private void insertEvents(List<Transaction> transactions, Timestamp now) {
+        List<Transaction> eventful = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            if (TransactionEvent.Type.forInsert(tx.getType()) != null) {
+                eventful.add(tx);
+            }
+        }
+        if (eventful.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, eventful, eventful.size(), (ps, tx) -> {
+            ps.setString(1, TransactionEvent.Type.forInsert(tx.getType()).name());
+            ps.setString(2, tx.getTransactionId());
+            ps.setString(3, tx.getOriginalTransactionId());
+            ps.setString(4, tx.getMemberNumber());
+            ps.setBigDecimal(5, tx.getAmount().toDecimal());
+            ps.setString(6, tx.getMerchantName());
+            ps.setString(7, tx.getMerchantCategory());
+            ps.setTimestamp(8, tx.getTransactionDatetime() == null ? now : Timestamp.valueOf(tx.getTransactionDatetime()));
+        });
+    }
+
+    /** Point lookup on the unique {@code transaction_id} index. */
+    public Optional<Transaction> findByTransactionId(String transactionId) {
+        return jdbcTemplate.query(SELECT_BY_ID_SQL, ROW_MAPPER, transactionId).stream().findFirst();
+    }
+
+    /** Point lookup on the unique {@code idempotency_key} index. */
+    public Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
+        return jdbcTemplate.query(SELECT_BY_IDEMPOTENCY_KEY_SQL, ROW_MAPPER, idempotencyKey).stream().findFirst();
+    }
+
+    /**
+     * Compare-and-set on the row's status.
+     *
+     * @return true if the row was in {@code from} and is now {@code to}
+     */
+    public boolean updateStatus(String transactionId, Transaction.TransactionStatus from,
+                                Transaction.TransactionStatus to) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(UPDATE_STATUS_SQL, to.name(), now, transactionId, from.name()) != 1) {
+            return false;
+        }
+        TransactionEvent.Type event = TransactionEvent.Type.forTransition(to);
+        if (event != null) {
+            jdbcTemplate.update(INSERT_TRANSITION_EVENT_SQL, event.name(), now, transactionId);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.creditcard.core.repository;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.transaction.TransactionSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
+    List<Transaction> findByMemberNumberAndTypeOrderByTransactionDatetimeDesc(
+        String memberNumber, Transaction.TransactionType type, Pageable page);
+
+    String HISTORY_SELECT = "SELECT new com.creditcard.core.transaction.TransactionSummary(t.id, t.transactionId, "
+        + "t.type, t.status, t.amount, t.merchantName, t.merchantCategory, t.authorizationCode, "
+        + "t.originalTransactionId, t.transactionDatetime) FROM Transaction t ";
+
+    /** Newest first; the first page of a keyset scan over idx_transactions_member_history. */
+    @Query(HISTORY_SELECT + "WHERE t.memberNumber = :memberNumber AND t.transactionDatetime IS NOT NULL "
+        + "ORDER BY t.transactionDatetime DESC, t.id DESC")
+    List<TransactionSummary> findHistory(@Param("memberNumber") String memberNumber, Pageable page);
+
+    /** The rows after {@code (datetime, id)} in {@link #findHistory} order: a seek, never an OFFSET. */
+    @Query(HISTORY_SELECT + "WHERE t.memberNumber = :memberNumber "
+        + "AND (t.transactionDatetime < :datetime OR (t.transactionDatetime = :datetime AND t.id < :id)) "
+        + "ORDER BY t.transactionDatetime DESC, t.id DESC")
+    List<TransactionSummary> findHistoryAfter(@Param("memberNumber") String memberNumber,
+                                              @Param("datetime") LocalDateTime datetime,
+                                              @Param("id") long id, Pageable page);
+}
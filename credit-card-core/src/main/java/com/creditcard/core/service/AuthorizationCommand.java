@@ -0,0 +1,43 @@
+package com.creditcard.core.service;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+
+import java.util.Objects;
+
+public class AuthorizationCommand {
+    
+    private final String memberNumber;
+    private final Money amount;
+    private final String merchantName;
+    private final String merchantCategory;
+    
+    public AuthorizationCommand(String memberNumber, Money amount,
+                                String merchantName, String merchantCategory) {
+        this.memberNumber = memberNumber;
+        this.amount = amount;
+        this.merchantName = merchantName;
+        this.merchantCategory = merchantCategory;
+    }
+    
+    public String getMemberNumber() { return memberNumber; }
+    public Money getAmount() { return amount; }
+    public String getMerchantName() { return merchantName; }
+    public String getMerchantCategory() { return merchantCategory; }
+    
+    /** Whether {@code other} asks for the same member, amount and merchant. */
+    public boolean isSameRequest(AuthorizationCommand other) {
+        return isSameRequest(other.memberNumber, other.amount, other.merchantName);
+    }
+    
+    /** Whether {@code tx} was authorized for the same member, amount and merchant. */
+    public boolean isSameRequest(Transaction tx) {
+        return isSameRequest(tx.getMemberNumber(), tx.getAmount(), tx.getMerchantName());
+    }
+    
+    private boolean isSameRequest(String otherMember, Money otherAmount, String otherMerchant) {
+        return Objects.equals(memberNumber, otherMember)
+            && amount != null && amount.equals(otherAmount)
+            && Objects.equals(merchantName, otherMerchant);
+    }
+}
@@ -0,0 +1,72 @@
+package com.creditcard.core.service;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.idempotency.IdempotencyCache;
+import com.creditcard.core.metrics.DeclineReason;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of one authorization: the approved {@link Transaction}, or the decline
+ * message and, for business declines, its {@link DeclineReason}.
+ *
+ * Business declines are values, not exceptions: the fixed ones below are
+ * shared instances, so a decline costs neither a stack trace nor an
+ * allocation. Exceptions are left for faults (bad input, a failed write).
+ */
+public class AuthorizationResult {
+    
+    public static final AuthorizationResult INVALID_AMOUNT =
+        declined(DeclineReason.INVALID_AMOUNT, "Amount must be positive");
+    public static final AuthorizationResult MEMBER_NOT_FOUND =
+        declined(DeclineReason.MEMBER_NOT_FOUND, "Member not found");
+    public static final AuthorizationResult CREDIT_LIMIT_EXCEEDED =
+        declined(DeclineReason.CREDIT_LIMIT, "Credit limit exceeded");
+    public static final AuthorizationResult MEMBER_FLAGGED =
+        declined(DeclineReason.FRAUD_RULE, "Fraud detected: member flagged for review");
+    public static final AuthorizationResult KEY_REUSED =
+        declined(DeclineReason.KEY_REUSED, IdempotencyCache.KEY_REUSED);
+    
+    private static final Map<Member.MemberStatus, AuthorizationResult> NOT_ACTIVE = new EnumMap<>(Member.MemberStatus.class);
+    
+    static {
+        for (Member.MemberStatus status : Member.MemberStatus.values()) {
+            NOT_ACTIVE.put(status, declined(DeclineReason.MEMBER_NOT_ACTIVE, "Member is not active: " + status));
+        }
+    }
+    
+    private final Transaction transaction;
+    private final DeclineReason reason;
+    private final String declineReason;
+    
+    private AuthorizationResult(Transaction transaction, DeclineReason reason, String declineReason) {
+        this.transaction = transaction;
+        this.reason = reason;
+        this.declineReason = declineReason;
+    }
+    
+    public static AuthorizationResult approved(Transaction transaction) {
+        return new AuthorizationResult(transaction, null, null);
+    }
+    
+    public static AuthorizationResult declined(DeclineReason reason, String declineReason) {
+        return new AuthorizationResult(null, reason, declineReason);
+    }
+    
+    /** A decline that is not a business decision, e.g. an unexpected error in a batch. */
+    public static AuthorizationResult declined(String declineReason) {
+        return new AuthorizationResult(null, null, declineReason);
+    }
+    
+    public static AuthorizationResult memberNotActive(Member.MemberStatus status) {
+        return NOT_ACTIVE.get(status);
+    }
+    
+    public boolean isApproved() { return transaction != null; }
+    public Transaction getTransaction() { return transaction; }
+    /** @return why a business decline happened, or null if approved or not a business decline */
+    public DeclineReason getReason() { return reason; }
+    public String getDeclineReason() { return declineReason; }
+}
@@ -1,108 +1,455 @@
 package com.creditcard.core.service;
 
-import com.creditcard.core.domain.Member;
+import com.creditcard.core.concurrency.ConcurrencyLimited;
+import com.creditcard.core.concurrency.ConcurrencyLimited.Priority;
 import com.creditcard.core.domain.Transaction;
-import com.creditcard.core.domain.FraudRule;
-import com.creditcard.core.domain.FraudRule.RiskLevel;
 import com.creditcard.core.exception.*;
+import com.creditcard.core.fraud.CompiledFraudPlan;
+import com.creditcard.core.fraud.FraudRuleEngine;
+import com.creditcard.core.fraud.FraudScoringPipeline;
+import com.creditcard.core.id.AuthorizationCodeGenerator;
+import com.creditcard.core.idempotency.IdempotencyCache;
+import com.creditcard.core.id.TransactionIdGenerator;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.ledger.LedgerAccount;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.member.MemberProfileCache;
+import com.creditcard.core.metrics.AuthorizationMetrics;
+import com.creditcard.core.money.CurrencyCode;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.metrics.AuthorizationMetrics.Operation;
+import com.creditcard.core.metrics.AuthorizationMetrics.Stage;
+import com.creditcard.core.transaction.TransactionStore;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class CreditManagementService {
     
+    private final MemberProfileCache memberProfileCache;
+    private final CreditLedger creditLedger;
+    private final FraudRuleEngine fraudRuleEngine;
+    private final FraudScoringPipeline fraudScoring;
+    private final TransactionStore transactionStore;
+    private final IdempotencyCache idempotencyCache;
+    private final TransactionOperations transactionOperations;
+    private final Executor authorizationExecutor;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AuthorizationCodeGenerator authorizationCodeGenerator;
+    private final AuthorizationMetrics metrics;
+    
+    public CreditManagementService(MemberProfileCache memberProfileCache, CreditLedger creditLedger,
+                                   FraudRuleEngine fraudRuleEngine,
+                                   FraudScoringPipeline fraudScoring,
+                                   TransactionStore transactionStore,
+                                   IdempotencyCache idempotencyCache,
+                                   TransactionOperations transactionOperations,
+                                   @Qualifier("authorizationExecutor") Executor authorizationExecutor,
+                                   TransactionIdGenerator transactionIdGenerator,
+                                   AuthorizationCodeGenerator authorizationCodeGenerator,
+                                   AuthorizationMetrics metrics) {
+        this.memberProfileCache = memberProfileCache;
+        this.creditLedger = creditLedger;
+        this.fraudRuleEngine = fraudRuleEngine;
+        this.fraudScoring = fraudScoring;
+        this.transactionStore = transactionStore;
+        this.idempotencyCache = idempotencyCache;
+        this.transactionOperations = transactionOperations;
+        this.authorizationExecutor = authorizationExecutor;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.authorizationCodeGenerator = authorizationCodeGenerator;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Authorizes one request. A decline is returned, not thrown; exceptions
+     * mean a fault such as an unsupported currency or a failed write.
+     */
+    @ConcurrencyLimited
+    @Transactional
+    public AuthorizationResult authorize(String memberNumber, Money amount, 
+                                         String merchantName, String merchantCategory) {
+        long start = metrics.begin(Operation.AUTHORIZE);
+        try {
+            AuthorizationResult result = approve(memberNumber, amount, merchantName, merchantCategory);
+            if (result.isApproved()) {
+                persist(List.of(result.getTransaction()));
+            }
+            return result;
+        } finally {
+            metrics.end(Operation.AUTHORIZE, start);
+        }
+    }
+    
+    /**
+     * Authorizes at most once per idempotency key. A retry gets the original
+     * outcome without touching the ledger or fraud engine: from the in-memory
+     * cache while the key is live, otherwise from the persisted transaction.
+     * Business declines are returned rather than thrown so they replay too.
+     */
+    @ConcurrencyLimited
+    public AuthorizationResult authorize(String idempotencyKey, AuthorizationCommand command) {
+        long start = metrics.begin(Operation.AUTHORIZE);
+        try {
+            return idempotencyCache.execute(idempotencyKey, command, () -> authorizeOnce(idempotencyKey, command));
+        } finally {
+            metrics.end(Operation.AUTHORIZE, start);
+        }
+    }
+    
+    /**
+     * Looks the key up and authorizes in one database transaction. When
+     * another node commits the same key first, the insert fails and that
+     * transaction rolls back, releasing this reservation; the winner is then
+     * read outside it, as some databases refuse any further statement in a
+     * transaction whose insert failed.
+     */
+    private AuthorizationResult authorizeOnce(String idempotencyKey, AuthorizationCommand command) {
+        try {
+            return transactionOperations.execute(status -> authorizeOrReplay(idempotencyKey, command));
+        } catch (DuplicateKeyException e) {
+            return transactionStore.findByIdempotencyKey(idempotencyKey)
+                .map(winner -> replay(winner, command))
+                .orElseThrow(() -> e);
+        }
+    }
+    
+    private AuthorizationResult authorizeOrReplay(String idempotencyKey, AuthorizationCommand command) {
+        Transaction stored = transactionStore.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (stored != null) {
+            return replay(stored, command);
+        }
+        
+        AuthorizationResult result = approve(command.getMemberNumber(), command.getAmount(),
+            command.getMerchantName(), command.getMerchantCategory());
+        if (!result.isApproved()) {
+            return result;
+        }
+        Transaction tx = result.getTransaction();
+        tx.setIdempotencyKey(idempotencyKey);
+        persist(List.of(tx));
+        return result;
+    }
+    
+    private static AuthorizationResult replay(Transaction stored, AuthorizationCommand command) {
+        return command.isSameRequest(stored)
+            ? AuthorizationResult.approved(stored)
+            : AuthorizationResult.KEY_REUSED;
+    }
+    
+    /**
+     * Authorizes a burst of requests. Requests for the same member are decided
+     * in submission order on one worker while different members run in
+     * parallel; approved transactions are then written as one JDBC batch.
+     *
+     * @return one result per command, in the same order
+     */
+    @ConcurrencyLimited(sampled = false)
     @Transactional
-    public Transaction authorize(String memberNumber, BigDecimal amount, 
-                                  String merchantName, String merchantCategory) {
+    public List<AuthorizationResult> authorizeBatch(List<AuthorizationCommand> commands) {
+        long start = metrics.begin(Operation.AUTHORIZE_BATCH);
+        try {
+            return decideBatch(commands);
+        } finally {
+            metrics.end(Operation.AUTHORIZE_BATCH, start);
+        }
+    }
+    
+    private List<AuthorizationResult> decideBatch(List<AuthorizationCommand> commands) {
+        Map<String, List<Integer>> byMember = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            byMember.computeIfAbsent(commands.get(i).getMemberNumber(), k -> new ArrayList<>()).add(i);
+        }
+        
+        AuthorizationResult[] results = new AuthorizationResult[commands.size()];
+        CompletableFuture<?>[] groups = byMember.values().stream()
+            .map(indexes -> CompletableFuture.runAsync(() -> {
+                for (int index : indexes) {
+                    results[index] = approveOrDecline(commands.get(index));
+                }
+            }, authorizationExecutor))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(groups).join();
+        
+        List<Transaction> approved = new ArrayList<>();
+        for (AuthorizationResult result : results) {
+            if (result.isApproved()) {
+                approved.add(result.getTransaction());
+            }
+        }
+        persist(approved);
+        return List.of(results);
+    }
+    
+    /**
+     * Decides the commands one after another on the calling thread, then
+     * writes the approved ones as one batch. This is the partition thread's
+     * entry point in partitioned mode, where it is the only writer for its
+     * members' ledger accounts.
+     *
+     * @return one result per command, in the same order
+     */
+    @Transactional
+    public List<AuthorizationResult> authorizeInOrder(List<AuthorizationCommand> commands) {
+        List<AuthorizationResult> results = new ArrayList<>(commands.size());
+        List<Transaction> approved = new ArrayList<>(commands.size());
+        for (AuthorizationCommand command : commands) {
+            AuthorizationResult result = approveOrDecline(command);
+            if (result.isApproved()) {
+                approved.add(result.getTransaction());
+            }
+            results.add(result);
+        }
+        persist(approved);
+        return results;
+    }
+    
+    /** Like {@link #approve}, but a fault fails only this command rather than the whole batch. */
+    private AuthorizationResult approveOrDecline(AuthorizationCommand command) {
+        try {
+            return approve(command.getMemberNumber(), command.getAmount(),
+                command.getMerchantName(), command.getMerchantCategory());
+        } catch (RuntimeException e) {
+            return AuthorizationResult.declined(e.getMessage());
+        }
+    }
+    
+    /**
+     * Writes the approved auths. Their reservations are returned if the
+     * surrounding transaction rolls back, whether the insert itself failed or
+     * the commit did.
+     */
+    private void persist(List<Transaction> approved) {
+        long start = System.nanoTime();
+        if (!approved.isEmpty()) {
+            afterRollback(() -> {
+                for (Transaction tx : approved) {
+                    creditLedger.release(tx.getMemberNumber(), tx.getAmount().getMinorUnits());
+                }
+            });
+        }
+        transactionStore.insertAll(approved);
+        metrics.stage(Stage.PERSIST, start);
+        if (!approved.isEmpty()) {
+            afterCommit(() -> fraudScoring.submit(approved));
+        }
+    }
+    
+    /**
+     * Decides one auth and, if approved, reserves its credit. Declines come
+     * back as results so a fraud attack, where they can be half the traffic,
+     * does not pay for a stack trace each.
+     */
+    private AuthorizationResult approve(String memberNumber, Money amount,
+                                        String merchantName, String merchantCategory) {
+        
+        // 0. Validate amount: a negative one would pass the limit check and lower the balance
+        long amountMinor = accountMinorUnits(amount);
+        if (amountMinor <= 0) {
+            return decline(AuthorizationResult.INVALID_AMOUNT);
+        }
         
         // 1. Validate member
-        Member member = validateMember(memberNumber);
+        long stageStart = System.nanoTime();
+        MemberProfile member = memberProfileCache.find(memberNumber);
+        if (member == null) {
+            return decline(AuthorizationResult.MEMBER_NOT_FOUND);
+        }
+        if (!member.isActive()) {
+            return decline(AuthorizationResult.memberNotActive(member.getStatus()));
+        }
+        stageStart = metrics.stage(Stage.MEMBER_LOOKUP, stageStart);
         
         // 2. Check credit limit
-        BigDecimal availableCredit = member.getCreditLimit().subtract(member.getCurrentBalance());
-        if (availableCredit.compareTo(amount) < 0) {
-            throw new CreditLimitExceededException("Credit limit exceeded");
+        LedgerAccount account = creditLedger.account(member);
+        if (account.available() < amountMinor) {
+            return decline(AuthorizationResult.CREDIT_LIMIT_EXCEEDED);
+        }
+        stageStart = metrics.stage(Stage.CREDIT_CHECK, stageStart);
+        
+        // 3. Check fraud risk (LOW/MEDIUM hits are left to post-approval scoring)
+        if (account.isFlagged()) {
+            return decline(AuthorizationResult.MEMBER_FLAGGED);
+        }
+        CompiledFraudPlan fraudPlan = fraudRuleEngine.currentPlan();
+        long fraudHits = fraudRuleEngine.evaluate(fraudPlan, memberNumber, amountMinor, merchantName, merchantCategory);
+        long blockingHits = fraudPlan.blocking(fraudHits);
+        if (blockingHits != 0L) {
+            return decline(fraudPlan.decline(blockingHits));
         }
+        stageStart = metrics.stage(Stage.FRAUD_CHECK, stageStart);
         
-        // 3. Check fraud risk
-        List<String> fraudAlerts = checkFraudRisk(memberNumber, amount, merchantCategory);
-        if (!fraudAlerts.isEmpty()) {
-            throw new FraudDetectedException("Fraud detected: " + String.join(", ", fraudAlerts));
+        // 4. Reserve credit (may still lose a race with a concurrent auth)
+        if (!creditLedger.reserve(account, amountMinor)) {
+            return decline(AuthorizationResult.CREDIT_LIMIT_EXCEEDED);
         }
+        fraudRuleEngine.recordApproved(memberNumber, amountMinor, merchantName);
         
-        // 4. Create transaction
+        // 5. Create transaction
         Transaction tx = new Transaction();
-        tx.setTransactionId(generateTransactionId());
+        tx.setTransactionId(transactionIdGenerator.nextTransactionId());
         tx.setMemberNumber(memberNumber);
         tx.setType(Transaction.TransactionType.AUTH);
         tx.setAmount(amount);
         tx.setMerchantName(merchantName);
         tx.setMerchantCategory(merchantCategory);
-        tx.setAuthorizationCode(generateAuthCode());
+        tx.setAuthorizationCode(authorizationCodeGenerator.nextAuthorizationCode());
         tx.setStatus(Transaction.TransactionStatus.APPROVED);
         tx.setTransactionDatetime(LocalDateTime.now());
+        if (fraudHits != 0L) {
+            tx.setFraudWarningLevel(fraudPlan.highestRiskLevel(fraudHits));
+            tx.setFraudWarning(fraudPlan.describe(fraudHits));
+        }
         
-        // 5. Reserve credit
-        member.setCurrentBalance(member.getCurrentBalance().add(amount));
-        
-        return tx;
+        return AuthorizationResult.approved(tx);
+    }
+    
+    private AuthorizationResult decline(AuthorizationResult result) {
+        metrics.decline(result.getReason());
+        return result;
     }
     
-    private Member validateMember(String memberNumber) {
-        Member member = new Member();
-        member.setMemberNumber(memberNumber);
-        member.setNameKanji("Test User");
-        member.setEmail("test@example.com");
-        member.setStatus(Member.MemberStatus.ACTIVE);
-        member.setCreditLimit(new BigDecimal("500000"));
-        member.setCurrentBalance(new BigDecimal("100000"));
-        return member;
+    /** Ledger accounts are in JPY; anything else is refused before it reaches them. */
+    private static long accountMinorUnits(Money amount) {
+        if (amount.getCurrency() != CurrencyCode.JPY) {
+            throw new IllegalArgumentException("Currency not supported: " + amount.getCurrency());
+        }
+        return amount.getMinorUnits();
     }
     
-    private List<String> checkFraudRisk(String memberNumber, BigDecimal amount, String merchantCategory) {
-        List<String> alerts = new ArrayList<>();
-        if (amount.compareTo(new BigDecimal("100000")) > 0) {
-            alerts.add("High amount transaction");
+    /**
+     * Settles an approved auth for {@code captureAmount} (the full amount when
+     * null). A partial capture releases the uncaptured remainder.
+     *
+     * @return the CAPTURE transaction, linked to the auth by {@code originalTransactionId}
+     */
+    @ConcurrencyLimited(priority = Priority.LOW)
+    @Transactional
+    public Transaction capture(String transactionId, Money captureAmount) {
+        long start = metrics.begin(Operation.CAPTURE);
+        try {
+            Transaction auth = findAuthorization(transactionId);
+            long authorized = auth.getAmount().getMinorUnits();
+            long captured = captureAmount == null ? authorized : accountMinorUnits(captureAmount);
+            if (captured <= 0 || captured > authorized) {
+                throw new InvalidCaptureAmountException(
+                    "Capture amount must be between 0 and " + auth.getAmount().toDecimal());
+            }
+            transition(auth, Transaction.TransactionStatus.SETTLED);
+            
+            Transaction capture = new Transaction();
+            capture.setTransactionId(transactionIdGenerator.nextTransactionId());
+            capture.setOriginalTransactionId(auth.getTransactionId());
+            capture.setMemberNumber(auth.getMemberNumber());
+            capture.setType(Transaction.TransactionType.CAPTURE);
+            capture.setAmount(Money.yen(captured));
+            capture.setMerchantName(auth.getMerchantName());
+            capture.setMerchantCategory(auth.getMerchantCategory());
+            capture.setAuthorizationCode(auth.getAuthorizationCode());
+            capture.setStatus(Transaction.TransactionStatus.SETTLED);
+            capture.setTransactionDatetime(LocalDateTime.now());
+            transactionStore.insertAll(List.of(capture));
+            
+            if (captured < authorized) {
+                afterCommit(() -> releaseCredit(auth.getMemberNumber(), authorized - captured));
+            }
+            return capture;
+        } finally {
+            metrics.end(Operation.CAPTURE, start);
         }
-        if (merchantCategory != null && 
-            (merchantCategory.equalsIgnoreCase("gambling") || 
-             merchantCategory.equalsIgnoreCase("casino") ||
-             merchantCategory.equalsIgnoreCase("adult"))) {
-            alerts.add("Risky merchant category");
+    }
+    
+    /**
+     * Cancels an approved auth and releases its full reservation.
+     *
+     * @return the auth, now CANCELLED
+     */
+    @ConcurrencyLimited(priority = Priority.LOW)
+    @Transactional
+    public Transaction voidTransaction(String transactionId) {
+        long start = metrics.begin(Operation.VOID);
+        try {
+            Transaction auth = findAuthorization(transactionId);
+            transition(auth, Transaction.TransactionStatus.CANCELLED);
+            long reserved = auth.getAmount().getMinorUnits();
+            afterCommit(() -> releaseCredit(auth.getMemberNumber(), reserved));
+            return auth;
+        } finally {
+            metrics.end(Operation.VOID, start);
         }
-        return alerts;
     }
     
-    private String generateTransactionId() {
-        return "TX" + UUID.randomUUID().toString().substring(0, 9).toUpperCase();
+    private Transaction findAuthorization(String transactionId) {
+        return transactionStore.find(transactionId)
+            .filter(tx -> tx.getType() == Transaction.TransactionType.AUTH)
+            .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + transactionId));
     }
     
-    private String generateAuthCode() {
-        return String.valueOf((int)(Math.random() * 900000) + 100000);
+    private void transition(Transaction auth, Transaction.TransactionStatus to) {
+        if (auth.getStatus() != Transaction.TransactionStatus.APPROVED
+            || !transactionStore.transition(auth, Transaction.TransactionStatus.APPROVED, to)) {
+            throw new InvalidTransactionStateException(
+                "Transaction " + auth.getTransactionId() + " is no longer APPROVED");
+        }
     }
     
-    @Transactional
-    public Transaction capture(String transactionId, BigDecimal captureAmount) {
-        Transaction tx = new Transaction();
-        tx.setTransactionId(transactionId);
-        tx.setType(Transaction.TransactionType.CAPTURE);
-        tx.setAmount(captureAmount);
-        tx.setStatus(Transaction.TransactionStatus.SETTLED);
-        return tx;
+    /**
+     * Returns credit to the member's account. An account this node has not
+     * used since a restart or eviction is seeded first, just as an auth
+     * would seed it: the released auth is part of the seeded balance, so
+     * skipping the release would hold that credit for good.
+     */
+    private void releaseCredit(String memberNumber, long amount) {
+        if (creditLedger.find(memberNumber) == null) {
+            MemberProfile member = memberProfileCache.find(memberNumber);
+            if (member != null) {
+                creditLedger.release(creditLedger.account(member), amount);
+                return;
+            }
+        }
+        creditLedger.release(memberNumber, amount);
     }
     
-    @Transactional
-    public Transaction voidTransaction(String transactionId) {
-        Transaction tx = new Transaction();
-        tx.setTransactionId(transactionId);
-        tx.setStatus(Transaction.TransactionStatus.CANCELLED);
-        return tx;
+    /** Ledger releases wait for the status change to commit, so a rollback keeps the reservation. */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    /** Every entry point is transactional; called outside one, there is nothing to roll back. */
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
     }
 }
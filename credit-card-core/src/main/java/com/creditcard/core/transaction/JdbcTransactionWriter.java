@@ -0,0 +1,21 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.repository.TransactionBatchRepository;
+
+import java.util.List;
+
+/** Inserts rows into {@code transactions} on the caller's thread and database transaction. */
+public class JdbcTransactionWriter implements TransactionWriter {
+
+    private final TransactionBatchRepository repository;
+
+    public JdbcTransactionWriter(TransactionBatchRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        repository.insertAll(transactions);
+    }
+}
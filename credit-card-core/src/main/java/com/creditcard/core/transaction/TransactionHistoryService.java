@@ -0,0 +1,130 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 取引履歴 / A member's transaction history, newest first, by keyset pagination.
+ *
+ * A page is the rows after the previous page's last {@code (transaction_datetime, id)},
+ * so every page is one seek on idx_transactions_member_history however deep
+ * the client scrolls; there is no OFFSET to walk. Rows are projected straight
+ * into {@link TransactionSummary}. An export is the same scan in chunks, each
+ * a short query of its own, so a long download neither grows memory nor
+ * holds a pooled connection that auths need.
+ *
+ * History reads the table: with a write-behind writer, the newest auths
+ * appear once they have been loaded.
+ */
+@Service
+public class TransactionHistoryService {
+
+    private static final char CURSOR_SEPARATOR = '~';
+
+    private final TransactionRepository transactionRepository;
+    private final int exportChunkSize;
+
+    public TransactionHistoryService(TransactionRepository transactionRepository,
+                                     @Value("${creditcard.transactions.history.export-chunk-size:1000}") int exportChunkSize) {
+        this.transactionRepository = transactionRepository;
+        this.exportChunkSize = exportChunkSize;
+    }
+
+    /**
+     * @param cursor the previous page's {@link Page#getNextCursor()}, or null for the newest rows
+     * @throws IllegalArgumentException if the cursor is not one this service issued
+     */
+    public Page page(String memberNumber, String cursor, int limit) {
+        // one extra row says whether another page follows without a count query
+        List<TransactionSummary> rows = fetch(memberNumber, cursor == null ? null : Position.decode(cursor), limit + 1);
+        if (rows.size() <= limit) {
+            return new Page(rows, null);
+        }
+        List<TransactionSummary> page = rows.subList(0, limit);
+        return new Page(page, Position.of(page.get(limit - 1)).encode());
+    }
+
+    /** Hands every row of the member's history to {@code sink}, newest first, one chunk at a time. */
+    public void export(String memberNumber, RowSink sink) throws IOException {
+        Position after = null;
+        while (true) {
+            List<TransactionSummary> chunk = fetch(memberNumber, after, exportChunkSize);
+            for (TransactionSummary row : chunk) {
+                sink.accept(row);
+            }
+            if (chunk.size() < exportChunkSize) {
+                return;
+            }
+            sink.endOfChunk();
+            after = Position.of(chunk.get(chunk.size() - 1));
+        }
+    }
+
+    private List<TransactionSummary> fetch(String memberNumber, Position after, int limit) {
+        PageRequest first = PageRequest.of(0, limit);
+        return after == null
+            ? transactionRepository.findHistory(memberNumber, first)
+            : transactionRepository.findHistoryAfter(memberNumber, after.datetime, after.id, first);
+    }
+
+    /** Receives exported rows; {@link #endOfChunk} is a good point to flush. */
+    public interface RowSink {
+        void accept(TransactionSummary row) throws IOException;
+
+        default void endOfChunk() throws IOException {}
+    }
+
+    public static class Page {
+        private final List<TransactionSummary> transactions;
+        private final String nextCursor;
+
+        Page(List<TransactionSummary> transactions, String nextCursor) {
+            this.transactions = transactions;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<TransactionSummary> getTransactions() { return transactions; }
+        /** @return where the next page starts, or null on the last page */
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    /** The keyset position after a row, opaque to clients as URL-safe Base64. */
+    private static final class Position {
+        final LocalDateTime datetime;
+        final long id;
+
+        Position(LocalDateTime datetime, long id) {
+            this.datetime = datetime;
+            this.id = id;
+        }
+
+        static Position of(TransactionSummary row) {
+            return new Position(row.getTransactionDatetime(), row.id());
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((datetime.toString() + CURSOR_SEPARATOR + id).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Position decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+                int separator = value.indexOf(CURSOR_SEPARATOR);
+                return new Position(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
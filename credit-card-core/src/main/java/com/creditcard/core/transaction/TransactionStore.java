@@ -0,0 +1,143 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 取引ストア / Transaction writes plus an in-memory index of open auths.
+ *
+ * Approved auths are indexed by {@code transactionId} once the transaction
+ * that wrote them commits, so the capture or void that follows usually finds
+ * its auth without a query and a rolled-back auth is never found at all;
+ * older auths fall back to the unique index on {@code transactions}. The index
+ * is bounded and evicts in insertion order. Status changes are a
+ * compare-and-set on the row, which is what makes a transition happen once.
+ * New rows go through the configured {@link TransactionWriter}; when it
+ * writes behind, a lookup or transition that misses waits for it to catch up
+ * and tries once more. Rows carrying an idempotency key are always inserted
+ * directly in the caller's database transaction instead, so the unique index
+ * on {@code idempotency_key} settles a retry racing on this or another node
+ * before either client is answered, and a key lookup never has to wait for
+ * the writer.
+ */
+@Component
+public class TransactionStore {
+
+    private final TransactionBatchRepository repository;
+    private final TransactionWriter writer;
+    private final int indexCapacity;
+    private final ConcurrentHashMap<String, Transaction> openAuths = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public TransactionStore(TransactionBatchRepository repository, TransactionWriter writer,
+                            @Value("${creditcard.transactions.index-capacity:100000}") int indexCapacity) {
+        this.repository = repository;
+        this.writer = writer;
+        this.indexCapacity = indexCapacity;
+    }
+
+    /** Writes {@code transactions} as one batch and indexes the approved auths among them after commit. */
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        List<Transaction> keyed = new ArrayList<>();
+        List<Transaction> unkeyed = new ArrayList<>(transactions.size());
+        for (Transaction tx : transactions) {
+            (tx.getIdempotencyKey() == null ? unkeyed : keyed).add(tx);
+        }
+        if (!keyed.isEmpty()) {
+            repository.insertAll(keyed);
+        }
+        if (!unkeyed.isEmpty()) {
+            writer.insertAll(unkeyed);
+        }
+        List<Transaction> auths = new ArrayList<>();
+        for (Transaction tx : transactions) {
+            if (tx.getType() == Transaction.TransactionType.AUTH
+                && tx.getStatus() == Transaction.TransactionStatus.APPROVED) {
+                auths.add(tx);
+            }
+        }
+        if (auths.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(auths);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(auths);
+            }
+        });
+    }
+
+    private void index(List<Transaction> auths) {
+        for (Transaction tx : auths) {
+            openAuths.put(tx.getTransactionId(), tx);
+            insertionOrder.add(tx.getTransactionId());
+            queued.incrementAndGet();
+        }
+        // ids of settled or voided auths stay queued until they age out, which bounds the queue too
+        String oldest;
+        while (queued.get() > indexCapacity && (oldest = insertionOrder.poll()) != null) {
+            queued.decrementAndGet();
+            openAuths.remove(oldest);
+        }
+    }
+
+    public Optional<Transaction> find(String transactionId) {
+        Transaction tx = openAuths.get(transactionId);
+        if (tx != null) {
+            return Optional.of(tx);
+        }
+        Optional<Transaction> stored = repository.findByTransactionId(transactionId);
+        if (stored.isEmpty() && writer.hasPending()) {
+            writer.awaitQueryable();
+            stored = repository.findByTransactionId(transactionId);
+        }
+        return stored;
+    }
+
+    /** Keyed rows are written through, so the table alone is authoritative for them. */
+    public Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
+        return repository.findByIdempotencyKey(idempotencyKey);
+    }
+
+    /**
+     * Moves {@code tx} out of {@code from}; at most one caller wins for a given row.
+     *
+     * @return false if the row was no longer in {@code from}
+     */
+    public boolean transition(Transaction tx, Transaction.TransactionStatus from, Transaction.TransactionStatus to) {
+        boolean moved = repository.updateStatus(tx.getTransactionId(), from, to);
+        if (!moved && writer.hasPending()) {
+            writer.awaitQueryable();
+            moved = repository.updateStatus(tx.getTransactionId(), from, to);
+        }
+        if (!moved) {
+            return false;
+        }
+        tx.setStatus(to);
+        openAuths.remove(tx.getTransactionId());
+        return true;
+    }
+
+    public int indexedCount() {
+        return openAuths.size();
+    }
+}
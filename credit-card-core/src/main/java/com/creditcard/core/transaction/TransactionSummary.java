@@ -0,0 +1,57 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a member's transaction history, built directly by the history
+ * query so no {@link Transaction} entity is loaded or managed.
+ */
+public class TransactionSummary {
+
+    private final long id;
+    private final String transactionId;
+    private final Transaction.TransactionType type;
+    private final Transaction.TransactionStatus status;
+    private final BigDecimal amount;
+    private final String currency;
+    private final String merchantName;
+    private final String merchantCategory;
+    private final String authorizationCode;
+    private final String originalTransactionId;
+    private final LocalDateTime transactionDatetime;
+
+    public TransactionSummary(Long id, String transactionId, Transaction.TransactionType type,
+                              Transaction.TransactionStatus status, Money amount, String merchantName,
+                              String merchantCategory, String authorizationCode, String originalTransactionId,
+                              LocalDateTime transactionDatetime) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.type = type;
+        this.status = status;
+        this.amount = amount.toDecimal();
+        this.currency = amount.getCurrency().name();
+        this.merchantName = merchantName;
+        this.merchantCategory = merchantCategory;
+        this.authorizationCode = authorizationCode;
+        this.originalTransactionId = originalTransactionId;
+        this.transactionDatetime = transactionDatetime;
+    }
+
+    /** The row id, the keyset tie-breaker; not part of the API. */
+    long id() { return id; }
+
+    public String getTransactionId() { return transactionId; }
+    public Transaction.TransactionType getType() { return type; }
+    public Transaction.TransactionStatus getStatus() { return status; }
+    public BigDecimal getAmount() { return amount; }
+    public String getCurrency() { return currency; }
+    public String getMerchantName() { return merchantName; }
+    public String getMerchantCategory() { return merchantCategory; }
+    public String getAuthorizationCode() { return authorizationCode; }
+    public String getOriginalTransactionId() { return originalTransactionId; }
+    public LocalDateTime getTransactionDatetime() { return transactionDatetime; }
+}
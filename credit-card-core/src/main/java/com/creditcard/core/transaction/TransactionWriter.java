@@ -0,0 +1,27 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.domain.Transaction;
+
+import java.util.List;
+
+/**
+ * Durable write of new transaction rows, selected by
+ * {@code creditcard.transactions.writer}.
+ */
+public interface TransactionWriter {
+
+    /** Returns once the rows would survive a crash; throws if they might not. */
+    void insertAll(List<Transaction> transactions);
+
+    /**
+     * Blocks until every row written so far is visible in the
+     * {@code transactions} table. A no-op for writers that insert directly.
+     */
+    default void awaitQueryable() {
+    }
+
+    /** Whether rows may have been written but not yet be visible in the table. */
+    default boolean hasPending() {
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+package com.creditcard.core.wire;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 電文コーデック / Fixed-layout binary encoding of AUTH_REQUEST and AUTH_RESPONSE.
+ *
+ * Every frame is a 2-byte big-endian body length followed by the body. A body
+ * starts with a message type and version byte, then fixed-width fields at fixed
+ * offsets: ASCII identifiers space-padded to their width, amounts as a long in
+ * minor units (scale 2, like the ledger) and datetimes as epoch milliseconds.
+ * Free-text fields come last as a 2-byte length and UTF-8 bytes.
+ *
+ * <pre>
+ * AUTH_REQUEST  (type 0x01)
+ *   0  type            1    31 amount            8   57 terminal_id      8
+ *   1  version         1    39 currency          3   65 transaction_dt   8
+ *   2  transaction_id 19    42 merchant_id      15   73 merchant_name    2+n
+ *  21  member_number  10                                 merchant_category 2+n
+ *
+ * AUTH_RESPONSE (type 0x02)
+ *   0  type            1    23 authorization_code 6  56 settle_flag      1
+ *   1  version         1    29 reference_id      19  57 response_message 2+n
+ *   2  transaction_id 19    48 approval_dt        8
+ *  21  response_code   2
+ * </pre>
+ *
+ * The response echoes the request's {@code transaction_id} so a switch can
+ * pipeline requests on one connection; {@code reference_id} is the
+ * transaction id this system assigned, for capture and void.
+ */
+public final class AuthMessageCodec {
+
+    public static final byte AUTH_REQUEST = 0x01;
+    public static final byte AUTH_RESPONSE = 0x02;
+    public static final byte VERSION = 1;
+
+    /** Largest body either side will send or accept. */
+    public static final int MAX_BODY = 1024;
+    static final int LENGTH_PREFIX = 2;
+    static final int TEXT_PREFIX = 2;
+
+    static final int TYPE = 0;
+    static final int VERSION_OFFSET = 1;
+    static final int TRANSACTION_ID = 2;
+    static final int TRANSACTION_ID_LENGTH = 19;
+
+    static final int REQ_MEMBER_NUMBER = 21;
+    static final int MEMBER_NUMBER_LENGTH = 10;
+    static final int REQ_AMOUNT = 31;
+    static final int REQ_CURRENCY = 39;
+    static final int CURRENCY_LENGTH = 3;
+    static final int REQ_MERCHANT_ID = 42;
+    static final int MERCHANT_ID_LENGTH = 15;
+    static final int REQ_TERMINAL_ID = 57;
+    static final int TERMINAL_ID_LENGTH = 8;
+    static final int REQ_DATETIME = 65;
+    static final int REQ_FIXED_LENGTH = 73;
+
+    static final int RES_RESPONSE_CODE = 21;
+    static final int RES_AUTHORIZATION_CODE = 23;
+    static final int AUTHORIZATION_CODE_LENGTH = 6;
+    static final int RES_REFERENCE_ID = 29;
+    static final int RES_DATETIME = 48;
+    static final int RES_SETTLE_FLAG = 56;
+    static final int RES_FIXED_LENGTH = 57;
+
+    private static final byte SPACE = ' ';
+
+    private AuthMessageCodec() {}
+
+    /**
+     * @return the body length of the frame starting at {@code buffer}'s position,
+     *         or -1 if the length prefix has not fully arrived
+     */
+    public static int bodyLength(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH_PREFIX) {
+            return -1;
+        }
+        return Short.toUnsignedInt(buffer.getShort(buffer.position()));
+    }
+
+    public static void encodeRequest(ByteBuffer out, String transactionId, String memberNumber, long amountMinor,
+                                     String currency, String merchantId, String terminalId, long datetimeMillis,
+                                     String merchantName, String merchantCategory) {
+        byte[] name = utf8(merchantName);
+        byte[] category = utf8(merchantCategory);
+        int start = beginFrame(out, REQ_FIXED_LENGTH + 2 * TEXT_PREFIX + name.length + category.length);
+        out.put(AUTH_REQUEST).put(VERSION);
+        putAscii(out, transactionId, TRANSACTION_ID_LENGTH);
+        putAscii(out, memberNumber, MEMBER_NUMBER_LENGTH);
+        out.putLong(amountMinor);
+        putAscii(out, currency, CURRENCY_LENGTH);
+        putAscii(out, merchantId, MERCHANT_ID_LENGTH);
+        putAscii(out, terminalId, TERMINAL_ID_LENGTH);
+        out.putLong(datetimeMillis);
+        putText(out, name);
+        putText(out, category);
+        assert out.position() - start == REQ_FIXED_LENGTH + 2 * TEXT_PREFIX + name.length + category.length;
+    }
+
+    /**
+     * Writes a response frame. {@code transactionId} is copied from the request
+     * body as raw bytes so even a malformed request can be correlated.
+     */
+    public static void encodeResponse(ByteBuffer out, byte[] transactionId, ResponseCode responseCode,
+                                      String authorizationCode, String referenceId, long approvalMillis,
+                                      String responseMessage) {
+        byte[] message = utf8(truncate(responseMessage, AuthRequestView.MAX_MERCHANT_NAME));
+        beginFrame(out, RES_FIXED_LENGTH + TEXT_PREFIX + message.length);
+        out.put(AUTH_RESPONSE).put(VERSION);
+        putPadded(out, transactionId, TRANSACTION_ID_LENGTH);
+        out.put(responseCode.bytes());
+        putAscii(out, authorizationCode, AUTHORIZATION_CODE_LENGTH);
+        putAscii(out, referenceId, TRANSACTION_ID_LENGTH);
+        out.putLong(approvalMillis);
+        out.put((byte) 0);
+        putText(out, message);
+    }
+
+    private static int beginFrame(ByteBuffer out, int bodyLength) {
+        if (bodyLength > MAX_BODY) {
+            throw new IllegalArgumentException("Message body of " + bodyLength + " bytes exceeds " + MAX_BODY);
+        }
+        out.putShort((short) bodyLength);
+        return out.position();
+    }
+
+    private static void putAscii(ByteBuffer out, String value, int width) {
+        int length = value == null ? 0 : value.length();
+        if (length > width) {
+            throw new IllegalArgumentException("Field longer than " + width + " characters: " + value);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            out.put(c < 0x80 ? (byte) c : (byte) '?');
+        }
+        for (int i = length; i < width; i++) {
+            out.put(SPACE);
+        }
+    }
+
+    private static void putPadded(ByteBuffer out, byte[] value, int width) {
+        int length = value == null ? 0 : Math.min(value.length, width);
+        if (length > 0) {
+            out.put(value, 0, length);
+        }
+        for (int i = length; i < width; i++) {
+            out.put(SPACE);
+        }
+    }
+
+    private static void putText(ByteBuffer out, byte[] text) {
+        out.putShort((short) text.length);
+        out.put(text);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    /** Reads a space-padded ASCII field, without its padding. */
+    static String ascii(ByteBuffer body, int offset, int width) {
+        int end = offset + width;
+        while (end > offset && body.get(end - 1) == SPACE) {
+            end--;
+        }
+        byte[] bytes = new byte[end - offset];
+        body.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    static String text(ByteBuffer body, int offset) {
+        int length = Short.toUnsignedInt(body.getShort(offset));
+        byte[] bytes = new byte[length];
+        body.get(offset + TEXT_PREFIX, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+package com.creditcard.core.wire;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.creditcard.core.wire.AuthMessageCodec.*;
+
+/**
+ * Flyweight over an AUTH_REQUEST body. {@link #wrap} only records where the
+ * body is; fields are read in place and strings are built only for the fields
+ * a caller asks for. {@link #validate()} enforces the patterns and ranges of
+ * {@code templates/message-formats.yaml} on the raw bytes.
+ */
+public final class AuthRequestView {
+
+    /** {@code amount} range in the template is 1 to 10,000,000, here in minor units. */
+    public static final long MIN_AMOUNT_MINOR = 1_00L;
+    public static final long MAX_AMOUNT_MINOR = 10_000_000_00L;
+    public static final int MAX_MERCHANT_NAME = 100;
+    static final String[] CURRENCIES = {"JPY", "USD", "EUR"};
+
+    private ByteBuffer body;
+    private int offset;
+    private int length;
+
+    /** Points this view at the {@code length}-byte body starting at {@code offset}. */
+    public AuthRequestView wrap(ByteBuffer buffer, int offset, int length) {
+        this.body = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /** @return the first format error, or null if the message is well formed */
+    public String validate() {
+        if (length < REQ_FIXED_LENGTH + 2 * TEXT_PREFIX) {
+            return "Message too short";
+        }
+        if (body.get(offset + TYPE) != AUTH_REQUEST || body.get(offset + VERSION_OFFSET) != VERSION) {
+            return "Unsupported message type or version";
+        }
+        int nameLength = Short.toUnsignedInt(body.getShort(offset + REQ_FIXED_LENGTH));
+        int categoryAt = REQ_FIXED_LENGTH + TEXT_PREFIX + nameLength;
+        if (categoryAt + TEXT_PREFIX > length
+            || categoryAt + TEXT_PREFIX + Short.toUnsignedInt(body.getShort(offset + categoryAt)) != length) {
+            return "Message length does not match its text fields";
+        }
+        if (!prefixedDigits(TRANSACTION_ID, "TX", TRANSACTION_ID_LENGTH)) {
+            return "transaction_id must match ^TX[0-9]{17}$";
+        }
+        if (!prefixedDigits(REQ_MEMBER_NUMBER, "M", MEMBER_NUMBER_LENGTH)) {
+            return "member_number must match ^M[0-9]{9}$";
+        }
+        long amount = amountMinor();
+        if (amount < MIN_AMOUNT_MINOR || amount > MAX_AMOUNT_MINOR) {
+            return "amount must be between 1 and 10000000";
+        }
+        if (currencyIndex() < 0) {
+            return "currency must be one of JPY, USD, EUR";
+        }
+        if (body.get(offset + REQ_MERCHANT_ID) == ' ') {
+            return "merchant_id is required";
+        }
+        if (transactionDatetime() <= 0L) {
+            return "transaction_datetime is required";
+        }
+        if (nameLength == 0) {
+            return "merchant_name is required";
+        }
+        if (nameLength > MAX_MERCHANT_NAME) {
+            // a multi-byte name can exceed 100 bytes and still be within 100 characters
+            String name = merchantName();
+            if (name.codePointCount(0, name.length()) > MAX_MERCHANT_NAME) {
+                return "merchant_name must be at most " + MAX_MERCHANT_NAME + " characters";
+            }
+        }
+        return null;
+    }
+
+    private boolean prefixedDigits(int at, String prefix, int width) {
+        for (int i = 0; i < width; i++) {
+            byte b = body.get(offset + at + i);
+            if (i < prefix.length() ? b != prefix.charAt(i) : b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int currencyIndex() {
+        int at = offset + REQ_CURRENCY;
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            String currency = CURRENCIES[i];
+            if (body.get(at) == currency.charAt(0) && body.get(at + 1) == currency.charAt(1)
+                && body.get(at + 2) == currency.charAt(2)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Copies the raw {@code transaction_id} bytes, valid or not, for echoing in the response. */
+    public byte[] transactionIdBytes() {
+        int available = Math.max(0, Math.min(TRANSACTION_ID_LENGTH, length - TRANSACTION_ID));
+        byte[] bytes = new byte[available];
+        body.get(offset + TRANSACTION_ID, bytes);
+        return bytes;
+    }
+
+    public String transactionId() {
+        byte[] bytes = new byte[TRANSACTION_ID_LENGTH];
+        body.get(offset + TRANSACTION_ID, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public String memberNumber() {
+        return ascii(body, offset + REQ_MEMBER_NUMBER, MEMBER_NUMBER_LENGTH);
+    }
+
+    public long amountMinor() {
+        return body.getLong(offset + REQ_AMOUNT);
+    }
+
+    public String currency() {
+        int index = currencyIndex();
+        return index >= 0 ? CURRENCIES[index] : ascii(body, offset + REQ_CURRENCY, CURRENCY_LENGTH);
+    }
+
+    public String merchantId() {
+        return ascii(body, offset + REQ_MERCHANT_ID, MERCHANT_ID_LENGTH);
+    }
+
+    public String terminalId() {
+        return ascii(body, offset + REQ_TERMINAL_ID, TERMINAL_ID_LENGTH);
+    }
+
+    public long transactionDatetime() {
+        return body.getLong(offset + REQ_DATETIME);
+    }
+
+    public String merchantName() {
+        return text(body, offset + REQ_FIXED_LENGTH);
+    }
+
+    /** @return the category, or null if the optional field is empty */
+    public String merchantCategory() {
+        int at = offset + REQ_FIXED_LENGTH + TEXT_PREFIX + Short.toUnsignedInt(body.getShort(offset + REQ_FIXED_LENGTH));
+        return body.getShort(at) == 0 ? null : text(body, at);
+    }
+}
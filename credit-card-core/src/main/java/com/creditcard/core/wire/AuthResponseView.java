@@ -0,0 +1,52 @@
+package com.creditcard.core.wire;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.creditcard.core.wire.AuthMessageCodec.*;
+
+/**
+ * Flyweight over an AUTH_RESPONSE body, for switch-side clients and tests.
+ */
+public final class AuthResponseView {
+
+    private ByteBuffer body;
+    private int offset;
+
+    public AuthResponseView wrap(ByteBuffer buffer, int offset) {
+        this.body = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    public String transactionId() {
+        return ascii(body, offset + TRANSACTION_ID, TRANSACTION_ID_LENGTH);
+    }
+
+    public ResponseCode responseCode() {
+        byte[] code = new byte[2];
+        body.get(offset + RES_RESPONSE_CODE, code);
+        return ResponseCode.fromCode(new String(code, StandardCharsets.US_ASCII));
+    }
+
+    public String authorizationCode() {
+        return ascii(body, offset + RES_AUTHORIZATION_CODE, AUTHORIZATION_CODE_LENGTH);
+    }
+
+    /** @return the transaction id this system assigned, or empty when declined */
+    public String referenceId() {
+        return ascii(body, offset + RES_REFERENCE_ID, TRANSACTION_ID_LENGTH);
+    }
+
+    public long approvalDatetime() {
+        return body.getLong(offset + RES_DATETIME);
+    }
+
+    public boolean settleFlag() {
+        return body.get(offset + RES_SETTLE_FLAG) != 0;
+    }
+
+    public String responseMessage() {
+        return text(body, offset + RES_FIXED_LENGTH);
+    }
+}
@@ -0,0 +1,253 @@
+package com.creditcard.core.wire;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.CurrencyCode;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import com.creditcard.core.service.CreditManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 電文受付 / TCP listener for binary AUTH_REQUEST frames ({@link AuthMessageCodec}).
+ *
+ * Runs next to the REST API when {@code creditcard.wire.enabled} is set. Each
+ * connection has one reader thread that decodes and validates frames in place
+ * and hands the auth to the authorization executor, so a switch can pipeline
+ * requests; responses go back as each auth completes, correlated by the
+ * request's {@code transaction_id}. That id is also the idempotency key, so a
+ * retransmitted request is answered with the original outcome. At most
+ * {@code max-in-flight-per-connection} auths run per connection; beyond that
+ * the reader stops reading and TCP pushes back on the switch.
+ */
+@Component
+@ConditionalOnProperty(name = "creditcard.wire.enabled", havingValue = "true")
+public class AuthorizationWireServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationWireServer.class);
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    private final CreditManagementService creditService;
+    private final Executor executor;
+    private final int port;
+    private final int maxInFlight;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private volatile ServerSocketChannel server;
+    private volatile boolean running;
+
+    public AuthorizationWireServer(CreditManagementService creditService,
+                                   @Qualifier("authorizationExecutor") Executor executor,
+                                   @Value("${creditcard.wire.port:9090}") int port,
+                                   @Value("${creditcard.wire.max-in-flight-per-connection:256}") int maxInFlight) {
+        this.creditService = creditService;
+        this.executor = executor;
+        this.port = port;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot listen on wire port " + port, e);
+        }
+        running = true;
+        Thread acceptor = new Thread(this::accept, "wire-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Authorization wire listener on port {}", localPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            server.close();
+        } catch (IOException e) {
+            log.warn("Closing wire listener failed", e);
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int localPort() {
+        return server.socket().getLocalPort();
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection connection = new Connection(channel);
+                connections.add(connection);
+                Thread reader = new Thread(connection::read, "wire-conn-" + connectionIds.incrementAndGet());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("Accepting wire connection failed", e);
+            }
+        }
+    }
+
+    private final class Connection {
+        final SocketChannel channel;
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+        final AuthRequestView request = new AuthRequestView();
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read() {
+            try {
+                while (channel.read(in) >= 0) {
+                    in.flip();
+                    if (!frames()) {
+                        return;
+                    }
+                    in.compact();
+                }
+            } catch (ClosedChannelException e) {
+                // closed by stop() or after a failed write
+            } catch (IOException e) {
+                log.debug("Wire connection failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        /** Handles every complete frame in the buffer; false if the peer broke framing. */
+        private boolean frames() throws InterruptedException {
+            int length;
+            while ((length = AuthMessageCodec.bodyLength(in)) >= 0) {
+                if (length > AuthMessageCodec.MAX_BODY) {
+                    log.warn("Closing wire connection: {}-byte frame exceeds {}", length, AuthMessageCodec.MAX_BODY);
+                    return false;
+                }
+                if (in.remaining() < AuthMessageCodec.LENGTH_PREFIX + length) {
+                    break;
+                }
+                int bodyAt = in.position() + AuthMessageCodec.LENGTH_PREFIX;
+                handle(request.wrap(in, bodyAt, length));
+                in.position(bodyAt + length);
+            }
+            return true;
+        }
+
+        private void handle(AuthRequestView request) throws InterruptedException {
+            byte[] transactionId = request.transactionIdBytes();
+            String error = request.validate();
+            if (error != null) {
+                decline(transactionId, ResponseCode.FORMAT_ERROR, error);
+                return;
+            }
+            Money amount = Money.of(request.amountMinor(), CurrencyCode.valueOf(request.currency()));
+            if (amount.getCurrency() != CurrencyCode.JPY) {
+                decline(transactionId, ResponseCode.INVALID_TRANSACTION, "Currency not supported: " + amount.getCurrency());
+                return;
+            }
+            String idempotencyKey = request.transactionId();
+            AuthorizationCommand command = new AuthorizationCommand(request.memberNumber(), amount,
+                request.merchantName(), request.merchantCategory());
+            inFlight.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        authorize(transactionId, idempotencyKey, command);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                decline(transactionId, ResponseCode.RETRY, "Authorization service unavailable");
+            }
+        }
+
+        private void authorize(byte[] transactionId, String idempotencyKey, AuthorizationCommand command) {
+            AuthorizationResult result;
+            try {
+                result = creditService.authorize(idempotencyKey, command);
+            } catch (RuntimeException e) {
+                decline(transactionId, ResponseCode.RETRY, e.getMessage());
+                return;
+            }
+            if (!result.isApproved()) {
+                decline(transactionId, ResponseCode.of(result), result.getDeclineReason());
+                return;
+            }
+            Transaction tx = result.getTransaction();
+            respond(transactionId, ResponseCode.APPROVED, tx.getAuthorizationCode(), tx.getTransactionId(),
+                tx.getTransactionDatetime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), null);
+        }
+
+        private void decline(byte[] transactionId, ResponseCode code, String message) {
+            respond(transactionId, code, null, null, 0L, message);
+        }
+
+        private void respond(byte[] transactionId, ResponseCode code, String authorizationCode, String referenceId,
+                             long approvalMillis, String message) {
+            ByteBuffer out = ByteBuffer.allocate(AuthMessageCodec.LENGTH_PREFIX + AuthMessageCodec.MAX_BODY);
+            AuthMessageCodec.encodeResponse(out, transactionId, code, authorizationCode, referenceId,
+                approvalMillis, message);
+            out.flip();
+            try {
+                synchronized (this) {
+                    while (out.hasRemaining()) {
+                        channel.write(out);
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("Wire response write failed", e);
+                close();
+            }
+        }
+
+        void close() {
+            connections.remove(this);
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Closing wire connection failed", e);
+            }
+        }
+    }
+}
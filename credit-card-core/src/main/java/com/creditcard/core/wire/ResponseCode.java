@@ -0,0 +1,55 @@
+package com.creditcard.core.wire;
+
+import com.creditcard.core.metrics.DeclineReason;
+import com.creditcard.core.service.AuthorizationResult;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * AUTH_RESPONSE {@code response_code} values from {@code templates/message-formats.yaml}.
+ */
+public enum ResponseCode {
+    APPROVED("00"),
+    RETRY("01"),
+    DO_NOT_HONOR("05"),
+    INVALID_TRANSACTION("12"),
+    FORMAT_ERROR("30"),
+    INSUFFICIENT_CREDIT("51");
+
+    private final String code;
+    private final byte[] bytes;
+
+    ResponseCode(String code) {
+        this.code = code;
+        this.bytes = code.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public String code() { return code; }
+
+    byte[] bytes() { return bytes; }
+
+    public static ResponseCode of(AuthorizationResult result) {
+        if (result.isApproved()) {
+            return APPROVED;
+        }
+        DeclineReason reason = result.getReason();
+        if (reason == null) {
+            return RETRY;
+        }
+        return switch (reason) {
+            case INVALID_AMOUNT -> FORMAT_ERROR;
+            case CREDIT_LIMIT -> INSUFFICIENT_CREDIT;
+            case MEMBER_NOT_ACTIVE, FRAUD_RULE -> DO_NOT_HONOR;
+            case MEMBER_NOT_FOUND, KEY_REUSED -> INVALID_TRANSACTION;
+        };
+    }
+
+    public static ResponseCode fromCode(String code) {
+        for (ResponseCode value : values()) {
+            if (value.code.equals(code)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown response code: " + code);
+    }
+}
@@ -0,0 +1,17 @@
+INSERT INTO members (member_number, name_kanji, name_kana, email, status, credit_limit, current_balance, created_at, updated_at)
+VALUES ('M123456789', 'テスト太郎', 'テストタロウ', 'test@example.com', 'ACTIVE', 500000.00, 100000.00, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO members (member_number, name_kanji, name_kana, email, status, credit_limit, current_balance, created_at, updated_at)
+VALUES ('M000000002', 'テスト花子', 'テストハナコ', 'hanako@example.com', 'SUSPENDED', 300000.00, 0.00, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+INSERT INTO fraud_rules (rule_name, risk_level, rule_type, threshold, merchant_category, window_seconds, enabled)
+VALUES ('High amount transaction', 'HIGH', 'AMOUNT_THRESHOLD', 100000.00, NULL, NULL, TRUE);
+INSERT INTO fraud_rules (rule_name, risk_level, rule_type, threshold, merchant_category, window_seconds, enabled)
+VALUES ('Risky merchant category', 'HIGH', 'MERCHANT_CATEGORY', NULL, 'gambling,casino,adult', NULL, TRUE);
+INSERT INTO fraud_rules (rule_name, risk_level, rule_type, threshold, merchant_category, window_seconds, enabled)
+VALUES ('Mid amount transaction', 'MEDIUM', 'AMOUNT_THRESHOLD', 50000.00, NULL, NULL, TRUE);
+INSERT INTO fraud_rules (rule_name, risk_level, rule_type, threshold, merchant_category, window_seconds, enabled)
+VALUES ('Auth velocity', 'HIGH', 'VELOCITY_COUNT', 10, NULL, 60, TRUE);
+INSERT INTO fraud_rules (rule_name, risk_level, rule_type, threshold, merchant_category, window_seconds, enabled)
+VALUES ('Hourly spend velocity', 'HIGH', 'VELOCITY_AMOUNT', 300000.00, NULL, 3600, TRUE);
+INSERT INTO fraud_rules (rule_name, risk_level, rule_type, threshold, merchant_category, window_seconds, enabled)
+VALUES ('Merchant hopping', 'HIGH', 'VELOCITY_DISTINCT_MERCHANTS', 8, NULL, 600, TRUE);
@@ -0,0 +1,149 @@
+package com.creditcard.core.billing;
+
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.BillingBatchRepository;
+import com.creditcard.core.repository.BillingCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 月次請求バッチ テスト
+ * Billing Run Service Test
+ */
+class BillingRunServiceTest {
+    
+    private static final YearMonth SEPTEMBER = YearMonth.of(2026, 9);
+    
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private BillingRunService billingRun;
+    
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:billing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE members (member_number VARCHAR(20) PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE transactions (id IDENTITY, member_number VARCHAR(20), "
+            + "transaction_type VARCHAR(20), status VARCHAR(20), amount DECIMAL(10,2), transaction_datetime TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE billings (id IDENTITY, billing_id VARCHAR(20) UNIQUE, "
+            + "member_number VARCHAR(20), billing_month VARCHAR(7), status VARCHAR(20), amount DECIMAL(10,2), "
+            + "due_date TIMESTAMP, created_at TIMESTAMP, UNIQUE (member_number, billing_month))");
+        jdbcTemplate.execute("CREATE TABLE billing_checkpoints (id IDENTITY, billing_month VARCHAR(7), "
+            + "partition_no INT, lower_member_number VARCHAR(20), upper_member_number VARCHAR(20), "
+            + "last_member_number VARCHAR(20), completed BOOLEAN, updated_at TIMESTAMP, "
+            + "UNIQUE (billing_month, partition_no))");
+        for (int i = 1; i <= 9; i++) {
+            String member = String.format("M%09d", i);
+            jdbcTemplate.update("INSERT INTO members VALUES (?)", member);
+            capture(member, "1000.00", "2026-09-15 12:00:00");
+            capture(member, String.valueOf(i), "2026-09-30 23:59:59");
+        }
+        // outside the cycle, not captured, or not settled
+        capture("M000000001", "5000.00", "2026-10-01 00:00:00");
+        jdbcTemplate.update("INSERT INTO transactions (member_number, transaction_type, status, amount, transaction_datetime) "
+            + "VALUES ('M000000002', 'AUTH', 'APPROVED', 7000.00, '2026-09-10 10:00:00')");
+        jdbcTemplate.update("INSERT INTO transactions (member_number, transaction_type, status, amount, transaction_datetime) "
+            + "VALUES ('M000000003', 'CAPTURE', 'CANCELLED', 7000.00, '2026-09-10 10:00:00')");
+        
+        billingRun = new BillingRunService(new BillingBatchRepository(jdbcTemplate),
+            new BillingCheckpointRepository(jdbcTemplate), new DataSourceTransactionManager(dataSource), 2, 2, 0, 27);
+    }
+    
+    private void capture(String member, String amount, String datetime) {
+        jdbcTemplate.update("INSERT INTO transactions (member_number, transaction_type, status, amount, transaction_datetime) "
+            + "VALUES (?, 'CAPTURE', 'SETTLED', ?, ?)", member, new BigDecimal(amount), datetime);
+    }
+    
+    @Test
+    @DisplayName("正常系：締め期間内の売上確定額を会員別に請求")
+    void testRun_BillsSettledCapturesInCycle() {
+        // When
+        BillingRunSummary summary = billingRun.run(SEPTEMBER);
+        
+        // Then
+        assertEquals(8, summary.getPartitions());
+        assertEquals(9, summary.getBillingsIssued());
+        assertEquals(Money.yen(9_045_00L), summary.getAmountBilled());
+        Map<String, Object> first = jdbcTemplate.queryForMap(
+            "SELECT billing_id, amount, status, due_date FROM billings WHERE member_number = 'M000000001'");
+        assertEquals("BL202609000000001", first.get("billing_id"));
+        assertTrue(((String) first.get("billing_id")).matches("^BL[0-9]{15}$"));
+        assertEquals(0, new BigDecimal("1001.00").compareTo((BigDecimal) first.get("amount")));
+        assertEquals("ISSUED", first.get("status"));
+        assertEquals("2026-10-27T00:00", first.get("due_date").toString().replace(" ", "T").substring(0, 16));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM billing_checkpoints WHERE completed = FALSE", Integer.class));
+    }
+    
+    @Test
+    @DisplayName("正常系：チェックポイントから再開し請求済み会員は再処理しない")
+    void testRun_ResumesFromCheckpoint() {
+        // Given: a previous run billed M000000001..M000000004 and stopped
+        billingRun.run(SEPTEMBER);
+        jdbcTemplate.update("DELETE FROM billings WHERE member_number > 'M000000004'");
+        jdbcTemplate.update("UPDATE billing_checkpoints SET completed = FALSE, "
+            + "last_member_number = CASEWHEN(lower_member_number < 'M000000004', 'M000000004', lower_member_number) "
+            + "WHERE upper_member_number IS NULL OR upper_member_number > 'M000000004'");
+        
+        // When
+        BillingRunSummary resumed = billingRun.run(SEPTEMBER);
+        BillingRunSummary again = billingRun.run(SEPTEMBER);
+        
+        // Then
+        assertEquals(5, resumed.getBillingsIssued());
+        assertEquals(0, again.getBillingsIssued());
+        List<String> billed = jdbcTemplate.queryForList(
+            "SELECT member_number FROM billings ORDER BY member_number", String.class);
+        assertEquals(9, billed.size());
+    }
+    
+    @Test
+    @DisplayName("正常系：他ノードが処理中のパーティションは飛ばして残りを請求")
+    void testRun_SkipsPartitionHeldByAnotherNode() throws Exception {
+        // Given: another node is billing partition 0, which holds M000000001
+        new BillingCheckpointRepository(jdbcTemplate).createPartitions("2026-09", 8);
+        try (Connection otherNode = dataSource.getConnection(); Statement statement = otherNode.createStatement()) {
+            otherNode.setAutoCommit(false);
+            statement.executeQuery("SELECT * FROM billing_checkpoints WHERE partition_no = 0 FOR UPDATE");
+            
+            // When
+            BillingRunSummary summary = billingRun.run(SEPTEMBER);
+            
+            // Then
+            assertEquals(8, summary.getBillingsIssued());
+            assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM billings WHERE member_number = 'M000000001'", Integer.class));
+            otherNode.rollback();
+        }
+        
+        // When: the partition is free again
+        BillingRunSummary resumed = billingRun.run(SEPTEMBER);
+        
+        // Then
+        assertEquals(1, resumed.getBillingsIssued());
+    }
+    
+    @Test
+    @DisplayName("異常系：会員番号の形式外は請求IDを採番しない")
+    void testBillingId_RejectsUnexpectedMemberNumber() {
+        // When & Then
+        assertEquals("BL202609123456789", BillingRunService.billingId(SEPTEMBER, "M123456789"));
+        assertThrows(IllegalStateException.class, () -> BillingRunService.billingId(SEPTEMBER, "X12345"));
+        assertThrows(IllegalStateException.class, () -> BillingRunService.billingId(SEPTEMBER, "123456789"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.creditcard.core.concurrency;
+
+import com.creditcard.core.concurrency.ConcurrencyLimited.Priority;
+import com.creditcard.core.exception.ConcurrencyLimitExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流入制御 テスト
+ * Authorization Concurrency Limiter Test
+ */
+class AuthorizationConcurrencyLimiterTest {
+
+    private static final double MILLIS = 1_000_000.0;
+
+    @Test
+    @DisplayName("正常系：遅延が基準内なら上限を拡大し、遅延が悪化すれば縮小")
+    void testUpdateLimit_FollowsLatency() {
+        // Given
+        AuthorizationConcurrencyLimiter limiter = new AuthorizationConcurrencyLimiter(20, 4, 200, 0.8, 1.5, 0.5, 100);
+
+        // When: saturated windows at the baseline latency
+        for (int i = 0; i < 10; i++) {
+            limiter.updateLimit(2 * MILLIS, limiter.limit());
+        }
+        int grown = limiter.limit();
+
+        // Then
+        assertTrue(grown > 20, "limit grew to " + grown);
+
+        // When: latency jumps to ten times the baseline
+        for (int i = 0; i < 10; i++) {
+            limiter.updateLimit(20 * MILLIS, limiter.limit());
+        }
+
+        // Then
+        assertTrue(limiter.limit() < grown / 2, "limit shrank to " + limiter.limit());
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    @DisplayName("正常系：上限に余裕がある窓では上限を変えない")
+    void testUpdateLimit_IgnoresAppLimitedWindows() {
+        // Given
+        AuthorizationConcurrencyLimiter limiter = new AuthorizationConcurrencyLimiter(64, 4, 200, 0.8, 1.5, 0.5, 100);
+        limiter.updateLimit(2 * MILLIS, 64);
+        int before = limiter.limit();
+
+        // When: slow windows that never used half the limit
+        for (int i = 0; i < 10; i++) {
+            limiter.updateLimit(50 * MILLIS, 3);
+        }
+
+        // Then
+        assertEquals(before, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("異常系：上限到達時は待たずに拒否し、低優先度は高優先度より先に拒否")
+    void testAcquire_ShedsLowPriorityFirst() {
+        // Given
+        AuthorizationConcurrencyLimiter limiter = new AuthorizationConcurrencyLimiter(10, 4, 200, 0.8, 1.5, 0.5, 100);
+        long[] admitted = new long[10];
+        for (int i = 0; i < 8; i++) {
+            admitted[i] = limiter.acquire(Priority.HIGH);
+        }
+
+        // Then: capture/void may only use 8 of 10, authorize still gets the rest
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.acquire(Priority.LOW));
+        admitted[8] = limiter.acquire(Priority.HIGH);
+        admitted[9] = limiter.acquire(Priority.HIGH);
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limiter.acquire(Priority.HIGH));
+        assertEquals(10, limiter.inFlight());
+
+        // When
+        for (long admittedAt : admitted) {
+            limiter.release(admittedAt, false);
+        }
+
+        // Then
+        assertEquals(0, limiter.inFlight());
+        limiter.release(limiter.acquire(Priority.LOW), false);
+    }
+}
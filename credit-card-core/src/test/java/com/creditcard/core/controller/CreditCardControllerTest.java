@@ -0,0 +1,239 @@
+package com.creditcard.core.controller;
+
+import com.creditcard.core.controller.CreditCardController.AuthorizationRequest;
+import com.creditcard.core.controller.CreditCardController.AuthorizationResponse;
+import com.creditcard.core.controller.CreditCardController.BatchAuthorizationRequest;
+import com.creditcard.core.controller.CreditCardController.BatchAuthorizationResponse;
+import com.creditcard.core.controller.CreditCardController.CaptureRequest;
+import com.creditcard.core.controller.CreditCardController.CaptureResponse;
+import com.creditcard.core.controller.CreditCardController.VoidRequest;
+import com.creditcard.core.controller.CreditCardController.VoidResponse;
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.exception.ConcurrencyLimitExceededException;
+import com.creditcard.core.exception.InvalidCaptureAmountException;
+import com.creditcard.core.exception.InvalidTransactionStateException;
+import com.creditcard.core.partition.PartitionedAuthorizationEngine;
+import com.creditcard.core.service.AuthorizationResult;
+import com.creditcard.core.service.CreditManagementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * オーソリAPI テスト
+ * Credit Card Controller Test
+ */
+class CreditCardControllerTest {
+
+    private CreditManagementService creditService;
+    private CreditCardController controller;
+
+    @BeforeEach
+    void setUp() {
+        creditService = mock(CreditManagementService.class);
+        controller = new CreditCardController(creditService,
+            new StaticListableBeanFactory().getBeanProvider(PartitionedAuthorizationEngine.class), 5000);
+    }
+
+    private static AuthorizationRequest request(String memberNumber, String amount) {
+        AuthorizationRequest request = new AuthorizationRequest();
+        request.setMemberNumber(memberNumber);
+        request.setAmount(amount == null ? null : new BigDecimal(amount));
+        request.setMerchantName("Amazon Japan");
+        request.setMerchantCategory("retail");
+        return request;
+    }
+
+    @Test
+    @DisplayName("異常系：一括オーソリの不正な明細のみフォーマットエラーで否認")
+    void testAuthorizeBatch_MalformedItemsDeclinedIndividually() {
+        // Given: a bad amount and a missing member number between two valid items
+        Transaction approved = new Transaction();
+        approved.setTransactionId("TX00000000000000001");
+        approved.setAuthorizationCode("123456");
+        approved.setStatus(Transaction.TransactionStatus.APPROVED);
+        when(creditService.authorizeBatch(anyList()))
+            .thenReturn(List.of(AuthorizationResult.approved(approved), AuthorizationResult.CREDIT_LIMIT_EXCEEDED));
+        BatchAuthorizationRequest batch = new BatchAuthorizationRequest();
+        batch.setRequests(List.of(request("M123456789", "1000"), request("M123456789", "1.001"),
+            request(null, "1000"), request("M123456789", "900000")));
+
+        // When
+        ResponseEntity<BatchAuthorizationResponse> response = controller.authorizeBatch(batch);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<String> codes = response.getBody().getResults().stream()
+            .map(AuthorizationResponse::getResponseCode)
+            .toList();
+        assertEquals(List.of("00", "30", "30", "51"), codes);
+        assertEquals("memberNumber and amount are required", response.getBody().getResults().get(2).getErrorMessage());
+        verify(creditService).authorizeBatch(argThat(commands -> commands.size() == 2));
+    }
+
+    @Test
+    @DisplayName("異常系：小数3桁の金額はフォーマットエラー")
+    void testAuthorize_TooManyDecimalsIsFormatError() {
+        // When
+        ResponseEntity<AuthorizationResponse> response = controller.authorize(request("M123456789", "1.001")).join();
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("30", response.getBody().getResponseCode());
+        verifyNoInteractions(creditService);
+    }
+
+    @Test
+    @DisplayName("異常系：一括オーソリの冪等キー付き明細はフォーマットエラー")
+    void testAuthorizeBatch_KeyedItemDeclined() {
+        // Given
+        when(creditService.authorizeBatch(anyList())).thenReturn(List.of(AuthorizationResult.CREDIT_LIMIT_EXCEEDED));
+        AuthorizationRequest keyed = request("M123456789", "1000");
+        keyed.setIdempotencyKey("key-1");
+        BatchAuthorizationRequest batch = new BatchAuthorizationRequest();
+        batch.setRequests(List.of(keyed, request("M123456789", "900000")));
+        
+        // When
+        ResponseEntity<BatchAuthorizationResponse> response = controller.authorizeBatch(batch);
+        
+        // Then
+        assertEquals("30", response.getBody().getResults().get(0).getResponseCode());
+        assertEquals("51", response.getBody().getResults().get(1).getResponseCode());
+        verify(creditService).authorizeBatch(argThat(commands -> commands.size() == 1));
+    }
+
+    @Test
+    @DisplayName("異常系：一括オーソリの障害は単件と同じく500")
+    void testAuthorizeBatch_FaultIsServerError() {
+        // Given
+        when(creditService.authorizeBatch(anyList())).thenThrow(new DataAccessResourceFailureException("db down"));
+        BatchAuthorizationRequest batch = new BatchAuthorizationRequest();
+        batch.setRequests(List.of(request("M123456789", "1000")));
+        
+        // When
+        ResponseEntity<BatchAuthorizationResponse> response = controller.authorizeBatch(batch);
+        
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("Authorization service unavailable", response.getBody().getErrorMessage());
+        assertNull(response.getBody().getResults());
+    }
+
+    @Test
+    @DisplayName("異常系：一括オーソリの流量制限は503とRetry-After")
+    void testAuthorizeBatch_ShedIsServiceUnavailable() {
+        // Given
+        when(creditService.authorizeBatch(anyList())).thenThrow(new ConcurrencyLimitExceededException("busy"));
+        BatchAuthorizationRequest batch = new BatchAuthorizationRequest();
+        batch.setRequests(List.of(request("M123456789", "1000")));
+        
+        // When
+        ResponseEntity<BatchAuthorizationResponse> response = controller.authorizeBatch(batch);
+        
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("異常系：売上請求の金額不正は応答コード12")
+    void testCapture_DomainRejectionIsInvalidTransaction() {
+        // Given
+        when(creditService.capture(eq("TX1"), any())).thenThrow(new InvalidCaptureAmountException("too much"));
+        CaptureRequest request = new CaptureRequest();
+        request.setTransactionId("TX1");
+        request.setAmount(new BigDecimal("900000"));
+
+        // When
+        ResponseEntity<CaptureResponse> response = controller.capture(request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("12", response.getBody().getResponseCode());
+        assertEquals("too much", response.getBody().getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("異常系：売上請求の障害は否認ではなく500")
+    void testCapture_FaultIsServerError() {
+        // Given
+        when(creditService.capture(eq("TX1"), any())).thenThrow(new DataAccessResourceFailureException("db down"));
+        CaptureRequest request = new CaptureRequest();
+        request.setTransactionId("TX1");
+
+        // When
+        ResponseEntity<CaptureResponse> response = controller.capture(request);
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("01", response.getBody().getResponseCode());
+        assertEquals("TX1", response.getBody().getTransactionId());
+    }
+
+    @Test
+    @DisplayName("異常系：売上請求の小数3桁の金額はフォーマットエラー")
+    void testCapture_TooManyDecimalsIsFormatError() {
+        // Given
+        CaptureRequest request = new CaptureRequest();
+        request.setTransactionId("TX1");
+        request.setAmount(new BigDecimal("1.001"));
+
+        // When
+        ResponseEntity<CaptureResponse> response = controller.capture(request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("30", response.getBody().getResponseCode());
+        verifyNoInteractions(creditService);
+    }
+
+    @Test
+    @DisplayName("異常系：取消済み取引の取消は応答コード12")
+    void testVoid_DomainRejectionIsInvalidTransaction() {
+        // Given
+        when(creditService.voidTransaction("TX1")).thenThrow(new InvalidTransactionStateException("not approved"));
+        VoidRequest request = new VoidRequest();
+        request.setTransactionId("TX1");
+
+        // When
+        ResponseEntity<VoidResponse> response = controller.voidTransaction(request);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("12", response.getBody().getResponseCode());
+    }
+
+    @Test
+    @DisplayName("異常系：取消の障害は否認ではなく500、流量制限は503")
+    void testVoid_FaultsMappedLikeAuthorize() {
+        // Given
+        when(creditService.voidTransaction("TX1")).thenThrow(new IllegalStateException("boom"));
+        when(creditService.voidTransaction("TX2")).thenThrow(new ConcurrencyLimitExceededException("busy"));
+        VoidRequest failed = new VoidRequest();
+        failed.setTransactionId("TX1");
+        VoidRequest shed = new VoidRequest();
+        shed.setTransactionId("TX2");
+
+        // When
+        ResponseEntity<VoidResponse> failedResponse = controller.voidTransaction(failed);
+        ResponseEntity<VoidResponse> shedResponse = controller.voidTransaction(shed);
+
+        // Then
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, failedResponse.getStatusCode());
+        assertEquals("01", failedResponse.getBody().getResponseCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shedResponse.getStatusCode());
+        assertEquals("1", shedResponse.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
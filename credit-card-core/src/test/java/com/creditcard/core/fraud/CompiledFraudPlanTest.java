@@ -0,0 +1,106 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.domain.FraudRule;
+import com.creditcard.core.ledger.MinorUnits;
+import com.creditcard.core.metrics.DeclineReason;
+import com.creditcard.core.service.AuthorizationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 不正検知評価プラン テスト
+ * Compiled Fraud Plan Test
+ */
+class CompiledFraudPlanTest {
+    
+    private static FraudRule amountRule(String name, String threshold) {
+        FraudRule rule = new FraudRule();
+        rule.setRuleName(name);
+        rule.setRiskLevel(FraudRule.RiskLevel.HIGH);
+        rule.setRuleType(FraudRule.RuleType.AMOUNT_THRESHOLD);
+        rule.setThreshold(new BigDecimal(threshold));
+        rule.setEnabled(true);
+        return rule;
+    }
+    
+    private static FraudRule categoryRule(String name, String categories) {
+        FraudRule rule = new FraudRule();
+        rule.setRuleName(name);
+        rule.setRiskLevel(FraudRule.RiskLevel.CRITICAL);
+        rule.setRuleType(FraudRule.RuleType.MERCHANT_CATEGORY);
+        rule.setMerchantCategory(categories);
+        rule.setEnabled(true);
+        return rule;
+    }
+    
+    @Test
+    @DisplayName("正常系：閾値は超過時のみ検知")
+    void testEvaluate_AmountThresholdsAreExclusive() {
+        // Given
+        CompiledFraudPlan plan = CompiledFraudPlan.compile(List.of(
+            amountRule("Over 100k", "100000"), amountRule("Over 50k", "50000")));
+        
+        // When & Then
+        assertEquals(0L, plan.evaluate(MinorUnits.of(new BigDecimal("50000")), "retail"));
+        assertEquals(0b10L, plan.evaluate(MinorUnits.of(new BigDecimal("100000")), "retail"));
+        assertEquals(0b11L, plan.evaluate(MinorUnits.of(new BigDecimal("100000.01")), "retail"));
+    }
+    
+    @Test
+    @DisplayName("正常系：業種は大文字小文字を区別しない")
+    void testEvaluate_MerchantCategoryIgnoresCase() {
+        // Given
+        CompiledFraudPlan plan = CompiledFraudPlan.compile(List.of(
+            amountRule("High amount transaction", "100000"),
+            categoryRule("Risky merchant category", "gambling, casino,adult")));
+        
+        // When
+        long hits = plan.evaluate(MinorUnits.of(new BigDecimal("200000")), "CaSiNo");
+        
+        // Then
+        assertEquals(0b11L, hits);
+        assertEquals("High amount transaction, Risky merchant category", plan.describe(hits));
+        assertEquals(0L, plan.evaluate(1L, "casinos"));
+        assertEquals(0L, plan.evaluate(1L, null));
+    }
+    
+    @Test
+    @DisplayName("正常系：不正否認は事前生成した結果を再利用し、最も重大なルールを示す")
+    void testDecline_SharedResultForMostSevereRule() {
+        // Given: a HIGH amount rule and a CRITICAL category rule
+        CompiledFraudPlan plan = CompiledFraudPlan.compile(List.of(
+            amountRule("High amount transaction", "100000"),
+            categoryRule("Risky merchant category", "casino")));
+        long amountOnly = plan.blocking(plan.evaluate(MinorUnits.of(new BigDecimal("200000")), "retail"));
+        long both = plan.blocking(plan.evaluate(MinorUnits.of(new BigDecimal("200000")), "casino"));
+        
+        // When
+        AuthorizationResult first = plan.decline(amountOnly);
+        
+        // Then
+        assertSame(first, plan.decline(amountOnly));
+        assertEquals(DeclineReason.FRAUD_RULE, first.getReason());
+        assertEquals("Fraud detected: High amount transaction", first.getDeclineReason());
+        assertEquals("Fraud detected: Risky merchant category", plan.decline(both).getDeclineReason());
+        assertSame(plan.decline(both), plan.decline(0b10L));
+    }
+    
+    @Test
+    @DisplayName("異常系：ルール数上限超過")
+    void testCompile_TooManyRules() {
+        // Given
+        List<FraudRule> rules = new ArrayList<>();
+        for (int i = 0; i <= CompiledFraudPlan.MAX_RULES; i++) {
+            rules.add(amountRule("rule" + i, String.valueOf(i + 1)));
+        }
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> CompiledFraudPlan.compile(rules));
+    }
+}
@@ -0,0 +1,140 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.domain.FraudAlert;
+import com.creditcard.core.domain.FraudRule;
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.FraudAlertRepository;
+import com.creditcard.core.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 非同期不正スコアリング テスト
+ * Fraud Scoring Pipeline Test
+ */
+class FraudScoringPipelineTest {
+    
+    private TransactionRepository transactionRepository;
+    private FraudAlertRepository alertRepository;
+    private CreditLedger creditLedger;
+    private FraudScoringPipeline pipeline;
+    private int sequence;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        alertRepository = mock(FraudAlertRepository.class);
+        creditLedger = new CreditLedger();
+        creditLedger.account(MemberProfile.of(Member.builder()
+            .memberNumber("M123456789")
+            .status(Member.MemberStatus.ACTIVE)
+            .creditLimit(Money.yen(500_000_00L))
+            .currentBalance(Money.yen(0L))
+            .build()));
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+    
+    private FraudScoringPipeline pipeline(boolean enabled) {
+        pipeline = new FraudScoringPipeline(new MemberRiskScorer(transactionRepository, 50, 5, 1000),
+            alertRepository, creditLedger, new SimpleMeterRegistry(), enabled, 1024, 64, 4.0, 8.0);
+        return pipeline;
+    }
+    
+    private Transaction auth(long amountMinor, String category) {
+        Transaction tx = new Transaction();
+        tx.setTransactionId(String.format("TX%017d", ++sequence));
+        tx.setMemberNumber("M123456789");
+        tx.setType(Transaction.TransactionType.AUTH);
+        tx.setAmount(Money.yen(amountMinor));
+        tx.setMerchantName("Corner Shop");
+        tx.setMerchantCategory(category);
+        return tx;
+    }
+    
+    private void givenHistory(int count, long amountMinor, String category) {
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            history.add(auth(amountMinor + i * 10_00L, category));
+        }
+        when(transactionRepository.findByMemberNumberAndTypeOrderByTransactionDatetimeDesc(
+            eq("M123456789"), eq(Transaction.TransactionType.AUTH), any())).thenReturn(history);
+    }
+    
+    @Test
+    @DisplayName("正常系：履歴から大きく外れた金額は高リスク警告と会員フラグ")
+    void testAssess_OutlierFlagsMember() {
+        // Given
+        givenHistory(20, 1_000_00L, "grocery");
+        
+        // When
+        FraudAlert alert = pipeline(false).assess(auth(90_000_00L, "grocery"));
+        
+        // Then
+        assertEquals(FraudRule.RiskLevel.HIGH, alert.getRiskLevel());
+        assertTrue(alert.getScore() >= 8.0);
+        assertTrue(alert.getReason().contains("above member mean"));
+        assertTrue(alert.getMemberFlagged());
+        assertTrue(creditLedger.find("M123456789").isFlagged());
+    }
+    
+    @Test
+    @DisplayName("正常系：通常の利用は警告なし、インライン中リスク警告は記録のみ")
+    void testAssess_WarningsWithoutFlag() {
+        // Given
+        givenHistory(20, 1_000_00L, "grocery");
+        FraudScoringPipeline scoring = pipeline(false);
+        Transaction warned = auth(1_050_00L, "grocery");
+        warned.setFraudWarningLevel(FraudRule.RiskLevel.MEDIUM);
+        warned.setFraudWarning("Mid amount transaction");
+        
+        // When
+        FraudAlert clean = scoring.assess(auth(1_100_00L, "grocery"));
+        FraudAlert alert = scoring.assess(warned);
+        
+        // Then
+        assertNull(clean);
+        assertEquals(FraudRule.RiskLevel.MEDIUM, alert.getRiskLevel());
+        assertNull(alert.getScore());
+        assertEquals("rules: Mid amount transaction", alert.getReason());
+        assertFalse(alert.getMemberFlagged());
+        assertFalse(creditLedger.find("M123456789").isFlagged());
+    }
+    
+    @Test
+    @DisplayName("正常系：キュー投入後、ワーカーが警告を保存")
+    void testSubmit_WorkerWritesAlerts() {
+        // Given
+        givenHistory(20, 1_000_00L, "grocery");
+        FraudScoringPipeline scoring = pipeline(true);
+        
+        // When
+        scoring.submit(List.of(auth(1_000_00L, "grocery"), auth(90_000_00L, "grocery")));
+        
+        // Then
+        verify(alertRepository, timeout(5000)).saveAll(argThat(alerts -> {
+            List<FraudAlert> written = new ArrayList<>();
+            alerts.forEach(written::add);
+            return written.size() == 1 && written.get(0).getRiskLevel() == FraudRule.RiskLevel.HIGH;
+        }));
+    }
+}
@@ -0,0 +1,120 @@
+package com.creditcard.core.fraud;
+
+import com.creditcard.core.domain.FraudRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 利用頻度カウンタ テスト
+ * Velocity Tracker Test
+ */
+class VelocityTrackerTest {
+    
+    private static final long T0 = 1_800_000_000_000L;
+    
+    private VelocityTracker tracker;
+    private CompiledFraudPlan plan;
+    
+    @BeforeEach
+    void setUp() {
+        tracker = new VelocityTracker(1024, 60, 10, 900, 4);
+        plan = CompiledFraudPlan.compile(List.of(
+            velocityRule("3 auths per 2 minutes", FraudRule.RuleType.VELOCITY_COUNT, "3", 120),
+            velocityRule("50k per hour", FraudRule.RuleType.VELOCITY_AMOUNT, "50000", 3600)));
+    }
+    
+    private static FraudRule velocityRule(String name, FraudRule.RuleType type, String threshold, int windowSeconds) {
+        FraudRule rule = new FraudRule();
+        rule.setRuleName(name);
+        rule.setRiskLevel(FraudRule.RiskLevel.HIGH);
+        rule.setRuleType(type);
+        rule.setThreshold(new BigDecimal(threshold));
+        rule.setWindowSeconds(windowSeconds);
+        rule.setEnabled(true);
+        return rule;
+    }
+    
+    @Test
+    @DisplayName("正常系：件数ウィンドウの超過と失効")
+    void testEvaluate_CountWindowSlides() {
+        // Given: three auths within the same minute
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0L, tracker.evaluate(plan, "M123456789", 100L, "shop", T0));
+            tracker.record("M123456789", 100L, "shop", T0);
+        }
+        
+        // When & Then: a fourth in the window fires, other members are unaffected
+        assertEquals(0b01L, tracker.evaluate(plan, "M123456789", 100L, "shop", T0 + 30_000L));
+        assertEquals(0L, tracker.evaluate(plan, "M987654321", 100L, "shop", T0 + 30_000L));
+        
+        // When & Then: once the buckets age out of the 2-minute window the count resets
+        assertEquals(0L, tracker.evaluate(plan, "M123456789", 100L, "shop", T0 + 180_000L));
+    }
+    
+    @Test
+    @DisplayName("正常系：金額ウィンドウの累積")
+    void testEvaluate_AmountAccumulatesAcrossBuckets() {
+        // Given: 40,000 spread over 40 minutes
+        for (int minute = 0; minute < 40; minute += 10) {
+            tracker.record("M123456789", 1_000_000L, "shop" + minute, T0 + minute * 60_000L);
+        }
+        
+        // When & Then: another 10,000.01 crosses the 50,000 hourly threshold
+        long at = T0 + 45 * 60_000L;
+        assertEquals(0L, tracker.evaluate(plan, "M123456789", 1_000_000L, "shop", at));
+        assertEquals(0b10L, tracker.evaluate(plan, "M123456789", 1_000_001L, "shop", at));
+    }
+    
+    @Test
+    @DisplayName("異常系：容量超過で有効なウィンドウを追い出した件数を計測")
+    void testRecord_CountsEvictionsOfLiveWindows() {
+        // Given: room for 16 members
+        VelocityTracker small = new VelocityTracker(16, 60, 10, 900, 4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        small.bindTo(registry);
+        
+        // When: 17 members are active in the same hour
+        for (int i = 0; i < 17; i++) {
+            small.record(String.format("M%09d", i), 100L, "shop", T0);
+        }
+        
+        // Then
+        double evicted = registry.get("creditcard.fraud.velocity.evictions").functionCounter().count();
+        assertTrue(evicted >= 1.0);
+        
+        // When: a new member replaces windows that already aged out
+        small.record("M999999999", 100L, "shop", T0 + 7_200_000L);
+        
+        // Then
+        assertEquals(evicted, registry.get("creditcard.fraud.velocity.evictions").functionCounter().count());
+    }
+    
+    @Test
+    @DisplayName("正常系：既定容量で100万会員を追い出しなく追跡")
+    void testRecord_MillionActiveMembersAtDefaultCapacity() {
+        // Given: the default layout, about 240 MB
+        VelocityTracker large = new VelocityTracker(2_097_152, 60, 10, 900, 4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        large.bindTo(registry);
+        int members = 1_000_000;
+        
+        // When: a million members each authorize once over the hour
+        for (int i = 0; i < members; i++) {
+            large.record(String.format("M%09d", i), 100L, "shop", T0 + i * 3_600_000L / members);
+        }
+        
+        // Then: almost none lose their windows, and their counts survive
+        double evicted = registry.get("creditcard.fraud.velocity.evictions").functionCounter().count();
+        assertTrue(evicted < members * 0.001, "evicted " + evicted);
+        long at = T0 + 3_599_000L;
+        assertEquals(0b10L, large.evaluate(plan, "M000999999", 5_000_000L, "shop", at));
+        assertEquals(0L, large.evaluate(plan, "M000999999", 4_999_900L, "shop", at));
+    }
+}
@@ -0,0 +1,78 @@
+package com.creditcard.core.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 取引ID採番 テスト
+ * Snowflake Transaction Id Generator Test
+ */
+class SnowflakeTransactionIdGeneratorTest {
+    
+    @Test
+    @DisplayName("正常系：並行採番でも重複しない")
+    void testNextTransactionId_UniqueUnderContention() throws InterruptedException {
+        // Given
+        SnowflakeTransactionIdGenerator generator = new SnowflakeTransactionIdGenerator(7);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextTransactionId());
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        // Then
+        assertEquals(threads * perThread, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.matches("^TX[0-9]{17}$")));
+    }
+    
+    @Test
+    @DisplayName("正常系：ノードIDが異なれば重複しない")
+    void testNextId_NodeIdIsEncoded() {
+        // Given
+        SnowflakeTransactionIdGenerator node1 = new SnowflakeTransactionIdGenerator(1);
+        SnowflakeTransactionIdGenerator node2 = new SnowflakeTransactionIdGenerator(2);
+        
+        // When
+        long id1 = node1.nextId();
+        long id2 = node2.nextId();
+        
+        // Then
+        assertNotEquals(id1 >>> 10 & 31, id2 >>> 10 & 31);
+        assertEquals(1, id1 >>> 10 & 31);
+        assertEquals(2, id2 >>> 10 & 31);
+    }
+    
+    @Test
+    @DisplayName("異常系：ノードID範囲外")
+    void testConstructor_RejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeTransactionIdGenerator(32));
+        assertEquals("TX00000000000000042", SnowflakeTransactionIdGenerator.render(42L));
+    }
+}
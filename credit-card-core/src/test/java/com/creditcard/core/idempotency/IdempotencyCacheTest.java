@@ -0,0 +1,155 @@
+package com.creditcard.core.idempotency;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 冪等キャッシュ テスト
+ * Idempotency Cache Test
+ */
+class IdempotencyCacheTest {
+    
+    private static final AuthorizationCommand COMMAND =
+        new AuthorizationCommand("M123456789", Money.yen(1_000_00L), "Amazon Japan", "retail");
+    
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger authorizations = new AtomicInteger();
+    private IdempotencyCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new IdempotencyCache(2, 60, clock::get);
+    }
+    
+    private Supplier<AuthorizationResult> approve() {
+        return () -> {
+            authorizations.incrementAndGet();
+            return AuthorizationResult.approved(new Transaction());
+        };
+    }
+    
+    @Test
+    @DisplayName("正常系：TTL内の再送は認可を再実行しない")
+    void testExecute_ReplaysWithinTtl() {
+        // Given
+        AuthorizationResult first = cache.execute("k1", COMMAND, approve());
+        
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        AuthorizationResult retry = cache.execute("k1", COMMAND, approve());
+        
+        // Then
+        assertSame(first, retry);
+        assertEquals(1, authorizations.get());
+    }
+    
+    @Test
+    @DisplayName("正常系：TTL経過後は再実行")
+    void testExecute_ExpiresAfterTtl() {
+        // Given
+        cache.execute("k1", COMMAND, approve());
+        
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        cache.execute("k1", COMMAND, approve());
+        
+        // Then
+        assertEquals(2, authorizations.get());
+    }
+    
+    @Test
+    @DisplayName("異常系：同一キーで異なる要求は否認")
+    void testExecute_KeyReusedWithDifferentRequest() {
+        // Given
+        cache.execute("k1", COMMAND, approve());
+        
+        // When
+        AuthorizationResult result = cache.execute("k1",
+            new AuthorizationCommand("M123456789", Money.yen(2_000_00L), "Amazon Japan", "retail"), approve());
+        
+        // Then
+        assertFalse(result.isApproved());
+        assertEquals(IdempotencyCache.KEY_REUSED, result.getDeclineReason());
+        assertEquals(1, authorizations.get());
+    }
+    
+    @Test
+    @DisplayName("異常系：例外終了したキーは再試行可能")
+    void testExecute_ForgetsFailedKey() {
+        // Given
+        assertThrows(IllegalStateException.class, () -> cache.execute("k1", COMMAND, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        
+        // When
+        AuthorizationResult retry = cache.execute("k1", COMMAND, approve());
+        
+        // Then
+        assertTrue(retry.isApproved());
+        assertEquals(1, authorizations.get());
+    }
+    
+    /** Runs {@code work} as if in a transaction that ends with {@code status}. */
+    private static <T> T inTransaction(int status, Supplier<T> work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = work.get();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    @DisplayName("異常系：ロールバックした承認は再送に返さず再認可")
+    void testExecute_ForgetsRolledBackApproval() {
+        // Given: the first approval's transaction rolls back after the result was returned
+        AuthorizationResult rolledBack = inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+            () -> cache.execute("k1", COMMAND, approve()));
+        assertTrue(rolledBack.isApproved());
+        assertEquals(0, cache.size());
+        
+        // When
+        AuthorizationResult committed = inTransaction(TransactionSynchronization.STATUS_COMMITTED,
+            () -> cache.execute("k1", COMMAND, approve()));
+        AuthorizationResult retry = cache.execute("k1", COMMAND, approve());
+        
+        // Then: authorized again, and only the committed outcome is replayed
+        assertNotSame(rolledBack, committed);
+        assertSame(committed, retry);
+        assertEquals(2, authorizations.get());
+    }
+    
+    @Test
+    @DisplayName("正常系：容量超過時は最古のキーを追い出す")
+    void testExecute_EvictsOldestOverCapacity() {
+        // Given
+        cache.execute("k1", COMMAND, approve());
+        cache.execute("k2", COMMAND, approve());
+        
+        // When
+        cache.execute("k3", COMMAND, approve());
+        cache.execute("k1", COMMAND, approve());
+        
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(4, authorizations.get());
+    }
+}
@@ -0,0 +1,107 @@
+package com.creditcard.core.journal;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ジャーナル書き込み テスト
+ * Journal Transaction Writer Test
+ */
+class JournalTransactionWriterTest {
+    
+    @TempDir
+    Path directory;
+    
+    private JournalTransactionWriter writer(TransactionBatchRepository repository) throws Exception {
+        return new JournalTransactionWriter(TransactionJournal.open(directory, 1 << 16), repository,
+            TransactionOperations.withoutTransaction(), 100);
+    }
+    
+    private static Transaction auth(String transactionId) {
+        Transaction tx = new Transaction();
+        tx.setTransactionId(transactionId);
+        tx.setMemberNumber("M123456789");
+        tx.setType(Transaction.TransactionType.AUTH);
+        tx.setStatus(Transaction.TransactionStatus.APPROVED);
+        tx.setAmount(Money.yen(1_000_00L));
+        return tx;
+    }
+    
+    @Test
+    @DisplayName("正常系：起動時の再生で反映済みの行は重複登録しない")
+    void testReplay_SkipsRowsAlreadyLoaded() throws Exception {
+        // Given: TX1 reached the table but the checkpoint did not
+        TransactionBatchRepository repository = mock(TransactionBatchRepository.class);
+        doThrow(new DuplicateKeyException("batch")).when(repository).insertAll(argThat(txs -> txs.size() == 2));
+        doThrow(new DuplicateKeyException("TX1")).when(repository)
+            .insertAll(argThat(txs -> txs.size() == 1 && txs.get(0).getTransactionId().equals("TX1")));
+        when(repository.findByTransactionId("TX1")).thenReturn(Optional.of(auth("TX1")));
+        JournalTransactionWriter writer = writer(repository);
+        writer.insertAll(List.of(auth("TX1"), auth("TX2")));
+        assertTrue(writer.hasPending());
+        
+        // When
+        writer.afterSingletonsInstantiated();
+        
+        // Then
+        assertFalse(writer.hasPending());
+        verify(repository).insertAll(argThat(txs -> txs.size() == 1 && txs.get(0).getTransactionId().equals("TX2")));
+        writer.close();
+    }
+    
+    @Test
+    @DisplayName("異常系：DB障害中は反映位置を進めない")
+    void testDrain_KeepsJournalWhileDatabaseDown() throws Exception {
+        // Given
+        TransactionBatchRepository repository = mock(TransactionBatchRepository.class);
+        doThrow(new IllegalStateException("db down")).when(repository).insertAll(anyList());
+        JournalTransactionWriter writer = writer(repository);
+        writer.insertAll(List.of(auth("TX1")));
+        
+        // When
+        writer.drain();
+        
+        // Then
+        assertTrue(writer.hasPending());
+        doNothing().when(repository).insertAll(anyList());
+        writer.drain();
+        assertFalse(writer.hasPending());
+        writer.close();
+    }
+    
+    @Test
+    @DisplayName("異常系：別の行と衝突した取引は破棄せずジャーナルに残す")
+    void testDrain_StopsAtRowConflictingWithAnotherRow() throws Exception {
+        // Given: TX1's id is already taken by a different member's row
+        TransactionBatchRepository repository = mock(TransactionBatchRepository.class);
+        doThrow(new DuplicateKeyException("transaction id")).when(repository).insertAll(anyList());
+        Transaction other = auth("TX1");
+        other.setMemberNumber("M987654321");
+        when(repository.findByTransactionId("TX1")).thenReturn(Optional.of(other));
+        JournalTransactionWriter writer = writer(repository);
+        writer.insertAll(List.of(auth("TX1")));
+        
+        // When
+        writer.drain();
+        
+        // Then: still journaled, and loaded once the conflict is cleared
+        assertTrue(writer.hasPending());
+        when(repository.findByTransactionId("TX1")).thenReturn(Optional.of(auth("TX1")));
+        writer.drain();
+        assertFalse(writer.hasPending());
+        writer.close();
+    }
+}
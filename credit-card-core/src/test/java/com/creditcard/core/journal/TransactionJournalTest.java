@@ -0,0 +1,170 @@
+package com.creditcard.core.journal;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 取引ジャーナル テスト
+ * Transaction Journal Test
+ */
+class TransactionJournalTest {
+    
+    @TempDir
+    Path directory;
+    
+    private static Transaction auth(String transactionId) {
+        Transaction tx = new Transaction();
+        tx.setTransactionId(transactionId);
+        tx.setMemberNumber("M123456789");
+        tx.setType(Transaction.TransactionType.AUTH);
+        tx.setStatus(Transaction.TransactionStatus.APPROVED);
+        tx.setAmount(Money.yen(1_234_50L));
+        tx.setAuthorizationCode("123456");
+        tx.setMerchantName("アマゾン");
+        tx.setMerchantCategory("retail");
+        tx.setTransactionDatetime(LocalDateTime.of(2026, 10, 1, 12, 34, 56, 789_012_000));
+        return tx;
+    }
+    
+    private static List<Transaction> drainAll(TransactionJournal journal) {
+        List<Transaction> drained = new ArrayList<>();
+        while (journal.drain(100, drained::addAll) > 0) {
+            // until empty
+        }
+        return drained;
+    }
+    
+    @Test
+    @DisplayName("正常系：再起動後に未反映の取引を再生")
+    void testOpen_ReplaysUndrainedTail() throws IOException {
+        // Given
+        try (TransactionJournal journal = TransactionJournal.open(directory, 1 << 16)) {
+            journal.append(List.of(auth("TX1"), auth("TX2")));
+            journal.drain(1, batch -> { });
+            journal.append(List.of(auth("TX3")));
+        }
+        
+        // When
+        List<Transaction> replayed;
+        try (TransactionJournal journal = TransactionJournal.open(directory, 1 << 16)) {
+            replayed = drainAll(journal);
+        }
+        
+        // Then: TX1 was drained before the restart
+        assertEquals(List.of("TX2", "TX3"), replayed.stream().map(Transaction::getTransactionId).toList());
+        Transaction tx = replayed.get(0);
+        assertEquals("M123456789", tx.getMemberNumber());
+        assertEquals(Transaction.TransactionType.AUTH, tx.getType());
+        assertEquals(Transaction.TransactionStatus.APPROVED, tx.getStatus());
+        assertEquals(Money.yen(1_234_50L), tx.getAmount());
+        assertEquals("アマゾン", tx.getMerchantName());
+        assertNull(tx.getIdempotencyKey());
+        assertEquals(LocalDateTime.of(2026, 10, 1, 12, 34, 56, 789_012_000), tx.getTransactionDatetime());
+    }
+    
+    @Test
+    @DisplayName("異常系：書き込み途中で破損した末尾は再生しない")
+    void testOpen_DiscardsTornTail() throws IOException {
+        // Given: the second record's payload is damaged
+        try (TransactionJournal journal = TransactionJournal.open(directory, 1 << 16)) {
+            journal.append(List.of(auth("TX1"), auth("TX2")));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(f -> f.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            int second = Integer.BYTES * 2 + length.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), second + Integer.BYTES * 2 + 3);
+        }
+        
+        // When
+        List<Transaction> replayed;
+        try (TransactionJournal journal = TransactionJournal.open(directory, 1 << 16)) {
+            journal.append(List.of(auth("TX3")));
+            replayed = drainAll(journal);
+        }
+        
+        // Then
+        assertEquals(List.of("TX1", "TX3"), replayed.stream().map(Transaction::getTransactionId).toList());
+    }
+    
+    @Test
+    @DisplayName("正常系：セグメント切替と反映済みセグメントの削除")
+    void testAppend_RollsAndDeletesDrainedSegments() throws IOException {
+        // Given: segments that hold only a few records each
+        try (TransactionJournal journal = TransactionJournal.open(directory, 512)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(List.of(auth("TX" + i)));
+            }
+            
+            // When
+            List<Transaction> drained = drainAll(journal);
+            
+            // Then
+            assertEquals(20, drained.size());
+            assertEquals("TX19", drained.get(19).getTransactionId());
+            assertFalse(journal.hasUndrained());
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.filter(f -> f.toString().endsWith(".journal")).count());
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("正常系：並行追記をグループコミットで全件永続化")
+    void testAppend_ConcurrentGroupCommit() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (TransactionJournal journal = TransactionJournal.open(directory, 1 << 16)) {
+            
+            // When
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append(List.of(auth("TX" + thread + "-" + i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            
+            // Then
+            Set<String> ids = new HashSet<>();
+            for (Transaction tx : drainAll(journal)) {
+                ids.add(tx.getTransactionId());
+            }
+            assertEquals(threads * perThread, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
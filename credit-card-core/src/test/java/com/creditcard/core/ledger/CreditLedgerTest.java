@@ -0,0 +1,100 @@
+package com.creditcard.core.ledger;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 与信台帳 テスト
+ * Credit Ledger Test
+ */
+class CreditLedgerTest {
+    
+    private CreditLedger ledger;
+    private LedgerAccount account;
+    
+    @BeforeEach
+    void setUp() {
+        ledger = new CreditLedger();
+        account = ledger.account(Member.builder()
+            .memberNumber("M123456789")
+            .status(Member.MemberStatus.ACTIVE)
+            .creditLimit(Money.yen(100_000_00L))
+            .currentBalance(Money.yen(0L))
+            .build());
+    }
+    
+    @Test
+    @DisplayName("正常系：並行オーソリでも限度額を超えない")
+    void testReserve_ConcurrentNeverExceedsLimit() throws InterruptedException {
+        // Given: 16 threads racing for 1,000-yen reservations against a 100,000 limit
+        int threads = 16;
+        int attemptsPerThread = 50;
+        long amount = MinorUnits.of(new BigDecimal("1000"));
+        AtomicInteger approved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // When
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (ledger.reserve(account, amount)) {
+                        approved.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        // Then
+        assertEquals(100, approved.get());
+        assertEquals(account.getCreditLimit(), account.getBalance());
+        assertEquals(0, account.available());
+    }
+    
+    @Test
+    @DisplayName("異常系：0以下の金額は確保しない")
+    void testReserve_RejectsNonPositiveAmount() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve(account, 0L));
+        assertThrows(IllegalArgumentException.class, () -> ledger.reserve(account, -1_000_00L));
+        assertEquals(0, account.getBalance());
+        assertTrue(ledger.drainDirty(10).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("正常系：解放後の書き戻し対象")
+    void testRelease_QueuesAccountOnceForWriteBehind() {
+        // Given
+        long amount = MinorUnits.of(new BigDecimal("30000"));
+        ledger.reserve(account, amount);
+        
+        // When
+        ledger.release(account, amount);
+        
+        // Then
+        assertEquals(0, account.getBalance());
+        assertEquals(1, ledger.drainDirty(10).size());
+        assertTrue(ledger.drainDirty(10).isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package com.creditcard.core.ledger;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 与信台帳スナップショット テスト
+ * Ledger Snapshot Test
+ */
+class LedgerSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static MemberProfile profile(String memberNumber, long creditLimit, long balance) {
+        return new MemberProfile(memberNumber, Member.MemberStatus.ACTIVE, Money.yen(creditLimit), Money.yen(balance));
+    }
+
+    @Test
+    @DisplayName("正常系：再起動後の口座はスナップショットと以降の差分から復元")
+    void testRestore_SeedsFromSnapshotPlusTail() throws Exception {
+        // Given: a ledger snapshotted with one flagged member
+        Path file = directory.resolve("ledger.snapshot");
+        CreditLedger before = new CreditLedger();
+        before.reserve(before.account(profile("M000000002", 100_000_00L, 0L)), 30_000_00L);
+        before.reserve(before.account(profile("M000000001", 50_000_00L, 0L)), 10_000_00L);
+        before.flag("M000000002");
+        before.writeSnapshot(file, LedgerSnapshot.now(), 42L);
+
+        // When: a new node restores it, 5,000 more was authorized for M000000001 since
+        CreditLedger after = new CreditLedger();
+        after.restore(LedgerSnapshot.open(file), Map.of("M000000001", 5_000_00L));
+
+        // Then: balances come from the snapshot, the limit from the current profile
+        LedgerAccount restored = after.account(profile("M000000001", 80_000_00L, 0L));
+        assertEquals(15_000_00L, restored.getBalance());
+        assertEquals(80_000_00L, restored.getCreditLimit());
+        assertFalse(restored.isFlagged());
+        assertEquals(List.of(restored), after.drainDirty(10));
+        after.release("M000000002", 30_000_00L);
+        assertEquals(0L, after.find("M000000002").getBalance());
+        assertTrue(after.find("M000000002").isFlagged());
+        LedgerAccount unknown = after.account(profile("M000000003", 10_000_00L, 2_000_00L));
+        assertEquals(2_000_00L, unknown.getBalance());
+    }
+
+    @Test
+    @DisplayName("正常系：未使用の口座は次のスナップショットへ差分込みで引き継ぐ")
+    void testWrite_CarriesOverUntouchedAccounts() throws Exception {
+        // Given: a restored snapshot of three members, one used since
+        Path file = directory.resolve("ledger.snapshot");
+        CreditLedger first = new CreditLedger();
+        for (String memberNumber : List.of("M3", "M1", "M2")) {
+            first.reserve(first.account(profile(memberNumber, 100_000_00L, 0L)), 1_000_00L);
+        }
+        first.writeSnapshot(file, LedgerSnapshot.now(), 7L);
+        CreditLedger restored = new CreditLedger();
+        restored.restore(LedgerSnapshot.open(file), Map.of("M3", 500_00L));
+        restored.reserve(restored.account(profile("M2", 100_000_00L, 0L)), 2_000_00L);
+
+        // When
+        LedgerSnapshot next = restored.writeSnapshot(file, LedgerSnapshot.now(), 9L);
+
+        // Then
+        assertEquals(3, next.size());
+        assertEquals(9L, next.transactionWatermark());
+        assertEquals(1_000_00L, next.balance(next.indexOf("M1")));
+        assertEquals(3_000_00L, next.balance(next.indexOf("M2")));
+        assertEquals(1_500_00L, next.balance(next.indexOf("M3")));
+        assertEquals(-1, next.indexOf("M4"));
+        assertTrue(next.startedAt() <= next.completedAt());
+    }
+
+    @Test
+    @DisplayName("正常系：与信枠変更はスナップショットのみの口座にも反映")
+    void testUpdateCreditLimit_AppliesToSnapshotOnlyAccount() throws Exception {
+        // Given
+        Path file = directory.resolve("ledger.snapshot");
+        CreditLedger before = new CreditLedger();
+        before.reserve(before.account(profile("M000000001", 50_000_00L, 0L)), 10_000_00L);
+        before.writeSnapshot(file, LedgerSnapshot.now(), 1L);
+        CreditLedger after = new CreditLedger();
+        after.restore(LedgerSnapshot.open(file), Map.of());
+
+        // When
+        after.updateCreditLimit("M000000001", 80_000_00L);
+        after.updateCreditLimit("M000000002", 80_000_00L);
+        after.release("M000000001", 1_000_00L);
+
+        // Then
+        assertEquals(80_000_00L, after.find("M000000001").getCreditLimit());
+        assertEquals(9_000_00L, after.find("M000000001").getBalance());
+        assertNull(after.find("M000000002"));
+    }
+}
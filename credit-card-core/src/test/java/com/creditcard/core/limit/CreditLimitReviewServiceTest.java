@@ -0,0 +1,194 @@
+package com.creditcard.core.limit;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.member.MemberProfileCache;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.CreditLimitChangeRepository;
+import com.creditcard.core.repository.CreditLimitReviewRepository;
+import com.creditcard.core.repository.LimitReviewCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 与信枠一括見直し テスト
+ * Credit Limit Review Service Test
+ */
+class CreditLimitReviewServiceTest {
+
+    private static final YearMonth OCTOBER = YearMonth.of(2026, 10);
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CreditLedger ledger;
+    private MemberProfileCache memberProfileCache;
+    private CreditLimitReviewService review;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:limit-review-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE members (member_number VARCHAR(20) PRIMARY KEY, status VARCHAR(20), "
+            + "credit_limit DECIMAL(10,2), current_balance DECIMAL(10,2), updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE billings (id IDENTITY, member_number VARCHAR(20), "
+            + "billing_month VARCHAR(7), status VARCHAR(20), UNIQUE (member_number, billing_month))");
+        jdbcTemplate.execute("CREATE TABLE limit_review_checkpoints (id IDENTITY, review_month VARCHAR(7), "
+            + "partition_no INT, lower_member_number VARCHAR(20), upper_member_number VARCHAR(20), "
+            + "last_member_number VARCHAR(20), completed BOOLEAN, updated_at TIMESTAMP, "
+            + "UNIQUE (review_month, partition_no))");
+        jdbcTemplate.execute("CREATE TABLE credit_limit_changes (id IDENTITY, member_number VARCHAR(20), "
+            + "credit_limit DECIMAL(10,2), changed_at TIMESTAMP)");
+        // clean payer at 80% utilization
+        member("M000000001", "ACTIVE", "400000", "2026-07:PAID", "2026-08:PAID", "2026-09:PAID");
+        // one overdue statement
+        member("M000000002", "ACTIVE", "0", "2026-07:PAID", "2026-08:OVERDUE", "2026-09:PAID");
+        member("M000000003", "SUSPENDED", "450000", "2026-07:PAID", "2026-08:PAID", "2026-09:PAID");
+        // 20% in the table, 80% in the ledger
+        member("M000000004", "ACTIVE", "100000", "2026-07:PAID", "2026-08:PAID", "2026-09:PAID");
+        member("M000000005", "ACTIVE", "450000", "2026-07:PAID", "2026-08:PARTIAL_PAID", "2026-09:PAID");
+        // history outside the twelve-month lookback
+        member("M000000006", "ACTIVE", "450000", "2025-07:PAID", "2025-08:PAID", "2025-09:PAID");
+
+        ledger = new CreditLedger();
+        ledger.account(new MemberProfile("M000000002", Member.MemberStatus.ACTIVE,
+            Money.yen(500_000_00L), Money.yen(0L)));
+        ledger.account(new MemberProfile("M000000004", Member.MemberStatus.ACTIVE,
+            Money.yen(500_000_00L), Money.yen(400_000_00L)));
+        memberProfileCache = mock(MemberProfileCache.class);
+        CreditLimitPolicy policy = new UtilizationCreditLimitPolicy(0.7, 0.2, 0.25, 3,
+            new BigDecimal("100000"), new BigDecimal("5000000"), new BigDecimal("10000"));
+        review = new CreditLimitReviewService(new CreditLimitReviewRepository(jdbcTemplate),
+            new LimitReviewCheckpointRepository(jdbcTemplate), new CreditLimitChangeRepository(jdbcTemplate),
+            policy, ledger, changeFeed(ledger, memberProfileCache),
+            new DataSourceTransactionManager(dataSource), 2, 2, 12);
+    }
+
+    private CreditLimitChangeFeed changeFeed(CreditLedger nodeLedger, MemberProfileCache nodeCache) {
+        return new CreditLimitChangeFeed(new CreditLimitChangeRepository(jdbcTemplate), nodeLedger, nodeCache, 0, 24, 2);
+    }
+
+    private void member(String memberNumber, String status, String balance, String... billings) {
+        jdbcTemplate.update("INSERT INTO members VALUES (?, ?, 500000.00, ?, NULL)",
+            memberNumber, status, new BigDecimal(balance));
+        for (String billing : billings) {
+            String[] monthAndStatus = billing.split(":");
+            jdbcTemplate.update("INSERT INTO billings (member_number, billing_month, status) VALUES (?, ?, ?)",
+                memberNumber, monthAndStatus[0], monthAndStatus[1]);
+        }
+    }
+
+    private BigDecimal creditLimit(String memberNumber) {
+        return jdbcTemplate.queryForObject(
+            "SELECT credit_limit FROM members WHERE member_number = ?", BigDecimal.class, memberNumber);
+    }
+
+    @Test
+    @DisplayName("正常系：利用率と支払履歴で与信枠を一括更新し台帳とキャッシュへ反映")
+    void testRun_AppliesPolicyAndNotifiesLedger() {
+        // When
+        CreditLimitReviewSummary summary = review.run(OCTOBER);
+
+        // Then
+        assertEquals(6, summary.getMembersReviewed());
+        assertEquals(2, summary.getLimitsRaised());
+        assertEquals(1, summary.getLimitsLowered());
+        assertEquals(0, new BigDecimal("600000").compareTo(creditLimit("M000000001")));
+        assertEquals(0, new BigDecimal("370000").compareTo(creditLimit("M000000002")));
+        assertEquals(0, new BigDecimal("600000").compareTo(creditLimit("M000000004")));
+        for (String unchanged : new String[] {"M000000003", "M000000005", "M000000006"}) {
+            assertEquals(0, new BigDecimal("500000").compareTo(creditLimit(unchanged)), unchanged);
+            verify(memberProfileCache, never()).invalidate(unchanged);
+        }
+        assertEquals(37_000_000L, ledger.find("M000000002").getCreditLimit());
+        assertEquals(60_000_000L, ledger.find("M000000004").getCreditLimit());
+        assertNull(ledger.find("M000000001"));
+        verify(memberProfileCache).invalidate("M000000001");
+        verify(memberProfileCache).invalidate("M000000004");
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM limit_review_checkpoints WHERE completed = FALSE", Integer.class));
+    }
+
+    @Test
+    @DisplayName("正常系：同月の再実行では見直し済み会員の与信枠を重ねて変更しない")
+    void testRun_RerunDoesNotReviewTwice() {
+        // Given
+        review.run(OCTOBER);
+
+        // When
+        CreditLimitReviewSummary again = review.run(OCTOBER);
+
+        // Then
+        assertEquals(0, again.getMembersReviewed());
+        assertEquals(0, new BigDecimal("600000").compareTo(creditLimit("M000000001")));
+        assertEquals(0, new BigDecimal("370000").compareTo(creditLimit("M000000002")));
+    }
+
+    @Test
+    @DisplayName("正常系：他ノードが処理中のパーティションは飛ばして残りを見直し")
+    void testRun_SkipsPartitionHeldByAnotherNode() throws Exception {
+        // Given: another node is reviewing partition 0, which holds M000000001
+        new LimitReviewCheckpointRepository(jdbcTemplate).createPartitions("2026-10", 8);
+        try (Connection otherNode = dataSource.getConnection(); Statement statement = otherNode.createStatement()) {
+            otherNode.setAutoCommit(false);
+            statement.executeQuery("SELECT * FROM limit_review_checkpoints WHERE partition_no = 0 FOR UPDATE");
+
+            // When
+            CreditLimitReviewSummary summary = review.run(OCTOBER);
+
+            // Then
+            assertEquals(5, summary.getMembersReviewed());
+            assertEquals(0, new BigDecimal("500000").compareTo(creditLimit("M000000001")));
+            otherNode.rollback();
+        }
+
+        // When: the partition is free again
+        CreditLimitReviewSummary resumed = review.run(OCTOBER);
+
+        // Then
+        assertEquals(1, resumed.getMembersReviewed());
+        assertEquals(0, new BigDecimal("600000").compareTo(creditLimit("M000000001")));
+    }
+
+    @Test
+    @DisplayName("正常系：見直し結果は他ノードの台帳とキャッシュにも反映")
+    void testRun_OtherNodeAppliesCommittedChanges() {
+        // Given: another node already holds M000000002, who is cut for an overdue statement
+        CreditLedger otherLedger = new CreditLedger();
+        otherLedger.account(new MemberProfile("M000000002", Member.MemberStatus.ACTIVE,
+            Money.yen(500_000_00L), Money.yen(0L)));
+        MemberProfileCache otherCache = mock(MemberProfileCache.class);
+        CreditLimitChangeFeed otherNode = changeFeed(otherLedger, otherCache);
+        review.run(OCTOBER);
+
+        // When
+        otherNode.poll();
+
+        // Then
+        assertEquals(37_000_000L, otherLedger.find("M000000002").getCreditLimit());
+        verify(otherCache).invalidate("M000000002");
+        verify(otherCache).invalidate("M000000001");
+        verify(otherCache, never()).invalidate("M000000003");
+        assertFalse(otherLedger.reserve(otherLedger.find("M000000002"), 40_000_000L));
+
+        // When: polling again applies nothing twice
+        otherNode.poll();
+
+        // Then
+        verify(otherCache, times(1)).invalidate("M000000002");
+    }
+}
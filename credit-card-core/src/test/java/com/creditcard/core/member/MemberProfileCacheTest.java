@@ -0,0 +1,80 @@
+package com.creditcard.core.member;
+
+import com.creditcard.core.domain.Member;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 会員キャッシュ テスト
+ * Member Profile Cache Test
+ */
+class MemberProfileCacheTest {
+    
+    private MemberRepository memberRepository;
+    private MemberProfileCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        cache = new MemberProfileCache(memberRepository, 100, 300);
+    }
+    
+    private static MemberProfile profile(Member.MemberStatus status) {
+        return new MemberProfile("M123456789", status, Money.yen(500_000_00L), Money.yen(100_000_00L));
+    }
+    
+    @Test
+    @DisplayName("正常系：2回目以降はキャッシュから返却")
+    void testFind_LoadsOnce() {
+        // Given
+        when(memberRepository.findProfileByMemberNumber("M123456789"))
+            .thenReturn(Optional.of(profile(Member.MemberStatus.ACTIVE)));
+        
+        // When
+        MemberProfile first = cache.find("M123456789");
+        MemberProfile second = cache.find("M123456789");
+        
+        // Then
+        assertSame(first, second);
+        assertEquals(50_000_000L, first.getCreditLimit());
+        verify(memberRepository, times(1)).findProfileByMemberNumber("M123456789");
+    }
+    
+    @Test
+    @DisplayName("正常系：ステータス変更で無効化され再読込")
+    void testStatusChanged_Reloads() {
+        // Given
+        when(memberRepository.findProfileByMemberNumber("M123456789"))
+            .thenReturn(Optional.of(profile(Member.MemberStatus.ACTIVE)))
+            .thenReturn(Optional.of(profile(Member.MemberStatus.SUSPENDED)));
+        assertTrue(cache.find("M123456789").isActive());
+        
+        // When
+        cache.onStatusChanged(new MemberStatusChangedEvent("M123456789", Member.MemberStatus.SUSPENDED));
+        
+        // Then
+        assertEquals(Member.MemberStatus.SUSPENDED, cache.find("M123456789").getStatus());
+    }
+    
+    @Test
+    @DisplayName("境界値：存在しない会員はキャッシュしない")
+    void testFind_MissNotCached() {
+        // Given
+        when(memberRepository.findProfileByMemberNumber("M000000000")).thenReturn(Optional.empty());
+        
+        // When
+        assertNull(cache.find("M000000000"));
+        assertNull(cache.find("M000000000"));
+        
+        // Then
+        verify(memberRepository, times(2)).findProfileByMemberNumber("M000000000");
+    }
+}
@@ -0,0 +1,58 @@
+package com.creditcard.core.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 金額 テスト
+ * Money Test
+ */
+class MoneyTest {
+    
+    @Test
+    @DisplayName("正常系：小数金額と最小単位の相互変換")
+    void testDecimalRoundTrip() {
+        // Given
+        Money amount = Money.yen(new BigDecimal("1234.5"));
+        
+        // Then
+        assertEquals(1_234_50L, amount.getMinorUnits());
+        assertEquals(0, new BigDecimal("1234.50").compareTo(amount.toDecimal()));
+        assertEquals(Money.yen(1_234_50L), amount);
+        assertSame(Money.zero(CurrencyCode.JPY), Money.yen(BigDecimal.ZERO));
+        assertThrows(ArithmeticException.class, () -> Money.yen(new BigDecimal("0.001")));
+    }
+    
+    @Test
+    @DisplayName("異常系：桁あふれと通貨混在を拒否")
+    void testArithmetic_Checked() {
+        // Given
+        Money max = Money.yen(Long.MAX_VALUE);
+        Money dollar = Money.of(1_00L, CurrencyCode.USD);
+        
+        // Then
+        assertEquals(Money.yen(3_00L), Money.yen(1_00L).plus(Money.yen(2_00L)));
+        assertTrue(Money.yen(2_00L).isGreaterThan(Money.yen(1_99L)));
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.yen(1L)));
+        assertThrows(IllegalArgumentException.class, () -> Money.yen(1_00L).plus(dollar));
+        assertThrows(IllegalArgumentException.class, () -> Money.yen(1_00L).compareTo(dollar));
+    }
+    
+    @Test
+    @DisplayName("異常系：金額カラムにJPY以外は保存しない")
+    void testConverter_RefusesForeignCurrency() {
+        // Given
+        MoneyConverter converter = new MoneyConverter();
+        
+        // Then
+        assertEquals(0, new BigDecimal("99.99").compareTo(converter.convertToDatabaseColumn(Money.yen(99_99L))));
+        assertEquals(Money.yen(99_99L), converter.convertToEntityAttribute(new BigDecimal("99.99")));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> converter.convertToDatabaseColumn(Money.of(1_00L, CurrencyCode.EUR)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.creditcard.core.outbox;
+
+import com.creditcard.core.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * イベントログ テスト
+ * Event Log Test
+ */
+class EventLogTest {
+
+    @TempDir
+    Path directory;
+
+    private static TransactionEvent authorized(long eventId) {
+        return new TransactionEvent(eventId, TransactionEvent.Type.AUTHORIZED, "TX" + eventId, null, "M123456789",
+            Money.yen(1_000_00L), "Amazon Japan", "retail", LocalDateTime.of(2026, 10, 1, 12, 0, 0, 123_000_000));
+    }
+
+    private static List<Long> ids(List<TransactionEvent> events) {
+        return events.stream().map(TransactionEvent::getEventId).toList();
+    }
+
+    @Test
+    @DisplayName("正常系：コンシューマは確定済みオフセットから再開し、グループごとに独立して読む")
+    void testConsumer_ResumesFromCommittedOffset() throws Exception {
+        // Given: small segments so the events span several files
+        EventLog eventLog = EventLog.open(directory, 256, 1 << 20);
+        eventLog.publish(List.of(authorized(1), authorized(2), authorized(3)));
+        eventLog.publish(List.of(authorized(4), authorized(5)));
+
+        // When: billing reads and commits two, then restarts
+        EventLog.Consumer billing = eventLog.consumer("billing");
+        List<TransactionEvent> first = billing.poll(2);
+        billing.commit();
+        billing.poll(10);
+        billing.close();
+        eventLog.close();
+        EventLog restarted = EventLog.open(directory, 256, 1 << 20);
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(LocalDateTime.of(2026, 10, 1, 12, 0, 0, 123_000_000), first.get(0).getOccurredAt());
+        assertEquals(Money.yen(1_000_00L), first.get(0).getAmount());
+        try (EventLog.Consumer resumed = restarted.consumer("billing");
+             EventLog.Consumer notifications = restarted.consumer("notifications")) {
+            assertEquals(List.of(3L, 4L, 5L), ids(resumed.poll(10)));
+            assertEquals(0, resumed.lag());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(notifications.poll(10)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> restarted.consumer("../x"));
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("異常系：書き込み途中で途切れた末尾は再起動時に切り捨て")
+    void testOpen_TruncatesTornTail() throws Exception {
+        // Given: a crash left half a record after the last published one
+        EventLog eventLog = EventLog.open(directory, 1 << 16, 1 << 20);
+        eventLog.publish(List.of(authorized(1), authorized(2)));
+        eventLog.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(f -> f.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        // When
+        EventLog restarted = EventLog.open(directory, 1 << 16, 1 << 20);
+        restarted.publish(List.of(authorized(3)));
+
+        // Then
+        assertEquals(restarted.endPosition(), Files.size(segment));
+        try (EventLog.Consumer consumer = restarted.consumer("fraud")) {
+            assertEquals(List.of(1L, 2L, 3L), ids(consumer.poll(10)));
+        }
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("正常系：保持サイズを超えた古いセグメントは削除し、遅れたコンシューマは先頭へ")
+    void testRetention_DeletesOldestSegments() throws Exception {
+        // Given: one event per segment and room to keep about two
+        EventLog eventLog = EventLog.open(directory, 128, 200);
+        EventLog.Consumer slow = eventLog.consumer("slow");
+
+        // When
+        for (long id = 1; id <= 5; id++) {
+            eventLog.publish(List.of(authorized(id)));
+        }
+
+        // Then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.filter(f -> f.toString().endsWith(".log")).count());
+        }
+        assertEquals(List.of(3L, 4L, 5L), ids(slow.poll(10)));
+        slow.close();
+        eventLog.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.creditcard.core.outbox;
+
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * アウトボックス中継 テスト
+ * Outbox Relay Test
+ */
+class OutboxRelayTest {
+    
+    private static TransactionEvent voided(long eventId) {
+        return new TransactionEvent(eventId, TransactionEvent.Type.VOIDED, "TX" + eventId, null, "M123456789",
+            Money.yen(1_000_00L), "Amazon Japan", "retail", LocalDateTime.now());
+    }
+    
+    @Test
+    @DisplayName("正常系：満杯のバッチが続く間は中継し、送信済みの行だけ削除")
+    void testRelay_DrainsFullBatches() {
+        // Given: batch size 2, three events waiting
+        OutboxRepository outbox = mock(OutboxRepository.class);
+        TransactionEventSink sink = mock(TransactionEventSink.class);
+        List<TransactionEvent> full = List.of(voided(1), voided(2));
+        List<TransactionEvent> rest = List.of(voided(3));
+        when(outbox.findOldest(2)).thenReturn(full).thenReturn(rest);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        
+        // When
+        new OutboxRelay(outbox, sink, registry, 2).relay();
+        
+        // Then
+        verify(sink).publish(full);
+        verify(outbox).deleteAll(full);
+        verify(sink).publish(rest);
+        verify(outbox).deleteAll(rest);
+        verify(outbox, times(2)).findOldest(2);
+        assertEquals(3.0, registry.counter("creditcard.events.published").count());
+    }
+    
+    @Test
+    @DisplayName("異常系：送信失敗時は行を残して次回に再送")
+    void testRelay_KeepsEventsWhenSinkFails() {
+        // Given
+        OutboxRepository outbox = mock(OutboxRepository.class);
+        TransactionEventSink sink = mock(TransactionEventSink.class);
+        List<TransactionEvent> events = List.of(voided(1));
+        when(outbox.findOldest(10)).thenReturn(events).thenReturn(events).thenReturn(List.of());
+        doThrow(new IllegalStateException("disk full")).doNothing().when(sink).publish(any());
+        OutboxRelay relay = new OutboxRelay(outbox, sink, new SimpleMeterRegistry(), 10);
+        
+        // When
+        relay.relay();
+        
+        // Then
+        verify(outbox, never()).deleteAll(any());
+        
+        // When: the sink recovers
+        relay.relay();
+        
+        // Then
+        verify(sink, times(2)).publish(events);
+        verify(outbox).deleteAll(events);
+    }
+}
@@ -0,0 +1,123 @@
+package com.creditcard.core.partition;
+
+import com.creditcard.core.concurrency.AuthorizationConcurrencyLimiter;
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.exception.ConcurrencyLimitExceededException;
+import com.creditcard.core.metrics.AuthorizationMetrics;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import com.creditcard.core.service.CreditManagementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * 会員分割オーソリ テスト
+ * Partitioned Authorization Engine Test
+ */
+class PartitionedAuthorizationEngineTest {
+    
+    private PartitionedAuthorizationEngine engine;
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.close();
+    }
+    
+    private static AuthorizationConcurrencyLimiter limiter() {
+        return new AuthorizationConcurrencyLimiter(1024, 8, 1024, 0.8, 1.5, 0.2, 100);
+    }
+    
+    private static AuthorizationCommand command(String memberNumber, int amount) {
+        return new AuthorizationCommand(memberNumber, Money.yen(amount), "Amazon Japan", "retail");
+    }
+    
+    @Test
+    @DisplayName("正常系：同一会員のオーソリは常に同じスレッドで投入順に処理される")
+    @SuppressWarnings("unchecked")
+    void testSubmit_SameMemberSameThreadInOrder() throws Exception {
+        // Given
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CreditManagementService creditService = mock(CreditManagementService.class);
+        when(creditService.authorizeInOrder(anyList())).thenAnswer(invocation -> {
+            List<AuthorizationResult> results = new ArrayList<>();
+            for (AuthorizationCommand c : (List<AuthorizationCommand>) invocation.getArgument(0)) {
+                assertEquals(Thread.currentThread().getName(),
+                    threads.computeIfAbsent(c.getMemberNumber(), k -> Thread.currentThread().getName()));
+                seen.computeIfAbsent(c.getMemberNumber(), k -> new ArrayList<>()).add((int) c.getAmount().getMinorUnits());
+                Transaction tx = new Transaction();
+                tx.setMemberNumber(c.getMemberNumber());
+                results.add(AuthorizationResult.approved(tx));
+            }
+            return results;
+        });
+        engine = new PartitionedAuthorizationEngine(creditService,
+            new AuthorizationMetrics(new SimpleMeterRegistry()), limiter(), 4, 1024, 16);
+        
+        // When
+        List<CompletableFuture<AuthorizationResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(engine.submit(command("M" + (i % 10), i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        
+        // Then
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("M" + (i % 10), futures.get(i).get().getTransaction().getMemberNumber());
+        }
+        for (List<Integer> amounts : seen.values()) {
+            assertEquals(50, amounts.size());
+            for (int j = 1; j < amounts.size(); j++) {
+                assertTrue(amounts.get(j - 1) < amounts.get(j));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("異常系：リング満杯なら即時にエラーで返却")
+    void testSubmit_FullRingFailsFast() throws Exception {
+        // Given: the only partition is stuck deciding the first auth
+        CountDownLatch release = new CountDownLatch(1);
+        CreditManagementService creditService = mock(CreditManagementService.class);
+        when(creditService.authorizeInOrder(anyList())).thenAnswer(invocation -> {
+            release.await();
+            List<?> commands = invocation.getArgument(0);
+            List<AuthorizationResult> results = new ArrayList<>();
+            for (int i = 0; i < commands.size(); i++) {
+                results.add(AuthorizationResult.declined("Credit limit exceeded"));
+            }
+            return results;
+        });
+        engine = new PartitionedAuthorizationEngine(creditService,
+            new AuthorizationMetrics(new SimpleMeterRegistry()), limiter(), 1, 2, 16);
+        CompletableFuture<AuthorizationResult> first = engine.submit(command("M1", 1));
+        verify(creditService, timeout(5000)).authorizeInOrder(anyList());
+        engine.submit(command("M1", 2));
+        engine.submit(command("M1", 3));
+        
+        // When
+        CompletableFuture<AuthorizationResult> rejected = engine.submit(command("M1", 4));
+        
+        // Then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ConcurrencyLimitExceededException.class, e.getCause());
+        release.countDown();
+        assertFalse(first.get(5, TimeUnit.SECONDS).isApproved());
+    }
+}
@@ -1,15 +1,53 @@
 package com.creditcard.core.service;
 
+import com.creditcard.core.domain.FraudRule;
+import com.creditcard.core.domain.Member;
 import com.creditcard.core.domain.Transaction;
-import com.creditcard.core.exception.CreditLimitExceededException;
-import com.creditcard.core.exception.FraudDetectedException;
+import com.creditcard.core.exception.InvalidCaptureAmountException;
+import com.creditcard.core.exception.InvalidTransactionStateException;
+import com.creditcard.core.exception.TransactionNotFoundException;
+import com.creditcard.core.fraud.FraudRuleEngine;
+import com.creditcard.core.fraud.FraudScoringPipeline;
+import com.creditcard.core.fraud.VelocityTracker;
+import com.creditcard.core.id.RandomAuthorizationCodeGenerator;
+import com.creditcard.core.id.SnowflakeTransactionIdGenerator;
+import com.creditcard.core.idempotency.IdempotencyCache;
+import com.creditcard.core.ledger.CreditLedger;
+import com.creditcard.core.ledger.MinorUnits;
+import com.creditcard.core.member.MemberProfile;
+import com.creditcard.core.member.MemberProfileCache;
+import com.creditcard.core.metrics.AuthorizationMetrics;
+import com.creditcard.core.metrics.DeclineReason;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.FraudRuleRepository;
+import com.creditcard.core.repository.MemberRepository;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import com.creditcard.core.transaction.JdbcTransactionWriter;
+import com.creditcard.core.transaction.TransactionStore;
+import com.creditcard.core.wire.ResponseCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * 与信管理サービス テスト
@@ -18,10 +56,74 @@ import static org.junit.jupiter.api.Assertions.*;
 class CreditManagementServiceTest {
     
     private CreditManagementService creditService;
+    private CreditLedger creditLedger;
+    private MemberRepository memberRepository;
+    private TransactionBatchRepository transactionBatchRepository;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
     
     @BeforeEach
     void setUp() {
-        creditService = new CreditManagementService();
+        memberRepository = mock(MemberRepository.class);
+        when(memberRepository.findProfileByMemberNumber("M123456789")).thenReturn(Optional.of(
+            member("M123456789", Member.MemberStatus.ACTIVE)));
+        transactionBatchRepository = mock(TransactionBatchRepository.class);
+        when(transactionBatchRepository.updateStatus(anyString(), any(), any())).thenReturn(true);
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+        creditLedger = new CreditLedger();
+        creditService = new CreditManagementService(new MemberProfileCache(memberRepository, 1000, 300), creditLedger, fraudRuleEngine(),
+            new FraudScoringPipeline(null, null, creditLedger, meterRegistry, false, 16, 16, 4.0, 8.0),
+            new TransactionStore(transactionBatchRepository,
+                new JdbcTransactionWriter(transactionBatchRepository), 1000), new IdempotencyCache(1000, 600),
+            new TransactionTemplate(new DataSourceTransactionManager(new DriverManagerDataSource(
+                "jdbc:h2:mem:credit-service-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""))), executor, new SnowflakeTransactionIdGenerator(0),
+            new RandomAuthorizationCodeGenerator(),
+            new AuthorizationMetrics(meterRegistry));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    private static FraudRuleEngine fraudRuleEngine() {
+        FraudRule highAmount = new FraudRule();
+        highAmount.setRuleName("High amount transaction");
+        highAmount.setRiskLevel(FraudRule.RiskLevel.HIGH);
+        highAmount.setRuleType(FraudRule.RuleType.AMOUNT_THRESHOLD);
+        highAmount.setThreshold(new BigDecimal("100000"));
+        highAmount.setEnabled(true);
+        FraudRule riskyCategory = new FraudRule();
+        riskyCategory.setRuleName("Risky merchant category");
+        riskyCategory.setRiskLevel(FraudRule.RiskLevel.HIGH);
+        riskyCategory.setRuleType(FraudRule.RuleType.MERCHANT_CATEGORY);
+        riskyCategory.setMerchantCategory("gambling,casino,adult");
+        riskyCategory.setEnabled(true);
+        
+        FraudRule midAmount = new FraudRule();
+        midAmount.setRuleName("Mid amount transaction");
+        midAmount.setRiskLevel(FraudRule.RiskLevel.MEDIUM);
+        midAmount.setRuleType(FraudRule.RuleType.AMOUNT_THRESHOLD);
+        midAmount.setThreshold(new BigDecimal("50000"));
+        midAmount.setEnabled(true);
+        
+        FraudRuleRepository fraudRuleRepository = mock(FraudRuleRepository.class);
+        when(fraudRuleRepository.findByEnabledTrueOrderByIdAsc()).thenReturn(List.of(highAmount, riskyCategory, midAmount));
+        FraudRuleEngine engine = new FraudRuleEngine(fraudRuleRepository, new VelocityTracker(1024, 60, 10, 900, 4));
+        engine.reload();
+        return engine;
+    }
+    
+    private static MemberProfile member(String memberNumber, Member.MemberStatus status) {
+        return MemberProfile.of(Member.builder()
+            .memberNumber(memberNumber)
+            .nameKanji("Test User")
+            .email("test@example.com")
+            .status(status)
+            .creditLimit(Money.yen(500_000_00L))
+            .currentBalance(Money.yen(100_000_00L))
+            .build());
     }
     
     @Test
@@ -29,34 +131,107 @@ class CreditManagementServiceTest {
     void testAuthorize_Success() {
         // Given
         String memberNumber = "M123456789";
-        BigDecimal amount = new BigDecimal("10000");
+        Money amount = Money.yen(10_000_00L);
         String merchantName = "Amazon Japan";
         String merchantCategory = "retail";
         
         // When
-        Transaction result = creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
+        Transaction result = creditService.authorize(memberNumber, amount, merchantName, merchantCategory).getTransaction();
         
         // Then
         assertNotNull(result);
-        assertNotNull(result.getTransactionId());
-        assertNotNull(result.getAuthorizationCode());
+        assertTrue(result.getTransactionId().matches("^TX[0-9]{17}$"));
+        assertTrue(result.getAuthorizationCode().matches("^[0-9]{6}$"));
         assertEquals(Transaction.TransactionStatus.APPROVED, result.getStatus());
         assertEquals(Transaction.TransactionType.AUTH, result.getType());
     }
     
+    /** Runs {@code work} with synchronization active, then completes the pretend transaction with {@code status}. */
+    private static void inTransaction(int status, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    @DisplayName("異常系：コミット失敗時は承認分の与信枠を解放")
+    void testAuthorize_RollbackAfterInsertReleasesReservation() {
+        // When: the insert succeeds but the commit fails
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> assertTrue(
+            creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail").isApproved()));
+        
+        // Then
+        assertEquals(100_000_00L, creditLedger.find("M123456789").getBalance());
+    }
+    
+    @Test
+    @DisplayName("異常系：登録失敗時は承認分の与信枠を解放")
+    void testAuthorize_FailedInsertReleasesReservation() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+            .when(transactionBatchRepository).insertAll(anyList());
+        
+        // When
+        assertThrows(DataAccessResourceFailureException.class, () -> inTransaction(
+            TransactionSynchronization.STATUS_ROLLED_BACK,
+            () -> creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail")));
+        
+        // Then
+        assertEquals(100_000_00L, creditLedger.find("M123456789").getBalance());
+    }
+    
     @Test
     @DisplayName("異常系：与信限度額超過")
     void testAuthorize_CreditLimitExceeded() {
         // Given
         String memberNumber = "M123456789";
-        BigDecimal amount = new BigDecimal("1000000"); // 限度額超
+        Money amount = Money.yen(1_000_000_00L); // 限度額超
         String merchantName = "Amazon Japan";
         String merchantCategory = "retail";
         
-        // When & Then
-        assertThrows(CreditLimitExceededException.class, () -> {
-            creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
-        });
+        // When
+        AuthorizationResult result = creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
+        
+        // Then: the shared decline, no exception and nothing allocated for it
+        assertSame(AuthorizationResult.CREDIT_LIMIT_EXCEEDED, result);
+        assertEquals(ResponseCode.INSUFFICIENT_CREDIT, ResponseCode.of(result));
+        verify(transactionBatchRepository, never()).insertAll(anyList());
+    }
+    
+    @Test
+    @DisplayName("異常系：0円・マイナス金額はフォーマットエラーで否認し与信を確保しない")
+    void testAuthorize_NonPositiveAmountDeclined() {
+        // When
+        AuthorizationResult zero = creditService.authorize("M123456789", Money.yen(0L), "Amazon Japan", "retail");
+        AuthorizationResult negative = creditService.authorize("M123456789", Money.yen(-50_000_00L), "Amazon Japan", "retail");
+        
+        // Then: declined before the ledger, so no account was even seeded
+        assertSame(AuthorizationResult.INVALID_AMOUNT, zero);
+        assertSame(AuthorizationResult.INVALID_AMOUNT, negative);
+        assertEquals(ResponseCode.FORMAT_ERROR, ResponseCode.of(negative));
+        assertNull(creditLedger.find("M123456789"));
+        verify(transactionBatchRepository, never()).insertAll(anyList());
+    }
+    
+    @Test
+    @DisplayName("計測：処理時間と否認理由を記録")
+    void testAuthorize_RecordsMetrics() {
+        // Given
+        creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail");
+        
+        // When
+        creditService.authorize("M123456789", Money.yen(1_000_00L), "Lucky Slots", "casino");
+        
+        // Then
+        assertEquals(2, meterRegistry.get("creditcard.operation").tag("operation", "authorize").timer().count());
+        assertEquals(1, meterRegistry.get("creditcard.authorization.stage").tag("stage", "persist").timer().count());
+        assertEquals(1.0, meterRegistry.get("creditcard.authorization.declines").tag("reason", "fraud_rule").counter().count());
+        assertEquals(0.0, meterRegistry.get("creditcard.operation.in_flight").tag("operation", "authorize").gauge().value());
     }
     
     @Test
@@ -64,14 +239,18 @@ class CreditManagementServiceTest {
     void testAuthorize_FraudDetected_HighAmount() {
         // Given
         String memberNumber = "M123456789";
-        BigDecimal amount = new BigDecimal("200000"); // 高額
+        Money amount = Money.yen(200_000_00L); // 高額
         String merchantName = "Luxury Store";
         String merchantCategory = "retail";
         
-        // When & Then
-        assertThrows(FraudDetectedException.class, () -> {
-            creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
-        });
+        // When
+        AuthorizationResult result = creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
+        
+        // Then
+        assertEquals(DeclineReason.FRAUD_RULE, result.getReason());
+        assertEquals("Fraud detected: High amount transaction", result.getDeclineReason());
+        assertEquals(ResponseCode.DO_NOT_HONOR, ResponseCode.of(result));
+        assertSame(result, creditService.authorize(memberNumber, amount, merchantName, merchantCategory));
     }
     
     @Test
@@ -79,27 +258,266 @@ class CreditManagementServiceTest {
     void testAuthorize_FraudDetected_RiskyCategory() {
         // Given
         String memberNumber = "M123456789";
-        BigDecimal amount = new BigDecimal("50000");
+        Money amount = Money.yen(50_000_00L);
         String merchantName = "Casino";
         String merchantCategory = "gambling";
         
+        // When
+        AuthorizationResult result = creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
+        
+        // Then
+        assertEquals(DeclineReason.FRAUD_RULE, result.getReason());
+        assertEquals("Fraud detected: Risky merchant category", result.getDeclineReason());
+    }
+    
+    @Test
+    @DisplayName("正常系：中リスクルールは否認せず事後スコアリングへ引き継ぐ")
+    void testAuthorize_MediumRiskRuleDeferred() {
+        // Given
+        Money amount = Money.yen(60_000_00L); // 中リスク閾値超・高リスク閾値未満
+        
+        // When
+        Transaction result = creditService.authorize("M123456789", amount, "Electronics Store", "retail").getTransaction();
+        
+        // Then
+        assertEquals(Transaction.TransactionStatus.APPROVED, result.getStatus());
+        assertEquals(FraudRule.RiskLevel.MEDIUM, result.getFraudWarningLevel());
+        assertEquals("Mid amount transaction", result.getFraudWarning());
+    }
+    
+    @Test
+    @DisplayName("異常系：事後スコアリングでフラグ付けされた会員")
+    void testAuthorize_FlaggedMemberDeclined() {
+        // Given
+        creditService.authorize("M123456789", Money.yen(1_000_00L), "Shop", "retail");
+        creditLedger.flag("M123456789");
+        
         // When & Then
-        assertThrows(FraudDetectedException.class, () -> {
-            creditService.authorize(memberNumber, amount, merchantName, merchantCategory);
-        });
+        assertSame(AuthorizationResult.MEMBER_FLAGGED,
+            creditService.authorize("M123456789", Money.yen(1_000_00L), "Shop", "retail"));
     }
     
     @Test
-    @DisplayName("正常系：取消処理成功")
+    @DisplayName("異常系：利用停止会員")
+    void testAuthorize_MemberSuspended() {
+        // Given
+        String memberNumber = "M000000002";
+        when(memberRepository.findProfileByMemberNumber(memberNumber)).thenReturn(Optional.of(
+            member(memberNumber, Member.MemberStatus.SUSPENDED)));
+        
+        // When
+        AuthorizationResult result = creditService.authorize(memberNumber, Money.yen(1_000_00L), "Amazon Japan", "retail");
+        
+        // Then
+        assertSame(AuthorizationResult.memberNotActive(Member.MemberStatus.SUSPENDED), result);
+        assertEquals("Member is not active: SUSPENDED", result.getDeclineReason());
+        assertEquals(ResponseCode.DO_NOT_HONOR, ResponseCode.of(result));
+    }
+    
+    @Test
+    @DisplayName("正常系：与信枠の累積確保")
+    void testAuthorize_ReservesCumulatively() {
+        // Given: 400,000 available
+        String memberNumber = "M123456789";
+        Money amount = Money.yen(90_000_00L);
+        for (int i = 0; i < 4; i++) {
+            creditService.authorize(memberNumber, amount, "Amazon Japan", "retail");
+        }
+        
+        // When & Then: 360,000 reserved, a fifth auth would exceed the limit
+        assertSame(AuthorizationResult.CREDIT_LIMIT_EXCEEDED,
+            creditService.authorize(memberNumber, amount, "Amazon Japan", "retail"));
+    }
+    
+    @Test
+    @DisplayName("正常系：冪等キーによる再送は同一結果を返す")
+    void testAuthorize_IdempotentReplay() {
+        // Given
+        AuthorizationCommand command = new AuthorizationCommand("M123456789", Money.yen(90_000_00L),
+            "Amazon Japan", "retail");
+        AuthorizationResult first = creditService.authorize("key-1", command);
+        
+        // When
+        AuthorizationResult retry = creditService.authorize("key-1", command);
+        AuthorizationResult reused = creditService.authorize("key-1",
+            new AuthorizationCommand("M123456789", Money.yen(1_000_00L), "Amazon Japan", "retail"));
+        
+        // Then
+        assertTrue(first.isApproved());
+        assertSame(first.getTransaction(), retry.getTransaction());
+        assertEquals("key-1", first.getTransaction().getIdempotencyKey());
+        assertFalse(reused.isApproved());
+        assertEquals(IdempotencyCache.KEY_REUSED, reused.getDeclineReason());
+        verify(transactionBatchRepository, times(1)).insertAll(anyList());
+    }
+    
+    @Test
+    @DisplayName("正常系：キャッシュ失効後は永続化済み取引から再送応答")
+    void testAuthorize_IdempotentReplayFromStore() {
+        // Given: the key was authorized before this node's cache saw it
+        Transaction stored = new Transaction();
+        stored.setTransactionId("TX00000000000000001");
+        stored.setMemberNumber("M123456789");
+        stored.setAmount(Money.yen(1_000_00L));
+        stored.setMerchantName("Amazon Japan");
+        stored.setStatus(Transaction.TransactionStatus.APPROVED);
+        when(transactionBatchRepository.findByIdempotencyKey("key-2")).thenReturn(Optional.of(stored));
+        
+        // When
+        AuthorizationResult result = creditService.authorize("key-2",
+            new AuthorizationCommand("M123456789", Money.yen(1_000_00L), "Amazon Japan", "retail"));
+        
+        // Then
+        assertTrue(result.isApproved());
+        assertSame(stored, result.getTransaction());
+        verify(memberRepository, never()).findProfileByMemberNumber(anyString());
+        verify(transactionBatchRepository, never()).insertAll(anyList());
+    }
+    
+    @Test
+    @DisplayName("異常系：同一キーを他ノードが先に登録した場合は勝者の結果を再送")
+    void testAuthorize_LostKeyRaceReplaysWinner() {
+        // Given: the key is free when looked up, but another node commits it before our insert
+        AuthorizationCommand command = new AuthorizationCommand("M123456789", Money.yen(1_000_00L),
+            "Amazon Japan", "retail");
+        Transaction winner = new Transaction();
+        winner.setTransactionId("TX00000000000000001");
+        winner.setMemberNumber("M123456789");
+        winner.setAmount(Money.yen(1_000_00L));
+        winner.setMerchantName("Amazon Japan");
+        winner.setAuthorizationCode("123456");
+        winner.setStatus(Transaction.TransactionStatus.APPROVED);
+        when(transactionBatchRepository.findByIdempotencyKey("key-race"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(winner));
+        doThrow(new DuplicateKeyException("uk_transactions_idempotency_key"))
+            .when(transactionBatchRepository).insertAll(anyList());
+        
+        // When
+        AuthorizationResult result = creditService.authorize("key-race", command);
+        
+        // Then: the winner's approval, and our reservation rolled back with our insert
+        assertTrue(result.isApproved());
+        assertSame(winner, result.getTransaction());
+        assertEquals(100_000_00L, creditLedger.find("M123456789").getBalance());
+    }
+    
+    @Test
+    @DisplayName("正常系：一括オーソリ（会員単位の順序保証と一括登録）")
+    void testAuthorizeBatch_PerRequestResults() {
+        // Given: five 90,000 auths for one member (only four fit) and one for an unknown member
+        List<AuthorizationCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            commands.add(new AuthorizationCommand("M123456789", Money.yen(90_000_00L), "Amazon Japan", "retail"));
+        }
+        commands.add(2, new AuthorizationCommand("M999999999", Money.yen(1_000_00L), "Amazon Japan", "retail"));
+        
+        // When
+        List<AuthorizationResult> results = creditService.authorizeBatch(commands);
+        
+        // Then
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).isApproved());
+        assertTrue(results.get(1).isApproved());
+        assertFalse(results.get(2).isApproved());
+        assertTrue(results.get(3).isApproved());
+        assertTrue(results.get(4).isApproved());
+        assertFalse(results.get(5).isApproved());
+        assertEquals("Credit limit exceeded", results.get(5).getDeclineReason());
+        verify(transactionBatchRepository, times(1)).insertAll(argThat(txs -> txs.size() == 4));
+    }
+    
+    @Test
+    @DisplayName("正常系：取消処理成功（与信枠を解放）")
     void testVoidTransaction_Success() {
         // Given
-        String transactionId = "TX20260101123456789";
+        Transaction auth = creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail")
+            .getTransaction();
         
         // When
-        Transaction result = creditService.voidTransaction(transactionId);
+        Transaction result = creditService.voidTransaction(auth.getTransactionId());
         
         // Then
-        assertNotNull(result);
+        assertSame(auth, result);
         assertEquals(Transaction.TransactionStatus.CANCELLED, result.getStatus());
+        assertEquals(MinorUnits.of(new BigDecimal("100000")), creditLedger.find("M123456789").getBalance());
+        verify(transactionBatchRepository).updateStatus(auth.getTransactionId(),
+            Transaction.TransactionStatus.APPROVED, Transaction.TransactionStatus.CANCELLED);
+        verify(transactionBatchRepository, never()).findByTransactionId(anyString());
+    }
+    
+    @Test
+    @DisplayName("正常系：再起動後の取消でも会員残高から与信枠を解放")
+    void testVoidTransaction_AfterRestartReleasesFromMemberRow() {
+        // Given: an auth made before a restart, whose 10,000 is in the row's 100,000 balance
+        Transaction auth = new Transaction();
+        auth.setTransactionId("TX00000000000000042");
+        auth.setMemberNumber("M123456789");
+        auth.setType(Transaction.TransactionType.AUTH);
+        auth.setStatus(Transaction.TransactionStatus.APPROVED);
+        auth.setAmount(Money.yen(10_000_00L));
+        when(transactionBatchRepository.findByTransactionId(auth.getTransactionId())).thenReturn(Optional.of(auth));
+        assertNull(creditLedger.find("M123456789"));
+        
+        // When
+        creditService.voidTransaction(auth.getTransactionId());
+        
+        // Then
+        assertEquals(MinorUnits.of(new BigDecimal("90000")), creditLedger.find("M123456789").getBalance());
+        assertEquals(1, creditLedger.size());
+    }
+    
+    @Test
+    @DisplayName("正常系：一部売上請求（差額の与信枠を解放）")
+    void testCapture_PartialReleasesRemainder() {
+        // Given
+        Transaction auth = creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail")
+            .getTransaction();
+        
+        // When
+        Transaction capture = creditService.capture(auth.getTransactionId(), Money.yen(7_500_00L));
+        
+        // Then
+        assertEquals(Transaction.TransactionType.CAPTURE, capture.getType());
+        assertEquals(Transaction.TransactionStatus.SETTLED, capture.getStatus());
+        assertEquals(auth.getTransactionId(), capture.getOriginalTransactionId());
+        assertEquals(Money.yen(7_500_00L), capture.getAmount());
+        assertEquals(Transaction.TransactionStatus.SETTLED, auth.getStatus());
+        assertEquals(MinorUnits.of(new BigDecimal("107500")), creditLedger.find("M123456789").getBalance());
+    }
+    
+    @Test
+    @DisplayName("異常系：オーソリ額を超える売上請求")
+    void testCapture_AmountExceedsAuthorization() {
+        // Given
+        Transaction auth = creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail")
+            .getTransaction();
+        
+        // When & Then
+        assertThrows(InvalidCaptureAmountException.class, () ->
+            creditService.capture(auth.getTransactionId(), Money.yen(10_001_00L)));
+        assertEquals(Transaction.TransactionStatus.APPROVED, auth.getStatus());
+    }
+    
+    @Test
+    @DisplayName("異常系：他の要求が先に状態遷移した取引")
+    void testVoidTransaction_LostRace() {
+        // Given: another node settled the auth first
+        Transaction auth = creditService.authorize("M123456789", Money.yen(10_000_00L), "Amazon Japan", "retail")
+            .getTransaction();
+        when(transactionBatchRepository.updateStatus(anyString(), any(), any())).thenReturn(false);
+        
+        // When & Then: the reservation stays in place
+        assertThrows(InvalidTransactionStateException.class, () ->
+            creditService.voidTransaction(auth.getTransactionId()));
+        assertEquals(MinorUnits.of(new BigDecimal("110000")), creditLedger.find("M123456789").getBalance());
+    }
+    
+    @Test
+    @DisplayName("異常系：存在しない取引の取消")
+    void testVoidTransaction_NotFound() {
+        // When & Then
+        assertThrows(TransactionNotFoundException.class, () ->
+            creditService.voidTransaction("TX00000000000000001"));
     }
 }
@@ -0,0 +1,92 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 取引履歴 テスト
+ * Transaction History Service Test
+ */
+class TransactionHistoryServiceTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 1, 12, 0);
+    
+    private TransactionRepository repository;
+    private TransactionHistoryService history;
+    
+    @BeforeEach
+    void setUp() {
+        repository = mock(TransactionRepository.class);
+        history = new TransactionHistoryService(repository, 2);
+    }
+    
+    private static TransactionSummary row(long id, LocalDateTime datetime) {
+        return new TransactionSummary(id, "TX" + id, Transaction.TransactionType.AUTH,
+            Transaction.TransactionStatus.APPROVED, Money.yen(1_000_00L), "Shop", "retail", "123456", null, datetime);
+    }
+    
+    @Test
+    @DisplayName("正常系：次ページは前ページ末尾の(日時, ID)からシーク")
+    void testPage_SeeksFromCursor() {
+        // Given: rows 5 and 4 share a timestamp, so the id breaks the tie
+        when(repository.findHistory("M1", PageRequest.of(0, 3)))
+            .thenReturn(List.of(row(6, NOW), row(5, NOW.minusSeconds(1)), row(4, NOW.minusSeconds(1))));
+        when(repository.findHistoryAfter("M1", NOW.minusSeconds(1), 5L, PageRequest.of(0, 3)))
+            .thenReturn(List.of(row(4, NOW.minusSeconds(1))));
+        
+        // When
+        TransactionHistoryService.Page first = history.page("M1", null, 2);
+        TransactionHistoryService.Page second = history.page("M1", first.getNextCursor(), 2);
+        
+        // Then
+        assertEquals(List.of("TX6", "TX5"), first.getTransactions().stream().map(TransactionSummary::getTransactionId).toList());
+        assertNotNull(first.getNextCursor());
+        assertEquals(List.of("TX4"), second.getTransactions().stream().map(TransactionSummary::getTransactionId).toList());
+        assertNull(second.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> history.page("M1", "not-a-cursor", 2));
+    }
+    
+    @Test
+    @DisplayName("正常系：エクスポートはチャンク単位で最後まで読み進める")
+    void testExport_WalksChunks() throws Exception {
+        // Given: chunk size 2, five rows
+        when(repository.findHistory(eq("M1"), any())).thenReturn(List.of(row(5, NOW), row(4, NOW)));
+        when(repository.findHistoryAfter(eq("M1"), eq(NOW), eq(4L), any())).thenReturn(List.of(row(3, NOW), row(2, NOW)));
+        when(repository.findHistoryAfter(eq("M1"), eq(NOW), eq(2L), any())).thenReturn(List.of(row(1, NOW)));
+        List<String> exported = new ArrayList<>();
+        int[] flushes = {0};
+        
+        // When
+        history.export("M1", new TransactionHistoryService.RowSink() {
+            @Override
+            public void accept(TransactionSummary row) {
+                exported.add(row.getTransactionId());
+            }
+            
+            @Override
+            public void endOfChunk() {
+                flushes[0]++;
+            }
+        });
+        
+        // Then
+        assertEquals(List.of("TX5", "TX4", "TX3", "TX2", "TX1"), exported);
+        assertEquals(2, flushes[0]);
+        verify(repository, times(2)).findHistoryAfter(eq("M1"), any(), anyLong(), any());
+    }
+}
@@ -0,0 +1,127 @@
+package com.creditcard.core.transaction;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.repository.TransactionBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 取引ストア テスト
+ * Transaction Store Test
+ */
+class TransactionStoreTest {
+    
+    private TransactionBatchRepository repository;
+    private TransactionStore store;
+    
+    @BeforeEach
+    void setUp() {
+        repository = mock(TransactionBatchRepository.class);
+        store = new TransactionStore(repository, new JdbcTransactionWriter(repository), 2);
+    }
+    
+    private static Transaction auth(String transactionId) {
+        Transaction tx = new Transaction();
+        tx.setTransactionId(transactionId);
+        tx.setType(Transaction.TransactionType.AUTH);
+        tx.setStatus(Transaction.TransactionStatus.APPROVED);
+        return tx;
+    }
+    
+    @Test
+    @DisplayName("正常系：直近のオーソリはDBを参照せずに取得")
+    void testFind_IndexedWithoutQuery() {
+        // Given
+        Transaction tx = auth("TX1");
+        store.insertAll(List.of(tx));
+        
+        // When & Then
+        assertSame(tx, store.find("TX1").orElseThrow());
+        verify(repository, never()).findByTransactionId(anyString());
+    }
+    
+    @Test
+    @DisplayName("正常系：索引から外れた取引はDBから取得")
+    void testFind_FallsBackAfterEviction() {
+        // Given: capacity 2, so TX1 ages out
+        store.insertAll(List.of(auth("TX1"), auth("TX2"), auth("TX3")));
+        when(repository.findByTransactionId("TX1")).thenReturn(Optional.of(auth("TX1")));
+        
+        // When
+        Optional<Transaction> found = store.find("TX1");
+        
+        // Then
+        assertTrue(found.isPresent());
+        assertEquals(2, store.indexedCount());
+        verify(repository).findByTransactionId("TX1");
+    }
+    
+    @Test
+    @DisplayName("正常系：状態遷移した取引は索引から除外")
+    void testTransition_RemovesFromIndex() {
+        // Given
+        Transaction tx = auth("TX1");
+        store.insertAll(List.of(tx));
+        when(repository.updateStatus("TX1", Transaction.TransactionStatus.APPROVED,
+            Transaction.TransactionStatus.CANCELLED)).thenReturn(true);
+        
+        // When
+        boolean moved = store.transition(tx, Transaction.TransactionStatus.APPROVED,
+            Transaction.TransactionStatus.CANCELLED);
+        
+        // Then
+        assertTrue(moved);
+        assertEquals(Transaction.TransactionStatus.CANCELLED, tx.getStatus());
+        assertEquals(0, store.indexedCount());
+        assertFalse(store.transition(tx, Transaction.TransactionStatus.APPROVED,
+            Transaction.TransactionStatus.SETTLED));
+    }
+    
+    @Test
+    @DisplayName("異常系：ロールバックしたオーソリは索引に載せない")
+    void testInsertAll_IndexesOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.insertAll(List.of(auth("TX1")));
+            assertEquals(0, store.indexedCount());
+            
+            // When: the transaction rolls back
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        
+        // Then
+        assertEquals(0, store.indexedCount());
+        assertTrue(store.find("TX1").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("正常系：冪等キー付きの取引は書き込み遅延せず直接登録")
+    void testInsertAll_WritesKeyedRowsThrough() {
+        // Given: a write-behind writer
+        TransactionWriter writer = mock(TransactionWriter.class);
+        TransactionStore writeBehind = new TransactionStore(repository, writer, 2);
+        Transaction keyed = auth("TX1");
+        keyed.setIdempotencyKey("key-1");
+        Transaction unkeyed = auth("TX2");
+        
+        // When
+        writeBehind.insertAll(List.of(keyed, unkeyed));
+        
+        // Then
+        verify(repository).insertAll(List.of(keyed));
+        verify(writer).insertAll(List.of(unkeyed));
+    }
+}
@@ -0,0 +1,130 @@
+package com.creditcard.core.wire;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 電文コーデック テスト
+ * Auth Message Codec Test
+ */
+class AuthMessageCodecTest {
+    
+    private static final long DATETIME = 1_760_000_000_000L;
+    
+    private static ByteBuffer request(String transactionId, String memberNumber, long amountMinor, String merchantName) {
+        ByteBuffer buffer = ByteBuffer.allocate(2 + AuthMessageCodec.MAX_BODY);
+        AuthMessageCodec.encodeRequest(buffer, transactionId, memberNumber, amountMinor, "JPY",
+            "MERCHANT0000001", "TERM0001", DATETIME, merchantName, "retail");
+        buffer.flip();
+        return buffer;
+    }
+    
+    private static AuthRequestView view(ByteBuffer frame) {
+        return new AuthRequestView().wrap(frame, 2, AuthMessageCodec.bodyLength(frame));
+    }
+    
+    @Test
+    @DisplayName("正常系：要求電文を符号化し、その場で復号できる")
+    void testRequest_RoundTrip() {
+        // Given
+        ByteBuffer frame = request("TX00000000000000001", "M123456789", 1_234_56L, "アマゾンジャパン");
+        
+        // When
+        AuthRequestView view = view(frame);
+        
+        // Then
+        assertNull(view.validate());
+        assertEquals("TX00000000000000001", view.transactionId());
+        assertEquals("M123456789", view.memberNumber());
+        assertEquals(1_234_56L, view.amountMinor());
+        assertEquals("JPY", view.currency());
+        assertEquals("MERCHANT0000001", view.merchantId());
+        assertEquals("TERM0001", view.terminalId());
+        assertEquals(DATETIME, view.transactionDatetime());
+        assertEquals("アマゾンジャパン", view.merchantName());
+        assertEquals("retail", view.merchantCategory());
+    }
+    
+    @Test
+    @DisplayName("異常系：パターン・範囲・長さの違反を検出")
+    void testRequest_Validation() {
+        assertEquals("member_number must match ^M[0-9]{9}$",
+            view(request("TX00000000000000001", "X123456789", 1_000_00L, "Amazon")).validate());
+        assertEquals("transaction_id must match ^TX[0-9]{17}$",
+            view(request("TX0000000000000000A", "M123456789", 1_000_00L, "Amazon")).validate());
+        assertEquals("amount must be between 1 and 10000000",
+            view(request("TX00000000000000001", "M123456789", 10_000_000_01L, "Amazon")).validate());
+        assertEquals("merchant_name is required",
+            view(request("TX00000000000000001", "M123456789", 1_000_00L, "")).validate());
+        assertNull(view(request("TX00000000000000001", "M123456789", 1_000_00L, "名".repeat(100))).validate());
+        assertNotNull(view(request("TX00000000000000001", "M123456789", 1_000_00L, "A".repeat(101))).validate());
+        
+        ByteBuffer truncated = request("TX00000000000000001", "M123456789", 1_000_00L, "Amazon");
+        AuthRequestView view = new AuthRequestView().wrap(truncated, 2, AuthMessageCodec.bodyLength(truncated) - 1);
+        assertEquals("Message length does not match its text fields", view.validate());
+    }
+    
+    @Test
+    @DisplayName("正常系：応答電文は要求の取引IDを返却")
+    void testResponse_RoundTrip() {
+        // Given
+        ByteBuffer frame = ByteBuffer.allocate(2 + AuthMessageCodec.MAX_BODY);
+        
+        // When
+        AuthMessageCodec.encodeResponse(frame, "TX00000000000000001".getBytes(), ResponseCode.INSUFFICIENT_CREDIT,
+            null, null, 0L, "Credit limit exceeded");
+        frame.flip();
+        AuthResponseView view = new AuthResponseView().wrap(frame, 2);
+        
+        // Then
+        assertEquals(frame.limit() - 2, AuthMessageCodec.bodyLength(frame));
+        assertEquals("TX00000000000000001", view.transactionId());
+        assertEquals(ResponseCode.INSUFFICIENT_CREDIT, view.responseCode());
+        assertEquals("", view.authorizationCode());
+        assertEquals("", view.referenceId());
+        assertFalse(view.settleFlag());
+        assertEquals("Credit limit exceeded", view.responseMessage());
+    }
+    
+    @Test
+    @DisplayName("正常系：検証ルールが templates/message-formats.yaml と一致")
+    @SuppressWarnings("unchecked")
+    void testValidation_MatchesTemplate() throws IOException {
+        // Given
+        Map<String, Object> template;
+        try (InputStream in = Files.newInputStream(Path.of("../templates/message-formats.yaml"))) {
+            template = new Yaml().load(in);
+        }
+        Map<String, Map<String, Object>> request = (Map<String, Map<String, Object>>)
+            ((Map<String, Object>) template.get("AUTH_REQUEST")).get("fields");
+        Map<String, Map<String, Object>> response = (Map<String, Map<String, Object>>)
+            ((Map<String, Object>) template.get("AUTH_RESPONSE")).get("fields");
+        
+        // Then
+        assertEquals("^TX[0-9]{17}$", request.get("transaction_id").get("pattern"));
+        assertEquals("^M[0-9]{9}$", request.get("member_number").get("pattern"));
+        assertEquals(AuthRequestView.MIN_AMOUNT_MINOR / 100, ((Number) request.get("amount").get("min")).longValue());
+        assertEquals(AuthRequestView.MAX_AMOUNT_MINOR / 100, ((Number) request.get("amount").get("max")).longValue());
+        assertEquals(Arrays.asList(AuthRequestView.CURRENCIES), request.get("currency").get("enum"));
+        assertEquals(AuthRequestView.MAX_MERCHANT_NAME, request.get("merchant_name").get("max_length"));
+        List<String> codes = ((List<Map<String, String>>) response.get("response_code").get("enum")).stream()
+            .flatMap(entry -> entry.keySet().stream())
+            .collect(Collectors.toList());
+        for (ResponseCode code : ResponseCode.values()) {
+            assertTrue(codes.contains(code.code()), code.code());
+        }
+    }
+}
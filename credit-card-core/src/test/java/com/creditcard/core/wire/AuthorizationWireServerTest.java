@@ -0,0 +1,104 @@
+package com.creditcard.core.wire;
+
+import com.creditcard.core.domain.Transaction;
+import com.creditcard.core.metrics.DeclineReason;
+import com.creditcard.core.money.Money;
+import com.creditcard.core.service.AuthorizationCommand;
+import com.creditcard.core.service.AuthorizationResult;
+import com.creditcard.core.service.CreditManagementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 電文受付 テスト
+ * Authorization Wire Server Test
+ */
+class AuthorizationWireServerTest {
+    
+    private CreditManagementService creditService;
+    private AuthorizationWireServer server;
+    
+    @BeforeEach
+    void setUp() {
+        creditService = mock(CreditManagementService.class);
+        server = new AuthorizationWireServer(creditService, Runnable::run, 0, 16);
+        server.start();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+    
+    @Test
+    @DisplayName("正常系：1接続に連続送信した要求へそれぞれ応答コードを返却")
+    void testPipelinedRequests() throws IOException {
+        // Given
+        Transaction tx = new Transaction();
+        tx.setTransactionId("TX00818043939324224");
+        tx.setAuthorizationCode("123456");
+        tx.setTransactionDatetime(LocalDateTime.now());
+        when(creditService.authorize(eq("TX00000000000000001"), any(AuthorizationCommand.class)))
+            .thenReturn(AuthorizationResult.approved(tx));
+        when(creditService.authorize(eq("TX00000000000000002"), any(AuthorizationCommand.class)))
+            .thenReturn(AuthorizationResult.declined(DeclineReason.CREDIT_LIMIT, "Credit limit exceeded"));
+        ByteBuffer out = ByteBuffer.allocate(3 * (2 + AuthMessageCodec.MAX_BODY));
+        AuthMessageCodec.encodeRequest(out, "TX00000000000000001", "M123456789", 1_000_00L, "JPY",
+            "MERCHANT0000001", "TERM0001", 1L, "Amazon Japan", "retail");
+        AuthMessageCodec.encodeRequest(out, "TX00000000000000002", "M123456789", 9_000_000_00L, "JPY",
+            "MERCHANT0000001", "TERM0001", 1L, "Amazon Japan", "retail");
+        AuthMessageCodec.encodeRequest(out, "TX00000000000000003", "BAD", 1_000_00L, "JPY",
+            "MERCHANT0000001", "TERM0001", 1L, "Amazon Japan", "retail");
+        out.flip();
+        
+        // When
+        Map<String, AuthResponseView> responses = new HashMap<>();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.localPort()))) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            for (int i = 0; i < 3; i++) {
+                ByteBuffer length = read(channel, 2);
+                ByteBuffer body = read(channel, Short.toUnsignedInt(length.getShort(0)));
+                AuthResponseView view = new AuthResponseView().wrap(body, 0);
+                responses.put(view.transactionId(), view);
+            }
+        }
+        
+        // Then
+        AuthResponseView approved = responses.get("TX00000000000000001");
+        assertEquals(ResponseCode.APPROVED, approved.responseCode());
+        assertEquals("123456", approved.authorizationCode());
+        assertEquals("TX00818043939324224", approved.referenceId());
+        assertEquals(ResponseCode.INSUFFICIENT_CREDIT, responses.get("TX00000000000000002").responseCode());
+        assertEquals(ResponseCode.FORMAT_ERROR, responses.get("TX00000000000000003").responseCode());
+        verify(creditService).authorize(eq("TX00000000000000001"), argThat((AuthorizationCommand c) ->
+            Money.yen(1_000_00L).equals(c.getAmount()) && "M123456789".equals(c.getMemberNumber())));
+        verify(creditService, never()).authorize(eq("TX00000000000000003"), any(AuthorizationCommand.class));
+    }
+    
+    private static ByteBuffer read(SocketChannel channel, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Connection closed");
+            }
+        }
+        return buffer.flip();
+    }
+}
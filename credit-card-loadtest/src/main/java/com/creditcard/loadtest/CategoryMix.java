@@ -0,0 +1,56 @@
+package com.creditcard.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Weighted merchant-category draw, parsed from {@code retail:40,grocery:25,...}. */
+final class CategoryMix {
+
+    private final String[] categories;
+    private final double[] cumulative;
+
+    private CategoryMix(String[] categories, double[] cumulative) {
+        this.categories = categories;
+        this.cumulative = cumulative;
+    }
+
+    static CategoryMix parse(String spec) {
+        List<String> names = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2 || pair[0].isBlank()) {
+                throw new IllegalArgumentException("Category weights must look like name:weight, got " + part);
+            }
+            double weight = Double.parseDouble(pair[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + pair[0]);
+            }
+            names.add(pair[0].trim());
+            weights.add(weight);
+        }
+        double total = weights.stream().mapToDouble(Double::doubleValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Category weights sum to zero: " + spec);
+        }
+        double[] cumulative = new double[weights.size()];
+        double running = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            running += weights.get(i) / total;
+            cumulative[i] = running;
+        }
+        cumulative[cumulative.length - 1] = 1.0;
+        return new CategoryMix(names.toArray(String[]::new), cumulative);
+    }
+
+    String next(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (u < cumulative[i]) {
+                return categories[i];
+            }
+        }
+        return categories[categories.length - 1];
+    }
+}
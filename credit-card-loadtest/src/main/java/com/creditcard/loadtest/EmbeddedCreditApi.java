@@ -0,0 +1,92 @@
+package com.creditcard.loadtest;
+
+import com.creditcard.core.CreditCardCoreApplication;
+import com.creditcard.core.fraud.FraudRuleEngine;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs credit-card-core in this JVM on a free port with its default in-memory
+ * H2 database, and seeds the members the generator draws from. Nothing
+ * outside the process is needed, so the same run works on a laptop and in CI.
+ */
+final class EmbeddedCreditApi implements AutoCloseable {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedCreditApi(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedCreditApi start(LoadTestOptions options) {
+        // one value per property: a repeated --name=value would be read as a list
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.creditcard", "WARN");
+        properties.put("logging.level.org.springframework", "WARN");
+        for (String arg : options.applicationArgs()) {
+            properties.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        String[] args = properties.entrySet().stream()
+            .map(e -> "--" + e.getKey() + "=" + e.getValue())
+            .toArray(String[]::new);
+
+        EmbeddedCreditApi api = new EmbeddedCreditApi(
+            new SpringApplicationBuilder(CreditCardCoreApplication.class).run(args));
+        try {
+            api.seedMembers(options.getInt("members"), new BigDecimal(options.get("credit-limit")));
+            if (!options.getBoolean("velocity-rules")) {
+                api.disableVelocityRules();
+            }
+        } catch (RuntimeException e) {
+            api.close();
+            throw e;
+        }
+        return api;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private void seedMembers(int count, BigDecimal creditLimit) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int rank = 1; rank <= count; rank++) {
+            String memberNumber = LoadGenerator.memberNumber(rank);
+            batch.add(new Object[] {memberNumber, "負荷試験", "フカシケン", memberNumber.toLowerCase() + "@loadtest.example",
+                "ACTIVE", creditLimit, BigDecimal.ZERO, now, now});
+            if (batch.size() == SEED_BATCH_SIZE || rank == count) {
+                jdbc.batchUpdate("INSERT INTO members (member_number, name_kanji, name_kana, email, status, "
+                    + "credit_limit, current_balance, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void disableVelocityRules() {
+        context.getBean(JdbcTemplate.class)
+            .update("UPDATE fraud_rules SET enabled = FALSE WHERE rule_type LIKE 'VELOCITY%'");
+        context.getBean(FraudRuleEngine.class).reload();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,247 @@
+package com.creditcard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop driver for the credit API. Auth send times are fixed by the
+ * arrival schedule (Poisson or evenly spaced) before the run starts, never by
+ * how fast responses come back, and each latency is measured from that
+ * intended time. An approved auth may be followed by a capture or a void,
+ * intended to go out the moment the auth response arrived.
+ *
+ * One scheduler thread draws members (Zipf), categories, amounts and
+ * follow-ups from a seeded random, so two runs with the same options offer
+ * the same traffic. {@code max-in-flight} bounds client memory; when it is
+ * reached the scheduler waits, and the wait shows up in the latencies.
+ */
+final class LoadGenerator {
+
+    enum Operation { AUTHORIZE, CAPTURE, VOID }
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int MERCHANTS = 50;
+    private static final Pattern ID = Pattern.compile("\\b(?:TX|M)\\d{6,}\\b");
+
+    private final String baseUrl;
+    private final double rate;
+    private final boolean poisson;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final int members;
+    private final ZipfSampler memberSampler;
+    private final CategoryMix categories;
+    private final double logMinAmount;
+    private final double logMaxAmount;
+    private final double captureRatio;
+    private final double voidRatio;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final SplittableRandom random;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Semaphore inFlight;
+    private final Queue<FollowUp> followUps = new ConcurrentLinkedQueue<>();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private volatile long measureStartNanos = Long.MAX_VALUE;
+    private volatile long endNanos = Long.MAX_VALUE;
+
+    LoadGenerator(LoadTestOptions options, String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.rate = options.getDouble("rate");
+        this.poisson = "poisson".equals(options.get("arrivals"));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(options.getInt("warmup"));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(options.getInt("duration"));
+        this.members = options.getInt("members");
+        this.memberSampler = new ZipfSampler(members, options.getDouble("zipf"));
+        this.categories = CategoryMix.parse(options.get("categories"));
+        this.logMinAmount = Math.log(options.getDouble("min-amount"));
+        this.logMaxAmount = Math.log(options.getDouble("max-amount"));
+        this.captureRatio = options.getDouble("capture-ratio");
+        this.voidRatio = options.getDouble("void-ratio");
+        this.maxInFlight = options.getInt("max-in-flight");
+        this.timeout = Duration.ofMillis(options.getInt("timeout-ms"));
+        this.random = new SplittableRandom(Long.parseLong(options.get("seed")));
+        this.inFlight = new Semaphore(maxInFlight);
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+        if (rate <= 0 || captureRatio + voidRatio > 1.0) {
+            throw new IllegalArgumentException("Need rate > 0 and capture-ratio + void-ratio <= 1");
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation.name().toLowerCase()));
+        }
+    }
+
+    /** M9 followed by the 8-digit rank; rank 1 is the hottest card. */
+    static String memberNumber(int rank) {
+        return String.format("M9%08d", rank);
+    }
+
+    Map<Operation, OperationStats> stats() {
+        return stats;
+    }
+
+    boolean isMeasuring() {
+        return System.nanoTime() >= measureStartNanos;
+    }
+
+    int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /** Runs warmup plus measurement, then waits for outstanding responses. */
+    void run() throws InterruptedException {
+        long begin = System.nanoTime();
+        measureStartNanos = begin + warmupNanos;
+        endNanos = measureStartNanos + durationNanos;
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        double next = begin;
+
+        while (true) {
+            sendReadyFollowUps();
+            long intended = (long) next;
+            if (intended >= endNanos) {
+                break;
+            }
+            long now = System.nanoTime();
+            if (now < intended) {
+                LockSupport.parkNanos(Math.min(intended - now, MAX_PARK_NANOS));
+                continue;
+            }
+            sendAuthorization(intended);
+            next += poisson ? -Math.log(1.0 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+
+        // follow-ups that become ready after the end are not sent
+        if (inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+
+    private void sendAuthorization(long intended) throws InterruptedException {
+        String memberNumber = memberNumber(memberSampler.next(random));
+        String category = categories.next(random);
+        long amount = Math.round(Math.exp(logMinAmount + random.nextDouble() * (logMaxAmount - logMinAmount)));
+        String merchant = category + "-merchant-" + random.nextInt(MERCHANTS);
+        double roll = random.nextDouble();
+        Operation followUp = roll < captureRatio ? Operation.CAPTURE
+            : roll < captureRatio + voidRatio ? Operation.VOID : null;
+
+        String body = "{\"memberNumber\":\"" + memberNumber + "\",\"amount\":" + amount
+            + ",\"merchantName\":\"" + merchant + "\",\"merchantCategory\":\"" + category + "\"}";
+        send(Operation.AUTHORIZE, "/api/v1/credit/authorize", body, intended, followUp);
+    }
+
+    private void sendReadyFollowUps() throws InterruptedException {
+        FollowUp followUp;
+        while ((followUp = followUps.poll()) != null) {
+            if (followUp.readyAt >= endNanos) {
+                continue;
+            }
+            String body = "{\"transactionId\":\"" + followUp.transactionId + "\"}";
+            String path = followUp.operation == Operation.CAPTURE ? "/api/v1/credit/capture" : "/api/v1/credit/void";
+            send(followUp.operation, path, body, followUp.readyAt, null);
+        }
+    }
+
+    private void send(Operation operation, String path, String body, long intended, Operation followUp)
+            throws InterruptedException {
+        inFlight.acquire();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, error) -> {
+                long done = System.nanoTime();
+                inFlight.release();
+                complete(operation, intended, sent, done, response, error, followUp);
+            });
+    }
+
+    private void complete(Operation operation, long intended, long sent, long done,
+                          HttpResponse<String> response, Throwable error, Operation followUp) {
+        OperationStats.Outcome outcome;
+        String reason = null;
+        if (error != null) {
+            outcome = OperationStats.Outcome.ERROR;
+            reason = rootCause(error).getClass().getSimpleName();
+        } else if (response.statusCode() == 200 || response.statusCode() == 400 || response.statusCode() == 503) {
+            JsonNode json = parse(response.body());
+            if (json != null && json.path("success").asBoolean(false)) {
+                outcome = OperationStats.Outcome.APPROVED;
+                if (followUp != null && json.hasNonNull("transactionId")) {
+                    followUps.offer(new FollowUp(followUp, json.get("transactionId").asText(), done));
+                }
+            } else if (json != null) {
+                outcome = OperationStats.Outcome.DECLINED;
+                reason = category(json.path("errorMessage").asText("unknown"));
+                if (response.statusCode() == 503) {
+                    reason = "shed: " + reason;
+                }
+            } else {
+                outcome = OperationStats.Outcome.ERROR;
+                reason = "HTTP " + response.statusCode() + " unreadable body";
+            }
+        } else {
+            outcome = OperationStats.Outcome.ERROR;
+            reason = "HTTP " + response.statusCode();
+        }
+        if (intended >= measureStartNanos) {
+            stats.get(operation).record(intended, sent, done, outcome, reason);
+        }
+    }
+
+    private JsonNode parse(String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /** Masks member and transaction numbers so messages group by cause. */
+    private static String category(String message) {
+        return ID.matcher(message).replaceAll("*");
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static final class FollowUp {
+        final Operation operation;
+        final String transactionId;
+        final long readyAt;
+
+        FollowUp(Operation operation, String transactionId, long readyAt) {
+            this.operation = operation;
+            this.transactionId = transactionId;
+            this.readyAt = readyAt;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.creditcard.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@code loadtest.jar}, as {@code --name=value} pairs.
+ * Options under {@code spring.}, {@code server.}, {@code creditcard.},
+ * {@code management.} and {@code logging.} are passed through to the
+ * embedded application.
+ */
+final class LoadTestOptions {
+
+    static final String EMBEDDED = "embedded";
+
+    private static final List<String> PASS_THROUGH = List.of(
+        "spring.", "server.", "creditcard.", "management.", "logging.");
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("target", EMBEDDED);            // or http://host:port of a running node
+        DEFAULTS.put("rate", "1000");                // auths per second, open loop
+        DEFAULTS.put("arrivals", "poisson");         // poisson | uniform
+        DEFAULTS.put("duration", "60");              // measured seconds
+        DEFAULTS.put("warmup", "10");                // seconds at the same rate, not recorded
+        DEFAULTS.put("members", "100000");           // M900000001.. ; seeded in embedded mode
+        DEFAULTS.put("zipf", "1.0");                 // hot-card skew; 0 = uniform
+        DEFAULTS.put("categories", "retail:40,grocery:25,dining:12,online:12,travel:8,fuel:2,casino:1");
+        DEFAULTS.put("min-amount", "100");           // yen, log-uniform between min and max
+        DEFAULTS.put("max-amount", "30000");
+        DEFAULTS.put("capture-ratio", "0.7");        // of approved auths
+        DEFAULTS.put("void-ratio", "0.1");           // of approved auths
+        DEFAULTS.put("max-in-flight", "4096");
+        DEFAULTS.put("timeout-ms", "5000");
+        DEFAULTS.put("credit-limit", "10000000");    // yen, embedded seeding; the column holds up to 10^8
+        DEFAULTS.put("velocity-rules", "true");      // embedded: false disables the VELOCITY_* rules
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("report-interval", "5");        // seconds between progress lines
+        DEFAULTS.put("json", "loadtest-result.json");
+        DEFAULTS.put("hdr-log", "");                 // optional HdrHistogram interval log
+        DEFAULTS.put("slo-p99-ms", "0");             // 0 = not checked
+        DEFAULTS.put("slo-p9999-ms", "0");
+        DEFAULTS.put("slo-success-rate", "0");       // e.g. 0.9999; declines count as answered
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (PASS_THROUGH.stream().anyMatch(name::startsWith)) {
+                options.applicationArgs.add(arg);
+            } else if (DEFAULTS.containsKey(name)) {
+                options.values.put(name, value);
+            } else {
+                throw new IllegalArgumentException("Unknown option --" + name + "; known: " + DEFAULTS.keySet());
+            }
+        }
+        return options;
+    }
+
+    String get(String name) {
+        return values.get(name);
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(values.get(name));
+    }
+
+    double getDouble(String name) {
+        return Double.parseDouble(values.get(name));
+    }
+
+    boolean getBoolean(String name) {
+        return Boolean.parseBoolean(values.get(name));
+    }
+
+    boolean isEmbedded() {
+        return EMBEDDED.equals(values.get("target"));
+    }
+
+    Map<String, String> values() {
+        return values;
+    }
+
+    String[] applicationArgs() {
+        return applicationArgs.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,139 @@
+package com.creditcard.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End-of-run summary: per-operation outcome counts, throughput and latency
+ * percentiles (corrected and uncorrected), printed as a table and written as
+ * JSON so runs can be compared across commits. The SLO options turn it into
+ * a pass/fail gate.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private final LoadTestOptions options;
+    private final Map<LoadGenerator.Operation, OperationStats> stats;
+    private final double measuredSeconds;
+    private final List<String> sloFailures = new ArrayList<>();
+
+    LoadTestReport(LoadTestOptions options, Map<LoadGenerator.Operation, OperationStats> stats, double measuredSeconds) {
+        this.options = options;
+        this.stats = stats;
+        this.measuredSeconds = measuredSeconds;
+        checkSlos();
+    }
+
+    boolean passed() {
+        return sloFailures.isEmpty();
+    }
+
+    private void checkSlos() {
+        Histogram auth = stats.get(LoadGenerator.Operation.AUTHORIZE).latencyTotal();
+        checkLatency("authorize p99", auth, 99.0, options.getDouble("slo-p99-ms"));
+        checkLatency("authorize p99.99", auth, 99.99, options.getDouble("slo-p9999-ms"));
+        double required = options.getDouble("slo-success-rate");
+        double actual = successRate();
+        if (required > 0 && actual < required) {
+            sloFailures.add(String.format(Locale.ROOT, "success rate %.5f < %.5f", actual, required));
+        }
+    }
+
+    private void checkLatency(String label, Histogram histogram, double percentile, double limitMs) {
+        double actualMs = millis(histogram.getValueAtPercentile(percentile));
+        if (limitMs > 0 && actualMs > limitMs) {
+            sloFailures.add(String.format(Locale.ROOT, "%s %.2f ms > %.2f ms", label, actualMs, limitMs));
+        }
+    }
+
+    /** Declines are correct answers; only transport errors, timeouts and 5xx count against it. */
+    private double successRate() {
+        long completed = 0;
+        long errors = 0;
+        for (OperationStats op : stats.values()) {
+            completed += op.completed();
+            errors += op.errors();
+        }
+        return completed == 0 ? 0.0 : (double) (completed - errors) / completed;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%s auths/s (%s) for %.0fs, %s members, zipf %s, target %s%n",
+            options.get("rate"), options.get("arrivals"), measuredSeconds, options.get("members"),
+            options.get("zipf"), options.get("target"));
+        out.printf(Locale.ROOT, "%-10s %9s %9s %9s %7s %9s %8s %8s %8s %8s %8s %8s%n",
+            "operation", "completed", "approved", "declined", "errors", "per sec",
+            "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        for (OperationStats op : stats.values()) {
+            Histogram h = op.latencyTotal();
+            out.printf(Locale.ROOT, "%-10s %9d %9d %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                op.name(), op.completed(), op.approved(), op.declined(), op.errors(), op.completed() / measuredSeconds,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                millis(h.getValueAtPercentile(99.99)), millis(h.getMaxValue()));
+        }
+        out.println("latencies in ms from the scheduled send time; uncorrected (from actual send) p99:");
+        for (OperationStats op : stats.values()) {
+            out.printf(Locale.ROOT, "  %-10s %8.2f%n", op.name(), millis(op.serviceTimeTotal().getValueAtPercentile(99)));
+        }
+        for (OperationStats op : stats.values()) {
+            op.declineReasons().forEach((reason, count) -> out.printf("  %s declined %d: %s%n", op.name(), count, reason));
+            op.errorReasons().forEach((reason, count) -> out.printf("  %s errors %d: %s%n", op.name(), count, reason));
+        }
+        out.printf(Locale.ROOT, "success rate %.5f%n", successRate());
+        if (sloFailures.isEmpty()) {
+            out.println("SLO: pass");
+        } else {
+            sloFailures.forEach(failure -> out.println("SLO: FAIL " + failure));
+        }
+    }
+
+    void writeJson(File file) throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("options", options.values());
+        root.put("measuredSeconds", measuredSeconds);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (OperationStats op : stats.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("completed", op.completed());
+            entry.put("approved", op.approved());
+            entry.put("declined", op.declined());
+            entry.put("errors", op.errors());
+            entry.put("throughputPerSecond", op.completed() / measuredSeconds);
+            entry.put("latencyMs", percentiles(op.latencyTotal()));
+            entry.put("serviceTimeMs", percentiles(op.serviceTimeTotal()));
+            entry.put("declineReasons", op.declineReasons());
+            entry.put("errorReasons", op.errorReasons());
+            operations.put(op.name(), entry);
+        }
+        root.put("operations", operations);
+        root.put("successRate", successRate());
+        root.put("sloFailures", sloFailures);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, root);
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double p : PERCENTILES) {
+            values.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p)),
+                millis(histogram.getValueAtPercentile(p)));
+        }
+        values.put("max", millis(histogram.getMaxValue()));
+        return values;
+    }
+
+    static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
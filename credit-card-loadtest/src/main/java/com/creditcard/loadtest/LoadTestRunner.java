@@ -0,0 +1,109 @@
+package com.creditcard.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of {@code loadtest.jar}. Boots the core application against
+ * embedded H2 (or targets {@code --target=http://host:port}), drives it with
+ * {@link LoadGenerator}, prints progress every {@code report-interval}
+ * seconds and a summary at the end. Exits 2 when an SLO option is breached,
+ * so a release pipeline can gate on it.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        EmbeddedCreditApi embedded = null;
+        boolean passed;
+        try {
+            String baseUrl = options.get("target");
+            if (options.isEmbedded()) {
+                System.out.printf("Starting credit-card-core on embedded H2 with %s members...%n", options.get("members"));
+                embedded = EmbeddedCreditApi.start(options);
+                baseUrl = embedded.baseUrl();
+            }
+            passed = run(options, baseUrl);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+        System.exit(passed ? 0 : 2);
+    }
+
+    private static boolean run(LoadTestOptions options, String baseUrl) throws Exception {
+        LoadGenerator generator = new LoadGenerator(options, baseUrl);
+        HistogramLogWriter log = openLog(options.get("hdr-log"));
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "loadtest-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        int interval = options.getInt("report-interval");
+        reporter.scheduleAtFixedRate(() -> report(generator, log, start), interval, interval, TimeUnit.SECONDS);
+
+        System.out.printf("Driving %s at %s auths/s: %ss warmup, %ss measured%n",
+            baseUrl, options.get("rate"), options.get("warmup"), options.get("duration"));
+        generator.run();
+
+        reporter.shutdown();
+        reporter.awaitTermination(5, TimeUnit.SECONDS);
+        report(generator, log, start);
+        if (log != null) {
+            log.close();
+        }
+
+        LoadTestReport report = new LoadTestReport(options, generator.stats(), options.getInt("duration"));
+        report.print(System.out);
+        if (!options.get("json").isBlank()) {
+            report.writeJson(new File(options.get("json")));
+            System.out.println("Wrote " + options.get("json"));
+        }
+        return report.passed();
+    }
+
+    private static HistogramLogWriter openLog(String path) throws FileNotFoundException {
+        if (path.isBlank()) {
+            return null;
+        }
+        HistogramLogWriter log = new HistogramLogWriter(path);
+        log.outputLogFormatVersion();
+        log.outputStartTime(System.currentTimeMillis());
+        log.outputLegend();
+        return log;
+    }
+
+    /** One progress line per operation that completed anything in the interval. */
+    private static synchronized void report(LoadGenerator generator, HistogramLogWriter log, long start) {
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        if (!generator.isMeasuring()) {
+            System.out.printf("[%4ds] warming up, %d in flight%n", elapsed, generator.inFlight());
+        }
+        for (OperationStats op : generator.stats().values()) {
+            Histogram interval = op.rollInterval();
+            if (interval.getTotalCount() == 0) {
+                continue;
+            }
+            double seconds = (interval.getEndTimeStamp() - interval.getStartTimeStamp()) / 1000.0;
+            System.out.printf(Locale.ROOT, "[%4ds] %-9s %8.1f/s  p50 %7.2f  p99 %7.2f  max %8.2f ms  in flight %d%n",
+                elapsed, op.name(), interval.getTotalCount() / Math.max(seconds, 0.001),
+                LoadTestReport.millis(interval.getValueAtPercentile(50)),
+                LoadTestReport.millis(interval.getValueAtPercentile(99)),
+                LoadTestReport.millis(interval.getMaxValue()), generator.inFlight());
+            if (log != null) {
+                log.outputIntervalHistogram(interval);
+            }
+        }
+    }
+}
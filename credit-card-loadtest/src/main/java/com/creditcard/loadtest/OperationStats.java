@@ -0,0 +1,101 @@
+package com.creditcard.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts for one API operation. Two histograms are kept,
+ * in microseconds: {@code latency} runs from the time the schedule meant to
+ * send the request, so queueing behind a slow response is charged to the run
+ * (coordinated-omission corrected); {@code serviceTime} runs from the actual
+ * send, which is what a closed-loop client would report.
+ */
+final class OperationStats {
+
+    enum Outcome { APPROVED, DECLINED, ERROR }
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String name;
+    private final Recorder latency = new Recorder(MAX_MICROS, 3);
+    private final Recorder serviceTime = new Recorder(MAX_MICROS, 3);
+    private final Histogram latencyTotal = new Histogram(MAX_MICROS, 3);
+    private final Histogram serviceTimeTotal = new Histogram(MAX_MICROS, 3);
+    private final LongAdder approved = new LongAdder();
+    private final LongAdder declined = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> declineReasons = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorReasons = new ConcurrentHashMap<>();
+    private Histogram latencyInterval;
+    private Histogram serviceTimeInterval;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long intendedNanos, long sentNanos, long doneNanos, Outcome outcome, String reason) {
+        latency.recordValue(micros(doneNanos - intendedNanos));
+        serviceTime.recordValue(micros(doneNanos - sentNanos));
+        switch (outcome) {
+            case APPROVED -> approved.increment();
+            case DECLINED -> {
+                declined.increment();
+                declineReasons.computeIfAbsent(reason, k -> new LongAdder()).increment();
+            }
+            case ERROR -> {
+                errors.increment();
+                errorReasons.computeIfAbsent(reason, k -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0L), MAX_MICROS);
+    }
+
+    /**
+     * Closes the current interval and folds it into the totals. Called from
+     * the reporter thread only.
+     *
+     * @return the interval's corrected latencies, tagged with the operation name
+     */
+    synchronized Histogram rollInterval() {
+        latencyInterval = latency.getIntervalHistogram(latencyInterval);
+        serviceTimeInterval = serviceTime.getIntervalHistogram(serviceTimeInterval);
+        latencyTotal.add(latencyInterval);
+        serviceTimeTotal.add(serviceTimeInterval);
+        latencyInterval.setTag(name);
+        return latencyInterval;
+    }
+
+    Histogram latencyTotal() { return latencyTotal; }
+    Histogram serviceTimeTotal() { return serviceTimeTotal; }
+    long approved() { return approved.sum(); }
+    long declined() { return declined.sum(); }
+    long errors() { return errors.sum(); }
+    long completed() { return approved() + declined() + errors(); }
+
+    Map<String, Long> declineReasons() {
+        return snapshot(declineReasons);
+    }
+
+    Map<String, Long> errorReasons() {
+        return snapshot(errorReasons);
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counts) {
+        Map<String, Long> copy = new TreeMap<>();
+        counts.forEach((reason, count) -> copy.put(reason, count.sum()));
+        return copy;
+    }
+}
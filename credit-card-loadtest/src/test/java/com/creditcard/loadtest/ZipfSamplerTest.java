@@ -0,0 +1,65 @@
+package com.creditcard.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Zipf分布サンプラー テスト
+ * Zipf Sampler Test
+ */
+class ZipfSamplerTest {
+    
+    @Test
+    @DisplayName("正常系：順位の出現頻度が 1/k^s に従う")
+    void testNext_FollowsPowerLaw() {
+        // Given
+        int n = 1000;
+        ZipfSampler sampler = new ZipfSampler(n, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[n + 1];
+        int draws = 1_000_000;
+        
+        // When
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.next(random)]++;
+        }
+        
+        // Then
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+        for (int k : new int[] {1, 2, 10, 100}) {
+            double expected = draws / (k * harmonic);
+            assertEquals(expected, counts[k], expected * 0.05 + 30, "rank " + k);
+        }
+        assertEquals(0, counts[0]);
+    }
+    
+    @Test
+    @DisplayName("正常系：指数0は一様分布、範囲外の順位は出ない")
+    void testNext_UniformAndBounds() {
+        // Given
+        ZipfSampler uniform = new ZipfSampler(10, 0.0);
+        ZipfSampler skewed = new ZipfSampler(3, 2.5);
+        SplittableRandom random = new SplittableRandom(11);
+        int[] counts = new int[11];
+        
+        // When
+        for (int i = 0; i < 100_000; i++) {
+            counts[uniform.next(random)]++;
+            int rank = skewed.next(random);
+            assertTrue(rank >= 1 && rank <= 3);
+        }
+        
+        // Then
+        for (int k = 1; k <= 10; k++) {
+            assertEquals(10_000, counts[k], 500);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+}